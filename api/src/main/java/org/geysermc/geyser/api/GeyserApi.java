@@ -41,6 +41,7 @@ import org.geysermc.geyser.api.util.MinecraftVersion;
 import org.geysermc.geyser.api.util.PlatformType;
 
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -66,6 +67,19 @@ public interface GeyserApi extends GeyserApiBase {
     @NonNull
     List<? extends GeyserConnection> onlineConnections();
 
+    /**
+     * Sends a Bedrock packet to many connections at once. The packet is serialized once per protocol version
+     * instead of once per connection, which makes server-wide announcements considerably cheaper.
+     * <p>
+     * The packet must be a packet from the Cloudburst Protocol library, and must not be modified afterwards.
+     *
+     * @param packet the packet to send
+     * @param connections the connections to send the packet to
+     * @throws IllegalArgumentException if the packet is not a Bedrock packet
+     * @since 2.9.2
+     */
+    void broadcastPacket(@NonNull Object packet, @NonNull Collection<? extends GeyserConnection> connections);
+
     /**
      * Gets the {@link ExtensionManager}.
      *
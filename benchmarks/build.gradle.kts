@@ -0,0 +1,36 @@
+plugins {
+    id("geyser.base-conventions")
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmh(projects.core)
+    jmh(testFixtures(projects.core))
+    jmh(libs.mockito)
+    jmh(libs.jose4j)
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+    // GeyserImpl is mocked statically by the benchmarks, which Mockito confines to a single thread
+    threads = 1
+    // The fork count is set per benchmark with @Fork
+    warmupIterations = 3
+    iterations = 5
+    resultFormat = "JSON"
+    // e.g. -PjmhIncludes=ChunkTranslation to only run some benchmarks
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+}
+
+tasks.register<JavaExec>("replay") {
+    description = "Replays a Java packet capture through the translators. Use -Pcapture=<file> [-Pwarmup=<runs>]."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "org.geysermc.geyser.benchmark.PacketReplay"
+    args(providers.gradleProperty("capture").orNull ?: "", providers.gradleProperty("warmup").getOrElse("2"))
+}
+
+tasks.register<JavaExec>("loadtest") {
+    description = "Connects synthetic Bedrock clients to a local Geyser standalone. Pass options with --args, e.g. --args=\"--clients=500\"."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "org.geysermc.geyser.benchmark.load.LoadGenerator"
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark;
+
+import net.kyori.adventure.key.Key;
+import org.geysermc.geyser.GeyserBootstrap;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.configuration.GeyserConfig;
+import org.geysermc.geyser.entity.EntityDefinitions;
+import org.geysermc.geyser.entity.type.player.SessionPlayerEntity;
+import org.geysermc.geyser.erosion.AbstractGeyserboundPacketHandler;
+import org.geysermc.geyser.level.BedrockDimension;
+import org.geysermc.geyser.level.WorldManager;
+import org.geysermc.geyser.level.block.Blocks;
+import org.geysermc.geyser.level.block.type.Block;
+import org.geysermc.geyser.level.chunk.ChunkTranslationPipeline;
+import org.geysermc.geyser.level.physics.CollisionManager;
+import org.geysermc.geyser.network.GameProtocol;
+import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.geyser.registry.Registries;
+import org.geysermc.geyser.scoreboard.network.util.GeyserMockContext;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.ChunkBlobCache;
+import org.geysermc.geyser.session.cache.ChunkCache;
+import org.geysermc.geyser.session.cache.ItemDataCache;
+import org.geysermc.geyser.session.cache.PistonCache;
+import org.geysermc.geyser.session.cache.PreferencesCache;
+import org.geysermc.geyser.session.cache.RegistryCache;
+import org.geysermc.geyser.session.cache.SubChunkCache;
+import org.geysermc.geyser.session.cache.TagCache;
+import org.geysermc.geyser.session.cache.registry.JavaRegistries;
+import org.geysermc.geyser.translator.text.MessageTranslator;
+import org.geysermc.mcprotocollib.protocol.data.game.RegistryEntry;
+import org.geysermc.mcprotocollib.protocol.packet.configuration.clientbound.ClientboundRegistryDataPacket;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Sets up enough of Geyser to run translators against a mocked session, on top of {@link GeyserMockContext}.
+ * <p>
+ * {@link GeyserImpl#getInstance()} is only mocked on the thread that opened the context, so benchmark state holding
+ * one of these must be {@link org.openjdk.jmh.annotations.Scope#Thread} scoped and set up per trial.
+ */
+public final class BenchmarkContext implements AutoCloseable {
+    /**
+     * The highest block in the flat world returned by {@link #worldManager()}.
+     */
+    public static final int GROUND_Y = 63;
+
+    /**
+     * A small set of vanilla biomes; enough that a section using all of them needs the global palette.
+     */
+    private static final List<String> BIOMES = List.of("plains", "forest", "desert", "ocean", "river", "taiga", "swamp",
+        "jungle", "savanna", "badlands", "beach", "snowy_plains", "mushroom_fields", "dark_forest", "birch_forest", "meadow");
+
+    private static boolean populated;
+
+    private final GeyserMockContext context;
+    private final GeyserSession session;
+
+    private BenchmarkContext(GeyserMockContext context) {
+        this.context = context;
+        GeyserImpl geyser = context.mockOrSpy(GeyserImpl.class);
+
+        WorldManager worldManager = context.storeObject(Mockito.mock(WorldManager.class, withSettings().stubOnly().defaultAnswer(Mockito.CALLS_REAL_METHODS)));
+        int stone = Blocks.STONE.defaultBlockState().javaId();
+        doAnswer(invocation -> {
+            int y = invocation.getArgument(2);
+            return y <= GROUND_Y ? stone : Block.JAVA_AIR_ID;
+        }).when(worldManager).getBlockAt(any(), anyInt(), anyInt(), anyInt());
+        when(geyser.getWorldManager()).thenReturn(worldManager);
+
+        this.session = createSession(context, geyser);
+    }
+
+    public static BenchmarkContext open() {
+        return new BenchmarkContext(openGeyser());
+    }
+
+    /**
+     * Mocks Geyser and populates the registries, without creating a session.
+     */
+    static GeyserMockContext openGeyser() {
+        GeyserMockContext context = mockGeyser();
+        populate();
+        return context;
+    }
+
+    /**
+     * Mocks just enough of Geyser for the registries to be populated.
+     */
+    static GeyserMockContext mockGeyser() {
+        GeyserMockContext context = GeyserMockContext.open();
+        GeyserImpl geyser = context.mockOrSpy(GeyserImpl.class);
+        GeyserConfig config = context.mockOrSpy(GeyserConfig.class);
+        when(config.gameplay()).thenReturn(context.stubOnlyMock(GeyserConfig.GameplayConfig.class));
+
+        // Resources are loaded through the default methods
+        GeyserBootstrap bootstrap = context.storeObject(Mockito.mock(GeyserBootstrap.class, withSettings().stubOnly().defaultAnswer(Mockito.CALLS_REAL_METHODS)));
+        when(geyser.getBootstrap()).thenReturn(bootstrap);
+        return context;
+    }
+
+    /**
+     * Populates the global registries in the same order as {@link GeyserImpl}.
+     */
+    static void populateRegistries() {
+        Registries.load();
+        BlockRegistries.populate();
+        Registries.populate();
+    }
+
+    private static synchronized void populate() {
+        if (populated) {
+            return;
+        }
+        populateRegistries();
+
+        RegistryCache.init();
+
+        EntityDefinitions.init();
+        MessageTranslator.init();
+        populated = true;
+    }
+
+    private static GeyserSession createSession(GeyserMockContext context, GeyserImpl geyser) {
+        // GeyserSession has so many dependencies, it's easier to just mock it.
+        // Stub-only mocks, so calls on the hot paths aren't recorded.
+        GeyserSession session = context.stubOnlyMock(GeyserSession.class);
+        when(session.getGeyser()).thenReturn(geyser);
+        when(session.locale()).thenReturn("en_us");
+        when(session.getItemMappings()).thenReturn(Registries.ITEMS.forVersion(GameProtocol.DEFAULT_BEDROCK_PROTOCOL));
+        when(session.getBlockMappings()).thenReturn(BlockRegistries.BLOCKS.forVersion(GameProtocol.DEFAULT_BEDROCK_PROTOCOL));
+        when(session.getBedrockDimension()).thenReturn(BedrockDimension.OVERWORLD);
+
+        SessionPlayerEntity playerEntity = context.stubOnlyMock(SessionPlayerEntity.class);
+        when(session.getPlayerEntity()).thenReturn(playerEntity);
+
+        RegistryCache registryCache = new RegistryCache(session);
+        List<RegistryEntry> biomes = new ArrayList<>(BIOMES.size());
+        for (String biome : BIOMES) {
+            // No data means the vanilla defaults are used
+            biomes.add(new RegistryEntry(Key.key(biome), null));
+        }
+        registryCache.load(new ClientboundRegistryDataPacket(JavaRegistries.BIOME.registryKey(), biomes));
+        when(session.getRegistryCache()).thenReturn(registryCache);
+
+        TagCache tagCache = new TagCache(session);
+        when(session.getTagCache()).thenReturn(tagCache);
+
+        ItemDataCache itemDataCache = new ItemDataCache(session);
+        when(session.getItemDataCache()).thenReturn(itemDataCache);
+
+        PreferencesCache preferencesCache = new PreferencesCache(session);
+        when(session.getPreferencesCache()).thenReturn(preferencesCache);
+
+        ChunkCache chunkCache = new ChunkCache(session);
+        chunkCache.setMinY(BedrockDimension.OVERWORLD.minY());
+        chunkCache.setHeightY(BedrockDimension.OVERWORLD.height());
+        when(session.getChunkCache()).thenReturn(chunkCache);
+
+        PistonCache pistonCache = new PistonCache(session);
+        when(session.getPistonCache()).thenReturn(pistonCache);
+
+        CollisionManager collisionManager = new CollisionManager(session);
+        when(session.getCollisionManager()).thenReturn(collisionManager);
+
+        // Translate chunks synchronously and send them in full
+        when(session.getChunkTranslationPipeline()).thenReturn(context.stubOnlyMock(ChunkTranslationPipeline.class));
+        when(session.getSubChunkCache()).thenReturn(context.stubOnlyMock(SubChunkCache.class));
+        when(session.getChunkBlobCache()).thenReturn(context.stubOnlyMock(ChunkBlobCache.class));
+        when(session.getErosionHandler()).thenReturn(context.stubOnlyMock(AbstractGeyserboundPacketHandler.class));
+        when(session.getItemFrameCache()).thenReturn(Map.of());
+        return session;
+    }
+
+    public GeyserSession session() {
+        return session;
+    }
+
+    /**
+     * @return a flat world of stone up to and including {@link #GROUND_Y}
+     */
+    public WorldManager worldManager() {
+        return context.storedObject(WorldManager.class);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.geysermc.geyser.level.block.type.Block;
+import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.mcprotocollib.protocol.codec.MinecraftTypes;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.ChunkSection;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
+
+import java.util.Random;
+
+/**
+ * Builds Java chunk data with a given number of distinct entries per section, and therefore a given palette type:
+ * one entry gives a singleton palette, up to 16 a linear palette, up to 256 a hash map palette and anything more
+ * the global palette.
+ */
+final class ChunkFixtures {
+    private static final long SEED = 0x6765797365724CL;
+
+    private ChunkFixtures() {
+    }
+
+    static DataPalette blockPalette(int distinct, Random random) {
+        int blockStateCount = BlockRegistries.BLOCK_STATES.get().size();
+        DataPalette palette = DataPalette.createForBlockState(Block.JAVA_AIR_ID, blockStateCount);
+        // Spread the states over the registry so that fixtures aren't all variants of the same block
+        int step = Math.max(1, (blockStateCount - 1) / distinct);
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    palette.set(x, y, z, 1 + random.nextInt(distinct) * step);
+                }
+            }
+        }
+        return palette;
+    }
+
+    static DataPalette biomePalette(int biomeCount, int distinct) {
+        Random random = new Random(SEED);
+        DataPalette palette = DataPalette.createForBiome(0, biomeCount);
+        for (int y = 0; y < 4; y++) {
+            for (int z = 0; z < 4; z++) {
+                for (int x = 0; x < 4; x++) {
+                    palette.set(x, y, z, random.nextInt(Math.min(distinct, biomeCount)));
+                }
+            }
+        }
+        return palette;
+    }
+
+    /**
+     * @return the chunk data of a full chunk column, as sent in {@code ClientboundLevelChunkWithLightPacket}
+     */
+    static byte[] chunkData(int sections, int distinctBlocks, int biomeCount, int distinctBiomes) {
+        Random random = new Random(SEED);
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            for (int i = 0; i < sections; i++) {
+                // Every block is non-air
+                ChunkSection section = new ChunkSection(4096, blockPalette(distinctBlocks, random), biomePalette(biomeCount, distinctBiomes));
+                MinecraftTypes.writeChunkSection(buf, section);
+            }
+            return ByteBufUtil.getBytes(buf);
+        } finally {
+            buf.release();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark;
+
+import org.cloudburstmc.math.vector.Vector3d;
+import org.geysermc.geyser.level.physics.BoundingBox;
+import org.geysermc.geyser.level.physics.CollisionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corrects player movement against the flat world of {@link BenchmarkContext}, as done for every movement packet.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CollisionBenchmark {
+    private static final double PLAYER_STEP_UP = 0.6;
+
+    @Param({"WALKING", "FALLING", "SPRINT_JUMPING"})
+    private Movement movement;
+
+    private BenchmarkContext context;
+    private CollisionManager collisionManager;
+    private BoundingBox boundingBox;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.open();
+        collisionManager = context.session().getCollisionManager();
+        double feetY = BenchmarkContext.GROUND_Y + 1 + movement.height;
+        boundingBox = new BoundingBox(Vector3d.from(0.5, feetY + 0.9, 0.5), 0.6, 1.8, 0.6);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Vector3d correctMovement() {
+        // The bounding box is restored to its original position by the collision manager
+        return collisionManager.correctMovement(movement.movement, boundingBox, movement.height == 0, PLAYER_STEP_UP, true, false);
+    }
+
+    public enum Movement {
+        WALKING(Vector3d.from(0.2, -0.0784, 0.1), 0),
+        FALLING(Vector3d.from(0, -1.2, 0), 0.5),
+        SPRINT_JUMPING(Vector3d.from(0.28, 0.42, 0.12), 0);
+
+        private final Vector3d movement;
+        /**
+         * The height of the player's feet above the ground.
+         */
+        private final double height;
+
+        Movement(Vector3d movement, double height) {
+            this.movement = movement;
+            this.height = height;
+        }
+    }
+}
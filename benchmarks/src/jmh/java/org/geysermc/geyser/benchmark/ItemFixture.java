@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.geysermc.geyser.item.Items;
+import org.geysermc.mcprotocollib.protocol.data.game.item.ItemStack;
+import org.geysermc.mcprotocollib.protocol.data.game.item.component.DataComponentTypes;
+import org.geysermc.mcprotocollib.protocol.data.game.item.component.DataComponents;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Item stacks commonly found in inventories, from a plain block to a customised tool.
+ */
+public enum ItemFixture {
+    BLOCK {
+        @Override
+        ItemStack create() {
+            return new ItemStack(Items.STONE.javaId(), 64, null);
+        }
+    },
+    TOOL {
+        @Override
+        ItemStack create() {
+            return new ItemStack(Items.DIAMOND_SWORD.javaId(), 1, null);
+        }
+    },
+    CUSTOM_TOOL {
+        @Override
+        ItemStack create() {
+            DataComponents patch = new DataComponents(new HashMap<>());
+            patch.put(DataComponentTypes.DAMAGE, 120);
+            patch.put(DataComponentTypes.REPAIR_COST, 3);
+            patch.put(DataComponentTypes.CUSTOM_NAME, Component.text("Excalibur", NamedTextColor.GOLD));
+            patch.put(DataComponentTypes.LORE, List.of(
+                Component.text("Forged in the nether", NamedTextColor.GRAY),
+                Component.text("Soulbound", NamedTextColor.DARK_PURPLE),
+                Component.text("Kills: 1337", NamedTextColor.RED)
+            ));
+            return new ItemStack(Items.DIAMOND_SWORD.javaId(), 1, patch);
+        }
+    };
+
+    abstract ItemStack create();
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.geysermc.geyser.scoreboard.network.util.GeyserMockContext;
+import org.geysermc.geyser.translator.text.MessageTranslator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MessageTranslatorBenchmark {
+    @Param({"PLAIN", "NESTED", "RGB", "TRANSLATABLE"})
+    private Fixture fixture;
+
+    private GeyserMockContext context;
+    private Component message;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = GeyserMockContext.open();
+        MessageTranslator.init();
+        message = fixture.create();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String convertMessage() {
+        return MessageTranslator.convertMessage(message, "en_us");
+    }
+
+    public enum Fixture {
+        PLAIN {
+            @Override
+            Component create() {
+                return Component.text("DoctorMad9952 joined the game", NamedTextColor.YELLOW);
+            }
+        },
+        NESTED {
+            @Override
+            Component create() {
+                return Component.text()
+                    .append(Component.text("Plugins (3): "))
+                    .append(Component.text("WorldEdit", NamedTextColor.GREEN))
+                    .append(Component.text(", ", NamedTextColor.WHITE))
+                    .append(Component.text("ViaVersion", NamedTextColor.GREEN))
+                    .append(Component.text(", ", NamedTextColor.WHITE))
+                    .append(Component.text("Geyser-Spigot", NamedTextColor.GREEN))
+                    .build();
+            }
+        },
+        RGB {
+            @Override
+            Component create() {
+                // A gradient, as commonly sent by servers in chat and scoreboards
+                var builder = Component.text();
+                String text = "NEW: AMONG SLIMES";
+                for (int i = 0; i < text.length(); i++) {
+                    TextColor color = TextColor.color(0xb042f5 + i * 0x1100);
+                    builder.append(Component.text(text.charAt(i), color).decorate(TextDecoration.BOLD));
+                }
+                return builder.build();
+            }
+        },
+        TRANSLATABLE {
+            @Override
+            Component create() {
+                return Component.translatable("chat.type.text", Component.text("Tim203"), Component.text("Hello world!"));
+            }
+        };
+
+        abstract Component create();
+    }
+}
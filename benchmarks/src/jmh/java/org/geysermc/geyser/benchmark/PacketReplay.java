@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import org.cloudburstmc.protocol.bedrock.BedrockServerSession;
+import org.cloudburstmc.protocol.bedrock.codec.BedrockCodec;
+import org.cloudburstmc.protocol.bedrock.codec.BedrockCodecHelper;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.common.util.VarInts;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.configuration.GeyserConfig;
+import org.geysermc.geyser.event.GeyserEventBus;
+import org.geysermc.geyser.level.GeyserWorldManager;
+import org.geysermc.geyser.network.GameProtocol;
+import org.geysermc.geyser.network.GeyserBedrockPeer;
+import org.geysermc.geyser.network.netty.handler.JavaPacketCapture;
+import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.geyser.registry.Registries;
+import org.geysermc.geyser.scoreboard.network.util.GeyserMockContext;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.SessionManager;
+import org.geysermc.mcprotocollib.network.packet.Packet;
+import org.geysermc.mcprotocollib.protocol.MinecraftProtocol;
+import org.geysermc.mcprotocollib.protocol.data.ProtocolState;
+import org.mockito.Mockito;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Replays a Java packet capture made with {@link JavaPacketCapture} through the packet translators of a headless
+ * session, and reports the CPU time, allocations and Bedrock bytes caused by each type of Java packet.
+ * <p>
+ * Packets are replayed back to back rather than with their original timing, on a single event loop that also runs
+ * the session's own tasks. Use {@code ./gradlew :benchmarks:replay -Pcapture=<file> [-Pwarmup=<runs>]}.
+ */
+public final class PacketReplay {
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final EventLoop eventLoop;
+    private final Map<Class<?>, Stats> stats = new HashMap<>();
+    private final Map<Class<?>, Stats> bedrockStats = new HashMap<>();
+    private final ByteBuf encodeBuffer = Unpooled.buffer();
+    private int skippedPackets;
+
+    private Stats current;
+    private long cpuStart;
+    private long allocatedStart;
+
+    private PacketReplay(EventLoop eventLoop) {
+        this.eventLoop = eventLoop;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1 || args[0].isEmpty()) {
+            System.err.println("Usage: PacketReplay <capture file> [warmup runs]");
+            System.exit(1);
+        }
+        Path capture = Paths.get(args[0]);
+        int warmup = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+
+        THREADS.setThreadCpuTimeEnabled(true);
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        // Everything touching the session runs on its event loop, as GeyserImpl is only mocked on that thread
+        EventLoop eventLoop = new DefaultEventLoop();
+        try {
+            GeyserMockContext context = eventLoop.submit(BenchmarkContext::openGeyser).get();
+            try {
+                for (int i = 0; i < warmup; i++) {
+                    new PacketReplay(eventLoop).replay(context, capture);
+                }
+                PacketReplay replay = new PacketReplay(eventLoop);
+                long start = System.nanoTime();
+                replay.replay(context, capture);
+                replay.report(System.nanoTime() - start);
+            } finally {
+                eventLoop.submit(context::close).get();
+            }
+        } finally {
+            eventLoop.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        }
+    }
+
+    private void replay(GeyserMockContext context, Path capture) throws Exception {
+        GeyserSession session = eventLoop.submit(() -> createSession(context)).get();
+        // Packets are decoded here, so only the translation is measured on the event loop
+        MinecraftProtocol protocol = new MinecraftProtocol("Replay");
+
+        try (InputStream stream = Files.newInputStream(capture)) {
+            int protocolVersion = JavaPacketCapture.read(stream, captured -> {
+                if (protocol.getInboundState() != captured.state()) {
+                    protocol.setInboundState(captured.state());
+                }
+                Packet packet;
+                try {
+                    ByteBuf buf = Unpooled.wrappedBuffer(captured.data(), 0, captured.length());
+                    packet = protocol.getInboundPacketRegistry().createClientboundPacket(VarInts.readUnsignedInt(buf), buf);
+                } catch (RuntimeException e) {
+                    skippedPackets++;
+                    return;
+                }
+
+                // Tasks the session queues while translating run before the next packet, and count towards this one
+                run(() -> {
+                    finish();
+                    start(packet.getClass());
+                    Registries.JAVA_PACKET_TRANSLATORS.translate(packet.getClass(), packet, session, true);
+                });
+            });
+            if (protocolVersion != GameProtocol.getJavaProtocolVersion()) {
+                System.err.printf("Capture was made with Java protocol %d, replaying with %d%n", protocolVersion, GameProtocol.getJavaProtocolVersion());
+            }
+        }
+        run(this::finish);
+    }
+
+    private void run(Runnable task) {
+        try {
+            eventLoop.submit(task).get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void start(Class<?> type) {
+        current = stats.computeIfAbsent(type, Stats::new);
+        current.count++;
+        cpuStart = THREADS.getCurrentThreadCpuTime();
+        allocatedStart = THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private void finish() {
+        if (current != null) {
+            current.cpuNanos += THREADS.getCurrentThreadCpuTime() - cpuStart;
+            current.allocatedBytes += THREADS.getCurrentThreadAllocatedBytes() - allocatedStart;
+            current = null;
+        }
+    }
+
+    /**
+     * Creates a real session whose Bedrock connection only serializes the packets sent to it.
+     */
+    private GeyserSession createSession(GeyserMockContext context) {
+        GeyserImpl geyser = context.mockOrSpy(GeyserImpl.class);
+        when(geyser.config()).thenReturn(mock(GeyserConfig.class, withSettings().stubOnly().defaultAnswer(Mockito.RETURNS_DEEP_STUBS)));
+        when(geyser.getSessionManager()).thenReturn(mock(SessionManager.class, withSettings().stubOnly()));
+        when(geyser.getWorldManager()).thenReturn(new GeyserWorldManager());
+        GeyserEventBus eventBus = mock(GeyserEventBus.class, withSettings().stubOnly());
+        when(geyser.eventBus()).thenReturn(eventBus);
+        when(geyser.getEventBus()).thenReturn(eventBus);
+
+        BedrockCodec codec = GameProtocol.getBedrockCodec(GameProtocol.DEFAULT_BEDROCK_PROTOCOL);
+        BedrockCodecHelper helper = codec.createHelper();
+
+        GeyserBedrockPeer peer = mock(GeyserBedrockPeer.class, withSettings().stubOnly());
+        when(peer.isConnected()).thenReturn(true);
+        when(peer.getCodecHelper()).thenReturn(helper);
+
+        BedrockServerSession bedrockSession = mock(BedrockServerSession.class, withSettings().stubOnly());
+        when(bedrockSession.getPeer()).thenReturn(peer);
+        when(bedrockSession.getCodec()).thenReturn(codec);
+        doAnswer(invocation -> {
+            sent(codec, helper, invocation.getArgument(0));
+            return null;
+        }).when(bedrockSession).sendPacket(any());
+        doAnswer(invocation -> {
+            sent(codec, helper, invocation.getArgument(0));
+            return null;
+        }).when(bedrockSession).sendPacketImmediately(any());
+
+        GeyserSession session = new GeyserSession(geyser, bedrockSession, eventLoop);
+        session.setItemMappings(Registries.ITEMS.forVersion(codec.getProtocolVersion()));
+        session.setBlockMappings(BlockRegistries.BLOCKS.forVersion(codec.getProtocolVersion()));
+        helper.setItemDefinitions(session.getItemMappings());
+        helper.setBlockDefinitions(session.getBlockMappings());
+        return session;
+    }
+
+    private void sent(BedrockCodec codec, BedrockCodecHelper helper, BedrockPacket packet) {
+        encodeBuffer.clear();
+        try {
+            codec.tryEncode(helper, encodeBuffer, packet);
+        } catch (Exception e) {
+            System.err.println("Could not serialize " + packet.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+        int bytes = encodeBuffer.readableBytes();
+
+        Stats bedrock = bedrockStats.computeIfAbsent(packet.getClass(), Stats::new);
+        bedrock.count++;
+        bedrock.sentBytes += bytes;
+        if (current != null) {
+            current.sentPackets++;
+            current.sentBytes += bytes;
+        }
+    }
+
+    private void report(long wallNanos) {
+        List<Stats> java = new ArrayList<>(stats.values());
+        java.sort(Comparator.comparingLong((Stats s) -> s.cpuNanos).reversed());
+
+        long packets = 0, cpu = 0, allocated = 0, sentPackets = 0, sentBytes = 0;
+        System.out.printf("%-48s %9s %12s %10s %14s %10s %14s%n", "Java packet", "count", "cpu total", "cpu avg", "allocated", "sent", "sent bytes");
+        for (Stats s : java) {
+            System.out.printf("%-48s %9d %10.2fms %8.1fus %12.1fMB %10d %14d%n", s.type.getSimpleName(), s.count,
+                s.cpuNanos / 1e6, s.cpuNanos / 1e3 / s.count, s.allocatedBytes / 1e6, s.sentPackets, s.sentBytes);
+            packets += s.count;
+            cpu += s.cpuNanos;
+            allocated += s.allocatedBytes;
+            sentPackets += s.sentPackets;
+            sentBytes += s.sentBytes;
+        }
+        System.out.printf("%-48s %9d %10.2fms %10s %12.1fMB %10d %14d%n", "Total", packets, cpu / 1e6, "", allocated / 1e6, sentPackets, sentBytes);
+
+        List<Stats> bedrock = new ArrayList<>(bedrockStats.values());
+        bedrock.sort(Comparator.comparingLong((Stats s) -> s.sentBytes).reversed());
+        System.out.println();
+        System.out.printf("%-48s %9s %14s%n", "Bedrock packet", "count", "bytes");
+        for (Stats s : bedrock) {
+            System.out.printf("%-48s %9d %14d%n", s.type.getSimpleName(), s.count, s.sentBytes);
+        }
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "Replayed %d packets in %.2fms, %d could not be decoded%n", packets, wallNanos / 1e6, skippedPackets);
+    }
+
+    private static final class Stats {
+        private final Class<?> type;
+        private long count;
+        private long cpuNanos;
+        private long allocatedBytes;
+        private long sentPackets;
+        private long sentBytes;
+
+        private Stats(Class<?> type) {
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark.load;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.netty.channel.Channel;
+import io.netty.util.concurrent.ScheduledFuture;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import org.cloudburstmc.math.vector.Vector2f;
+import org.cloudburstmc.math.vector.Vector3f;
+import org.cloudburstmc.protocol.bedrock.BedrockClientSession;
+import org.cloudburstmc.protocol.bedrock.data.ClientPlayMode;
+import org.cloudburstmc.protocol.bedrock.data.InputInteractionModel;
+import org.cloudburstmc.protocol.bedrock.data.InputMode;
+import org.cloudburstmc.protocol.bedrock.data.PlayerAuthInputData;
+import org.cloudburstmc.protocol.bedrock.data.auth.AuthType;
+import org.cloudburstmc.protocol.bedrock.data.auth.CertificateChainPayload;
+import org.cloudburstmc.protocol.bedrock.netty.codec.compression.SimpleCompressionStrategy;
+import org.cloudburstmc.protocol.bedrock.netty.codec.compression.ZlibCompression;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacketHandler;
+import org.cloudburstmc.protocol.bedrock.packet.ClientCacheStatusPacket;
+import org.cloudburstmc.protocol.bedrock.packet.ClientToServerHandshakePacket;
+import org.cloudburstmc.protocol.bedrock.packet.DisconnectPacket;
+import org.cloudburstmc.protocol.bedrock.packet.LoginPacket;
+import org.cloudburstmc.protocol.bedrock.packet.MovePlayerPacket;
+import org.cloudburstmc.protocol.bedrock.packet.NetworkSettingsPacket;
+import org.cloudburstmc.protocol.bedrock.packet.PlayStatusPacket;
+import org.cloudburstmc.protocol.bedrock.packet.PlayerAuthInputPacket;
+import org.cloudburstmc.protocol.bedrock.packet.RequestChunkRadiusPacket;
+import org.cloudburstmc.protocol.bedrock.packet.RequestNetworkSettingsPacket;
+import org.cloudburstmc.protocol.bedrock.packet.ResourcePackClientResponsePacket;
+import org.cloudburstmc.protocol.bedrock.packet.ResourcePackStackPacket;
+import org.cloudburstmc.protocol.bedrock.packet.ResourcePacksInfoPacket;
+import org.cloudburstmc.protocol.bedrock.packet.ServerToClientHandshakePacket;
+import org.cloudburstmc.protocol.bedrock.packet.SetLocalPlayerAsInitializedPacket;
+import org.cloudburstmc.protocol.bedrock.packet.StartGamePacket;
+import org.cloudburstmc.protocol.bedrock.packet.TextPacket;
+import org.cloudburstmc.protocol.bedrock.util.EncryptionUtils;
+import org.cloudburstmc.protocol.common.PacketSignal;
+import org.cloudburstmc.protocol.common.util.Zlib;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.jwx.HeaderParameterNames;
+import org.jose4j.lang.JoseException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One synthetic Bedrock client. It logs in with a self-signed chain like an offline mode client, accepts the resource
+ * packs without downloading them, and once it is spawned in the Java world walks in a circle and sends a
+ * {@value StubJavaServer#PING_COMMAND} command every second.
+ * <p>
+ * All methods run on the event loop of the client's channel.
+ */
+final class BedrockBot implements BedrockPacketHandler {
+    private static final int CHUNK_RADIUS = 8;
+    private static final float WALK_RADIUS = 48;
+    // Blocks per tick, about the vanilla walking speed
+    private static final float WALK_SPEED = 0.2158f;
+
+    private final String name;
+    private final KeyPair keyPair = EncryptionUtils.createKeyPair();
+    private final long connectStart = System.nanoTime();
+    private final LongList roundTrips = new LongArrayList();
+    private BedrockClientSession session;
+    private Channel channel;
+
+    private volatile long spawnedNanos = -1;
+    private volatile long joinedNanos = -1;
+    private volatile String failure;
+
+    private long runtimeEntityId;
+    private Vector3f position = Vector3f.ZERO;
+    private Vector3f walkCenter;
+    private float walkAngle;
+    private long tick;
+    private ScheduledFuture<?> movement;
+    private ScheduledFuture<?> pings;
+
+    BedrockBot(String name) {
+        this.name = name;
+    }
+
+    void initialized(BedrockClientSession session) {
+        this.session = session;
+        this.channel = session.getPeer().getChannel();
+    }
+
+    void connected() {
+        RequestNetworkSettingsPacket packet = new RequestNetworkSettingsPacket();
+        packet.setProtocolVersion(session.getCodec().getProtocolVersion());
+        session.sendPacketImmediately(packet);
+    }
+
+    @Override
+    public PacketSignal handle(NetworkSettingsPacket packet) {
+        // Geyser always uses zlib, see UpstreamPacketHandler
+        session.getPeer().setCompression(new SimpleCompressionStrategy(new ZlibCompression(Zlib.RAW)));
+
+        try {
+            LoginPacket loginPacket = new LoginPacket();
+            loginPacket.setProtocolVersion(session.getCodec().getProtocolVersion());
+            loginPacket.setAuthPayload(new CertificateChainPayload(List.of(createChain()), AuthType.SELF_SIGNED));
+            loginPacket.setClientJwt(createJwt(createClientData()));
+            session.sendPacketImmediately(loginPacket);
+        } catch (JoseException e) {
+            fail("Could not sign the login: " + e.getMessage());
+        }
+        return PacketSignal.HANDLED;
+    }
+
+    @Override
+    public PacketSignal handle(ServerToClientHandshakePacket packet) {
+        try {
+            JsonWebSignature jws = new JsonWebSignature();
+            jws.setCompactSerialization(packet.getJwt());
+            JsonObject payload = JsonParser.parseString(jws.getUnverifiedPayload()).getAsJsonObject();
+            byte[] salt = Base64.getDecoder().decode(payload.get("salt").getAsString());
+
+            session.enableEncryption(EncryptionUtils.getSecretKey(keyPair.getPrivate(),
+                EncryptionUtils.parseKey(jws.getHeader(HeaderParameterNames.X509_URL)), salt));
+            session.sendPacketImmediately(new ClientToServerHandshakePacket());
+        } catch (Exception e) {
+            fail("Could not enable encryption: " + e.getMessage());
+        }
+        return PacketSignal.HANDLED;
+    }
+
+    @Override
+    public PacketSignal handle(PlayStatusPacket packet) {
+        switch (packet.getStatus()) {
+            case LOGIN_SUCCESS -> {
+                ClientCacheStatusPacket cacheStatusPacket = new ClientCacheStatusPacket();
+                cacheStatusPacket.setSupported(false);
+                session.sendPacket(cacheStatusPacket);
+            }
+            case PLAYER_SPAWN -> {
+                spawnedNanos = System.nanoTime() - connectStart;
+
+                SetLocalPlayerAsInitializedPacket initializedPacket = new SetLocalPlayerAsInitializedPacket();
+                initializedPacket.setRuntimeEntityId(runtimeEntityId);
+                session.sendPacket(initializedPacket);
+            }
+            default -> fail("Login failed: " + packet.getStatus());
+        }
+        return PacketSignal.HANDLED;
+    }
+
+    @Override
+    public PacketSignal handle(ResourcePacksInfoPacket packet) {
+        respondToPacks(ResourcePackClientResponsePacket.Status.HAVE_ALL_PACKS);
+        return PacketSignal.HANDLED;
+    }
+
+    @Override
+    public PacketSignal handle(ResourcePackStackPacket packet) {
+        respondToPacks(ResourcePackClientResponsePacket.Status.COMPLETED);
+        return PacketSignal.HANDLED;
+    }
+
+    private void respondToPacks(ResourcePackClientResponsePacket.Status status) {
+        ResourcePackClientResponsePacket responsePacket = new ResourcePackClientResponsePacket();
+        responsePacket.setStatus(status);
+        session.sendPacket(responsePacket);
+    }
+
+    @Override
+    public PacketSignal handle(StartGamePacket packet) {
+        runtimeEntityId = packet.getRuntimeEntityId();
+        position = packet.getPlayerPosition();
+
+        RequestChunkRadiusPacket radiusPacket = new RequestChunkRadiusPacket();
+        radiusPacket.setRadius(CHUNK_RADIUS);
+        radiusPacket.setMaxRadius(CHUNK_RADIUS);
+        session.sendPacket(radiusPacket);
+        return PacketSignal.HANDLED;
+    }
+
+    @Override
+    public PacketSignal handle(MovePlayerPacket packet) {
+        if (packet.getRuntimeEntityId() != runtimeEntityId) {
+            return PacketSignal.HANDLED;
+        }
+        position = packet.getPosition();
+        walkCenter = position.sub(WALK_RADIUS, 0, 0);
+        walkAngle = 0;
+
+        // Geyser sends this once the player has been placed in the Java world
+        if (joinedNanos < 0 && packet.getMode() == MovePlayerPacket.Mode.RESPAWN) {
+            joinedNanos = System.nanoTime() - connectStart;
+            movement = channel.eventLoop().scheduleAtFixedRate(this::move, 50, 50, TimeUnit.MILLISECONDS);
+            pings = channel.eventLoop().scheduleAtFixedRate(this::ping, 1, 1, TimeUnit.SECONDS);
+        }
+        return PacketSignal.HANDLED;
+    }
+
+    @Override
+    public PacketSignal handle(TextPacket packet) {
+        String message = packet.getMessage();
+        int index = message.indexOf(StubJavaServer.PONG_PREFIX);
+        if (index >= 0) {
+            try {
+                long sent = Long.parseLong(message.substring(index + StubJavaServer.PONG_PREFIX.length()).trim());
+                roundTrips.add(System.nanoTime() - sent);
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return PacketSignal.HANDLED;
+    }
+
+    @Override
+    public PacketSignal handle(DisconnectPacket packet) {
+        fail("Disconnected: " + packet.getKickMessage());
+        return PacketSignal.HANDLED;
+    }
+
+    @Override
+    public void onDisconnect(CharSequence reason) {
+        if (movement != null) {
+            movement.cancel(false);
+            pings.cancel(false);
+        }
+        if (joinedNanos < 0) {
+            fail("Disconnected: " + reason);
+        }
+    }
+
+    private void move() {
+        walkAngle += WALK_SPEED / WALK_RADIUS;
+        Vector3f next = walkCenter.add(WALK_RADIUS * (float) Math.cos(walkAngle), 0, WALK_RADIUS * (float) Math.sin(walkAngle));
+        Vector3f delta = next.sub(position);
+        position = next;
+        float yaw = (float) Math.toDegrees(Math.atan2(-delta.getX(), delta.getZ()));
+
+        PlayerAuthInputPacket packet = new PlayerAuthInputPacket();
+        packet.setPosition(position);
+        packet.setRotation(Vector3f.from(0, yaw, yaw));
+        packet.setDelta(delta);
+        packet.setMotion(Vector2f.from(0, 1));
+        packet.setRawMoveVector(Vector2f.from(0, 1));
+        packet.setAnalogMoveVector(Vector2f.from(0, 1));
+        packet.setInteractRotation(Vector2f.from(0, yaw));
+        packet.setCameraOrientation(Vector3f.from(delta.getX(), 0, delta.getZ()).normalize());
+        packet.getInputData().add(PlayerAuthInputData.UP);
+        packet.setInputMode(InputMode.MOUSE);
+        packet.setPlayMode(ClientPlayMode.NORMAL);
+        packet.setInputInteractionModel(InputInteractionModel.CROSSHAIR);
+        packet.setTick(tick++);
+        session.sendPacket(packet);
+    }
+
+    private void ping() {
+        TextPacket packet = new TextPacket();
+        packet.setType(TextPacket.Type.CHAT);
+        packet.setSourceName(name);
+        packet.setXuid("");
+        packet.setPlatformChatId("");
+        packet.setNeedsTranslation(false);
+        packet.setMessage("/" + StubJavaServer.PING_COMMAND + " " + System.nanoTime());
+        session.sendPacket(packet);
+    }
+
+    void connectFailed(Throwable cause) {
+        fail("Could not connect: " + cause.getMessage());
+    }
+
+    void disconnect() {
+        if (session != null && session.isConnected()) {
+            channel.eventLoop().execute(() -> session.disconnect());
+        }
+    }
+
+    private void fail(String reason) {
+        if (failure == null) {
+            failure = reason;
+        }
+        if (session != null && session.isConnected()) {
+            session.disconnect();
+        }
+    }
+
+    private String createChain() throws JoseException {
+        long now = System.currentTimeMillis() / 1000;
+        JsonObject extraData = new JsonObject();
+        extraData.addProperty("displayName", name);
+        extraData.addProperty("identity", UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes(StandardCharsets.UTF_8)).toString());
+        extraData.addProperty("XUID", "");
+
+        JsonObject claims = new JsonObject();
+        claims.add("extraData", extraData);
+        claims.addProperty("identityPublicKey", publicKey());
+        claims.addProperty("nbf", now - 60);
+        claims.addProperty("iat", now);
+        claims.addProperty("exp", now + TimeUnit.DAYS.toSeconds(1));
+        return createJwt(claims);
+    }
+
+    private JsonObject createClientData() {
+        // A blank 64x64 classic skin
+        String skinData = Base64.getEncoder().encodeToString(new byte[64 * 64 * 4]);
+        String resourcePatch = Base64.getEncoder().encodeToString("{\"geometry\":{\"default\":\"geometry.humanoid.custom\"}}"
+            .getBytes(StandardCharsets.UTF_8));
+
+        JsonObject clientData = new JsonObject();
+        clientData.addProperty("GameVersion", session.getCodec().getMinecraftVersion());
+        clientData.addProperty("ServerAddress", channel.remoteAddress().toString());
+        clientData.addProperty("ThirdPartyName", name);
+        clientData.addProperty("LanguageCode", "en_US");
+        clientData.addProperty("SkinId", "loadtest");
+        clientData.addProperty("SkinData", skinData);
+        clientData.addProperty("SkinImageWidth", 64);
+        clientData.addProperty("SkinImageHeight", 64);
+        clientData.addProperty("SkinResourcePatch", resourcePatch);
+        clientData.addProperty("SkinGeometryData", "");
+        clientData.addProperty("CapeData", "");
+        clientData.addProperty("DeviceId", UUID.randomUUID().toString());
+        clientData.addProperty("DeviceModel", "LoadGenerator");
+        // Windows
+        clientData.addProperty("DeviceOS", 7);
+        clientData.addProperty("UIProfile", 0);
+        clientData.addProperty("CurrentInputMode", 1);
+        clientData.addProperty("DefaultInputMode", 1);
+        clientData.addProperty("SelfSignedId", UUID.randomUUID().toString());
+        clientData.addProperty("ClientRandomId", System.nanoTime());
+        clientData.addProperty("PlayFabId", "");
+        return clientData;
+    }
+
+    private String createJwt(JsonObject claims) throws JoseException {
+        JsonWebSignature jws = new JsonWebSignature();
+        jws.setAlgorithmHeaderValue(AlgorithmIdentifiers.ECDSA_USING_P384_CURVE_AND_SHA384);
+        jws.setHeader(HeaderParameterNames.X509_URL, publicKey());
+        jws.setPayload(claims.toString());
+        jws.setKey(keyPair.getPrivate());
+        return jws.getCompactSerialization();
+    }
+
+    private String publicKey() {
+        return Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * @return nanoseconds from connecting until the Bedrock spawn, or -1
+     */
+    long spawnedNanos() {
+        return spawnedNanos;
+    }
+
+    /**
+     * @return nanoseconds from connecting until being placed in the Java world, or -1
+     */
+    long joinedNanos() {
+        return joinedNanos;
+    }
+
+    String failure() {
+        return failure;
+    }
+
+    /**
+     * @return a copy of the round trips measured so far; must be called on the event loop of the client
+     */
+    long[] roundTrips() {
+        return roundTrips.toLongArray();
+    }
+
+    Channel channel() {
+        return channel;
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark.load;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.cloudburstmc.netty.channel.raknet.RakChannelFactory;
+import org.cloudburstmc.netty.channel.raknet.config.RakChannelOption;
+import org.cloudburstmc.protocol.bedrock.BedrockClientSession;
+import org.cloudburstmc.protocol.bedrock.codec.BedrockCodec;
+import org.cloudburstmc.protocol.bedrock.codec.v898.Bedrock_v898;
+import org.cloudburstmc.protocol.bedrock.netty.initializer.BedrockClientInitializer;
+import org.geysermc.geyser.metrics.GeyserMetrics;
+import org.geysermc.mcprotocollib.network.helper.TransportHelper;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Opens many synthetic Bedrock connections to a local Geyser standalone, and reports how long they took to join, the
+ * round trip times they measured through Geyser and the Java server, and how much CPU Geyser used meanwhile.
+ * <p>
+ * The clients are offline mode clients, so Geyser needs {@code validate-bedrock-login: false} and
+ * {@code auth-type: offline}, with its Java address pointing at the {@link StubJavaServer} this starts
+ * ({@code 127.0.0.1:25566} by default). Start Geyser with {@code -DGeyser.MetricsPort=<port>} and pass
+ * {@code --metrics=http://127.0.0.1:<port>/metrics} to include its CPU usage.
+ * Use {@code ./gradlew :benchmarks:loadtest --args="--clients=500 --rate=25"}.
+ */
+public final class LoadGenerator {
+    // Should be the latest codec in GameProtocol; Geyser's own copies are modified for the server side
+    private static final BedrockCodec CODEC = Bedrock_v898.CODEC;
+    private static final long SAMPLE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final Map<String, String> options;
+    private final List<BedrockBot> bots = new ArrayList<>();
+    private final List<CpuSample> cpuSamples = new ArrayList<>();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final long start = System.nanoTime();
+    private long nextSample;
+
+    private LoadGenerator(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                System.err.println("Usage: LoadGenerator [--bedrock=127.0.0.1:19132] [--clients=100] [--rate=20] [--duration=60]"
+                    + " [--java-port=25566] [--entities=20] [--metrics=<url>] [--threads=<n>] [--join-timeout=60]");
+                System.exit(1);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        new LoadGenerator(options).run();
+    }
+
+    private void run() throws Exception {
+        String[] bedrock = option("bedrock", "127.0.0.1:19132").split(":");
+        InetSocketAddress address = new InetSocketAddress(bedrock[0], Integer.parseInt(bedrock[1]));
+        int clients = Integer.parseInt(option("clients", "100"));
+        double rate = Double.parseDouble(option("rate", "20"));
+        long duration = TimeUnit.SECONDS.toNanos(Long.parseLong(option("duration", "60")));
+        long joinTimeout = TimeUnit.SECONDS.toNanos(Long.parseLong(option("join-timeout", "60")));
+        int javaPort = Integer.parseInt(option("java-port", "25566"));
+        int threads = Integer.parseInt(option("threads", Integer.toString(Runtime.getRuntime().availableProcessors())));
+
+        StubJavaServer javaServer = null;
+        if (javaPort > 0) {
+            javaServer = new StubJavaServer("127.0.0.1", javaPort, Integer.parseInt(option("entities", "20")));
+            javaServer.start();
+        }
+
+        EventLoopGroup group = TransportHelper.TRANSPORT_TYPE.eventLoopGroupFactory().apply(threads, new DefaultThreadFactory("LoadGenerator", true));
+        try {
+            Bootstrap bootstrap = new Bootstrap()
+                .channelFactory(RakChannelFactory.client(TransportHelper.TRANSPORT_TYPE.datagramChannelClass()))
+                .group(group)
+                .option(RakChannelOption.RAK_PROTOCOL_VERSION, CODEC.getRaknetProtocolVersion());
+
+            sample();
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+            for (int i = 0; i < clients; i++) {
+                LockSupport.parkNanos(start + i * interval - System.nanoTime());
+                connect(bootstrap.clone(), address, "LoadBot" + i);
+                sampleIfDue();
+            }
+
+            // Wait until everyone has joined or given up
+            long deadline = System.nanoTime() + joinTimeout;
+            while (System.nanoTime() < deadline && bots.stream().anyMatch(bot -> bot.joinedNanos() < 0 && bot.failure() == null)) {
+                Thread.sleep(100);
+                sampleIfDue();
+            }
+
+            System.out.println("All clients connected, measuring for " + TimeUnit.NANOSECONDS.toSeconds(duration) + "s");
+            CpuSample measureStart = sample();
+            long measureEnd = System.nanoTime() + duration;
+            while (System.nanoTime() < measureEnd) {
+                Thread.sleep(100);
+                sampleIfDue();
+            }
+            CpuSample measured = sample();
+
+            report(measureStart, measured);
+        } finally {
+            bots.forEach(BedrockBot::disconnect);
+            Thread.sleep(1000);
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+            if (javaServer != null) {
+                javaServer.stop();
+            }
+        }
+    }
+
+    private void connect(Bootstrap bootstrap, InetSocketAddress address, String name) {
+        BedrockBot bot = new BedrockBot(name);
+        bots.add(bot);
+        bootstrap.handler(new BedrockClientInitializer() {
+            @Override
+            protected void initSession(BedrockClientSession session) {
+                session.setCodec(CODEC);
+                session.setPacketHandler(bot);
+                bot.initialized(session);
+            }
+        }).connect(address).addListener(future -> {
+            // The RakNet connection is established once the future completes
+            if (future.isSuccess()) {
+                bot.connected();
+            } else {
+                bot.connectFailed(future.cause());
+            }
+        });
+    }
+
+    private void sampleIfDue() {
+        if (System.nanoTime() >= nextSample) {
+            CpuSample sample = sample();
+            long joined = bots.stream().filter(bot -> bot.joinedNanos() >= 0).count();
+            long failed = bots.stream().filter(bot -> bot.failure() != null).count();
+            String cpu = cpuSamples.size() < 2 || Double.isNaN(sample.cpuSeconds()) ? "" : String.format(Locale.ROOT, ", Geyser CPU %.2f cores",
+                cpuSamples.get(cpuSamples.size() - 2).coresUntil(sample));
+            System.out.printf(Locale.ROOT, "[%3ds] %d connected, %d joined, %d failed%s%n",
+                TimeUnit.NANOSECONDS.toSeconds(sample.nanos() - start), bots.size(), joined, failed, cpu);
+        }
+    }
+
+    private CpuSample sample() {
+        long now = System.nanoTime();
+        nextSample = now + SAMPLE_INTERVAL_NANOS;
+        CpuSample sample = new CpuSample(now, scrapeCpuSeconds());
+        cpuSamples.add(sample);
+        return sample;
+    }
+
+    /**
+     * @return the CPU time used by Geyser as reported by its metrics endpoint, or NaN
+     */
+    private double scrapeCpuSeconds() {
+        String url = options.get("metrics");
+        if (url == null) {
+            return Double.NaN;
+        }
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(2)).build();
+            for (String line : httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body().split("\n")) {
+                if (line.startsWith("process_cpu_seconds_total ")) {
+                    return Double.parseDouble(line.substring(line.indexOf(' ') + 1));
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Could not read the metrics from " + url + ": " + e.getMessage());
+        }
+        return Double.NaN;
+    }
+
+    private void report(CpuSample measureStart, CpuSample measured) throws Exception {
+        List<BedrockBot> joined = bots.stream().filter(bot -> bot.joinedNanos() >= 0).toList();
+        System.out.printf(Locale.ROOT, "%nClients: %d connected, %d joined, %d failed%n", bots.size(), joined.size(),
+            bots.stream().filter(bot -> bot.failure() != null).count());
+
+        printPercentiles("Join until Bedrock spawn", bots.stream().mapToLong(BedrockBot::spawnedNanos).filter(nanos -> nanos >= 0).toArray());
+        printPercentiles("Join until in Java world", joined.stream().mapToLong(BedrockBot::joinedNanos).toArray());
+
+        List<SessionRoundTrips> sessions = new ArrayList<>();
+        for (BedrockBot bot : joined) {
+            long[] roundTrips = bot.channel().eventLoop().submit(bot::roundTrips).get();
+            if (roundTrips.length > 0) {
+                Arrays.sort(roundTrips);
+                sessions.add(new SessionRoundTrips(bot.name(), roundTrips));
+            }
+        }
+        printPercentiles("Round trip", sessions.stream().flatMapToLong(session -> Arrays.stream(session.roundTrips())).toArray());
+        printPercentiles("Median round trip per session", sessions.stream().mapToLong(session -> percentile(session.roundTrips(), 0.5)).toArray());
+
+        System.out.println("Slowest sessions by p99 round trip:");
+        sessions.stream()
+            .sorted(Comparator.comparingLong((SessionRoundTrips session) -> percentile(session.roundTrips(), 0.99)).reversed())
+            .limit(5)
+            .forEach(session -> System.out.printf(Locale.ROOT, "  %-12s median %s, p99 %s, %d samples%n", session.name(),
+                GeyserMetrics.formatNanos(percentile(session.roundTrips(), 0.5)),
+                GeyserMetrics.formatNanos(percentile(session.roundTrips(), 0.99)), session.roundTrips().length));
+
+        if (Double.isNaN(measured.cpuSeconds())) {
+            System.out.println("Geyser CPU: unknown, pass --metrics=<url of Geyser's metrics endpoint>");
+        } else {
+            double peak = 0;
+            for (int i = 1; i < cpuSamples.size(); i++) {
+                if (cpuSamples.get(i).nanos() > measureStart.nanos()) {
+                    peak = Math.max(peak, cpuSamples.get(i - 1).coresUntil(cpuSamples.get(i)));
+                }
+            }
+            System.out.printf(Locale.ROOT, "Geyser CPU: %.2f cores on average while measuring, %.2f cores at peak%n",
+                measureStart.coresUntil(measured), peak);
+        }
+
+        Map<String, Integer> failures = new HashMap<>();
+        for (BedrockBot bot : bots) {
+            if (bot.failure() != null) {
+                failures.merge(bot.failure(), 1, Integer::sum);
+            }
+        }
+        failures.entrySet().stream()
+            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+            .limit(5)
+            .forEach(entry -> System.out.printf(Locale.ROOT, "Failed %dx: %s%n", entry.getValue(), entry.getKey()));
+    }
+
+    private static void printPercentiles(String name, long[] values) {
+        if (values.length == 0) {
+            System.out.println(name + ": no samples");
+            return;
+        }
+        Arrays.sort(values);
+        System.out.printf(Locale.ROOT, "%s: p50 %s, p90 %s, p99 %s, max %s (%d samples)%n", name,
+            GeyserMetrics.formatNanos(percentile(values, 0.5)), GeyserMetrics.formatNanos(percentile(values, 0.9)),
+            GeyserMetrics.formatNanos(percentile(values, 0.99)), GeyserMetrics.formatNanos(values[values.length - 1]), values.length);
+    }
+
+    /**
+     * @param sorted values sorted in ascending order
+     */
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private record CpuSample(long nanos, double cpuSeconds) {
+        double coresUntil(CpuSample later) {
+            return (later.cpuSeconds - cpuSeconds) / ((later.nanos - nanos) / 1_000_000_000D);
+        }
+    }
+
+    private record SessionRoundTrips(String name, long[] roundTrips) {
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark.load;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import org.cloudburstmc.math.vector.Vector3d;
+import org.geysermc.mcprotocollib.network.Session;
+import org.geysermc.mcprotocollib.network.event.server.ServerAdapter;
+import org.geysermc.mcprotocollib.network.event.server.SessionAddedEvent;
+import org.geysermc.mcprotocollib.network.event.server.SessionRemovedEvent;
+import org.geysermc.mcprotocollib.network.event.session.SessionAdapter;
+import org.geysermc.mcprotocollib.network.packet.Packet;
+import org.geysermc.mcprotocollib.network.server.NetworkServer;
+import org.geysermc.mcprotocollib.protocol.MinecraftConstants;
+import org.geysermc.mcprotocollib.protocol.MinecraftProtocol;
+import org.geysermc.mcprotocollib.protocol.codec.MinecraftTypes;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.ChunkSection;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
+import org.geysermc.mcprotocollib.protocol.data.game.entity.player.GameMode;
+import org.geysermc.mcprotocollib.protocol.data.game.entity.player.PlayerSpawnInfo;
+import org.geysermc.mcprotocollib.protocol.data.game.entity.type.EntityType;
+import org.geysermc.mcprotocollib.protocol.data.game.level.LightUpdateData;
+import org.geysermc.mcprotocollib.protocol.data.game.level.block.BlockEntityInfo;
+import org.geysermc.mcprotocollib.protocol.data.game.level.notify.GameEvent;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundLoginPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundSystemChatPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.entity.ClientboundAddEntityPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.entity.ClientboundMoveEntityPosPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.entity.player.ClientboundPlayerPositionPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundForgetLevelChunkPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundGameEventPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundLevelChunkWithLightPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundSetChunkCacheCenterPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.serverbound.ServerboundChatCommandPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.serverbound.ServerboundChatCommandSignedPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.serverbound.player.ServerboundMovePlayerPosPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.serverbound.player.ServerboundMovePlayerPosRotPacket;
+
+import java.net.InetSocketAddress;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A minimal offline mode Java server for {@link LoadGenerator}. Every player spawns in the same flat world, is sent
+ * the chunks in view as it walks around, sees a number of entities wandering around the spawn point, and gets a
+ * reply to {@value #PING_COMMAND} commands so that round trips through Geyser can be measured.
+ * <p>
+ * Registries and keep alives are left to the default listeners of MCProtocolLib.
+ */
+final class StubJavaServer {
+    static final String PING_COMMAND = "loadtest-ping";
+    static final String PONG_PREFIX = "loadtest-pong ";
+
+    static final int SPAWN_Y = 64;
+    private static final int VIEW_DISTANCE = 6;
+    private static final int PLAYER_ENTITY_ID = 1;
+    private static final int ENTITY_RANGE = 24;
+    private static final EntityType[] ENTITY_TYPES = {EntityType.ZOMBIE, EntityType.PIG, EntityType.VILLAGER, EntityType.SHEEP};
+
+    // The overworld, as in the vanilla registries sent by MCProtocolLib
+    private static final int MIN_Y = -64;
+    private static final int SECTIONS = 24;
+
+    // Vanilla block state ids; the server doesn't need Geyser's registries for these
+    private static final int AIR = 0;
+    private static final int STONE = 1;
+    private static final int GRASS_BLOCK = 9;
+    private static final int DIRT = 10;
+    private static final int BLOCK_STATE_COUNT = 1 << 15;
+    private static final int BIOME_COUNT = 64;
+
+    private static final byte[] CHUNK_DATA = flatChunk();
+
+    private final NetworkServer server;
+    private final int entities;
+    private final Map<Session, Player> players = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "StubJavaServer ticker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    StubJavaServer(String host, int port, int entities) {
+        this.entities = entities;
+        this.server = new NetworkServer(new InetSocketAddress(host, port), MinecraftProtocol::new);
+        server.setGlobalFlag(MinecraftConstants.SHOULD_AUTHENTICATE, false);
+        server.setGlobalFlag(MinecraftConstants.SERVER_COMPRESSION_THRESHOLD, 256);
+        server.setGlobalFlag(MinecraftConstants.SERVER_LOGIN_HANDLER_KEY, this::loggedIn);
+        server.addListener(new ServerAdapter() {
+            @Override
+            public void sessionAdded(SessionAddedEvent event) {
+                event.getSession().addListener(new SessionAdapter() {
+                    @Override
+                    public void packetReceived(Session session, Packet packet) {
+                        StubJavaServer.this.packetReceived(session, packet);
+                    }
+                });
+            }
+
+            @Override
+            public void sessionRemoved(SessionRemovedEvent event) {
+                players.remove(event.getSession());
+            }
+        });
+    }
+
+    void start() {
+        server.bind();
+        ticker.scheduleAtFixedRate(this::tick, 50, 50, TimeUnit.MILLISECONDS);
+    }
+
+    void stop() {
+        ticker.shutdownNow();
+        server.close();
+    }
+
+    private void loggedIn(Session session) {
+        Key overworld = Key.key("minecraft:overworld");
+        PlayerSpawnInfo spawnInfo = new PlayerSpawnInfo(0, overworld, 0, GameMode.SURVIVAL, null, false, true, null, 0, SPAWN_Y);
+        session.send(new ClientboundLoginPacket(PLAYER_ENTITY_ID, false, new Key[] {overworld}, 1000, VIEW_DISTANCE, VIEW_DISTANCE,
+            false, true, false, spawnInfo, false));
+        session.send(new ClientboundPlayerPositionPacket(1, Vector3d.from(0.5, SPAWN_Y, 0.5), Vector3d.ZERO, 0, 0, List.of()));
+        session.send(new ClientboundGameEventPacket(GameEvent.LEVEL_CHUNKS_LOAD_START, null));
+
+        Player player = new Player(session, entities);
+        player.updateChunks(0, 0);
+
+        Random random = new Random();
+        for (int i = 0; i < entities; i++) {
+            Wanderer wanderer = new Wanderer(PLAYER_ENTITY_ID + 1 + i,
+                random.nextInt(-ENTITY_RANGE, ENTITY_RANGE) + 0.5, random.nextInt(-ENTITY_RANGE, ENTITY_RANGE) + 0.5);
+            player.wanderers[i] = wanderer;
+            session.send(new ClientboundAddEntityPacket(wanderer.entityId, UUID.randomUUID(), ENTITY_TYPES[i % ENTITY_TYPES.length],
+                wanderer.x, SPAWN_Y, wanderer.z, 0, 0, 0));
+        }
+        players.put(session, player);
+    }
+
+    private void packetReceived(Session session, Packet packet) {
+        if (packet instanceof ServerboundChatCommandSignedPacket commandPacket) {
+            command(session, commandPacket.getCommand());
+        } else if (packet instanceof ServerboundChatCommandPacket commandPacket) {
+            command(session, commandPacket.getCommand());
+        } else if (packet instanceof ServerboundMovePlayerPosPacket movePacket) {
+            moved(session, movePacket.getX(), movePacket.getZ());
+        } else if (packet instanceof ServerboundMovePlayerPosRotPacket movePacket) {
+            moved(session, movePacket.getX(), movePacket.getZ());
+        }
+    }
+
+    private void command(Session session, String command) {
+        if (command.startsWith(PING_COMMAND + " ")) {
+            session.send(new ClientboundSystemChatPacket(Component.text(PONG_PREFIX + command.substring(PING_COMMAND.length() + 1)), false));
+        }
+    }
+
+    private void moved(Session session, double x, double z) {
+        Player player = players.get(session);
+        if (player != null) {
+            player.updateChunks((int) Math.floor(x) >> 4, (int) Math.floor(z) >> 4);
+        }
+    }
+
+    private void tick() {
+        Random random = new Random();
+        for (Player player : players.values()) {
+            for (Wanderer wanderer : player.wanderers) {
+                // A slow random walk that stays around the spawn point
+                double moveX = (random.nextDouble() - 0.5) * 0.2 - wanderer.x * 0.002;
+                double moveZ = (random.nextDouble() - 0.5) * 0.2 - wanderer.z * 0.002;
+                wanderer.x += moveX;
+                wanderer.z += moveZ;
+                player.session.send(new ClientboundMoveEntityPosPacket(wanderer.entityId, moveX, 0, moveZ, true));
+            }
+        }
+    }
+
+    private static byte[] flatChunk() {
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            for (int section = 0; section < SECTIONS; section++) {
+                DataPalette blocks = DataPalette.createForBlockState(AIR, BLOCK_STATE_COUNT);
+                int blockCount = 0;
+                for (int y = 0; y < 16; y++) {
+                    int state = blockAt(MIN_Y + section * 16 + y);
+                    if (state == AIR) {
+                        continue;
+                    }
+                    for (int z = 0; z < 16; z++) {
+                        for (int x = 0; x < 16; x++) {
+                            blocks.set(x, y, z, state);
+                        }
+                    }
+                    blockCount += 256;
+                }
+                MinecraftTypes.writeChunkSection(buf, new ChunkSection(blockCount, blocks, DataPalette.createForBiome(0, BIOME_COUNT)));
+            }
+            return ByteBufUtil.getBytes(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static int blockAt(int y) {
+        if (y >= SPAWN_Y) {
+            return AIR;
+        }
+        if (y == SPAWN_Y - 1) {
+            return GRASS_BLOCK;
+        }
+        return y >= SPAWN_Y - 4 ? DIRT : STONE;
+    }
+
+    private static final class Player {
+        private final Session session;
+        private final Wanderer[] wanderers;
+        private final LongSet chunks = new LongOpenHashSet();
+        private int centerX = Integer.MIN_VALUE;
+        private int centerZ = Integer.MIN_VALUE;
+
+        private Player(Session session, int entities) {
+            this.session = session;
+            this.wanderers = new Wanderer[entities];
+        }
+
+        /**
+         * Sends the chunks that came into view and forgets the ones that went out of it, like a vanilla server.
+         */
+        private void updateChunks(int chunkX, int chunkZ) {
+            if (chunkX == centerX && chunkZ == centerZ) {
+                return;
+            }
+            centerX = chunkX;
+            centerZ = chunkZ;
+            session.send(new ClientboundSetChunkCacheCenterPacket(chunkX, chunkZ));
+
+            chunks.removeIf((long key) -> {
+                int x = (int) key;
+                int z = (int) (key >> 32);
+                if (Math.abs(x - chunkX) > VIEW_DISTANCE || Math.abs(z - chunkZ) > VIEW_DISTANCE) {
+                    session.send(new ClientboundForgetLevelChunkPacket(x, z));
+                    return true;
+                }
+                return false;
+            });
+            for (int x = chunkX - VIEW_DISTANCE; x <= chunkX + VIEW_DISTANCE; x++) {
+                for (int z = chunkZ - VIEW_DISTANCE; z <= chunkZ + VIEW_DISTANCE; z++) {
+                    if (chunks.add((x & 0xFFFFFFFFL) | ((long) z << 32))) {
+                        session.send(new ClientboundLevelChunkWithLightPacket(x, z, CHUNK_DATA, Map.of(), new BlockEntityInfo[0],
+                            new LightUpdateData(new BitSet(), new BitSet(), new BitSet(), new BitSet(), List.of(), List.of())));
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Wanderer {
+        private final int entityId;
+        private double x;
+        private double z;
+
+        private Wanderer(int entityId, double x, double z) {
+            this.entityId = entityId;
+            this.x = x;
+            this.z = z;
+        }
+    }
+}
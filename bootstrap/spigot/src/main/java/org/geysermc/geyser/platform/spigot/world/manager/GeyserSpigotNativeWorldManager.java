@@ -25,16 +25,12 @@
 
 package org.geysermc.geyser.platform.spigot.world.manager;
 
-import org.bukkit.Bukkit;
 import org.bukkit.World;
-import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.geyser.adapters.WorldAdapter;
 import org.geysermc.geyser.adapters.paper.PaperAdapters;
 import org.geysermc.geyser.adapters.spigot.SpigotAdapters;
-import org.geysermc.geyser.level.block.type.Block;
-import org.geysermc.geyser.session.GeyserSession;
 
 public class GeyserSpigotNativeWorldManager extends GeyserSpigotWorldManager {
     protected final WorldAdapter<World> adapter;
@@ -49,12 +45,8 @@ public class GeyserSpigotNativeWorldManager extends GeyserSpigotWorldManager {
     }
 
     @Override
-    public int getBlockAt(GeyserSession session, int x, int y, int z) {
-        Player player = Bukkit.getPlayer(session.getPlayerEntity().getUsername());
-        if (player == null) {
-            return Block.JAVA_AIR_ID;
-        }
-        return adapter.getBlockAt(player.getWorld(), x, y, z);
+    protected int getBlockAt(World world, int x, int y, int z) {
+        return adapter.getBlockAt(world, x, y, z);
     }
 
     @Nullable
@@ -25,15 +25,20 @@
 
 package org.geysermc.geyser.platform.spigot.world.manager;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.DecoratedPot;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.math.vector.Vector3i;
 import org.geysermc.erosion.bukkit.BukkitUtils;
 import org.geysermc.erosion.bukkit.SchedulerUtils;
+import org.geysermc.erosion.util.BlockPositionIterator;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.level.GameRule;
 import org.geysermc.geyser.level.WorldManager;
@@ -42,8 +47,10 @@ import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.mcprotocollib.protocol.data.game.entity.player.GameMode;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 /**
@@ -51,6 +58,15 @@ import java.util.function.Consumer;
  */
 public class GeyserSpigotWorldManager extends WorldManager {
     private final Plugin plugin;
+    /**
+     * Bukkit hands out a new {@link BlockData} for every block, but these are equal for the same block state.
+     * As there's a limited amount of block states, every one of them is only converted through its string form once.
+     */
+    private final Map<BlockData, Integer> blockDataToNetworkId = new ConcurrentHashMap<>();
+    private final Cache<GeyserSession, Player> players = CacheBuilder.newBuilder()
+        .weakKeys()
+        .weakValues()
+        .build();
 
     public GeyserSpigotWorldManager(Plugin plugin) {
         this.plugin = plugin;
@@ -59,10 +75,28 @@ public class GeyserSpigotWorldManager extends WorldManager {
     @Override
     public int getBlockAt(GeyserSession session, int x, int y, int z) {
         Player bukkitPlayer;
-        if ((bukkitPlayer = Bukkit.getPlayer(session.getPlayerEntity().getUsername())) == null) {
+        if ((bukkitPlayer = getPlayer(session)) == null) {
             return org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID;
         }
+        return getBlockAt(bukkitPlayer.getWorld(), x, y, z);
+    }
+
+    @Override
+    public int[] getBlocksAt(GeyserSession session, BlockPositionIterator iter) {
+        int[] blocks = new int[iter.getMaxIterations()];
+        Player bukkitPlayer;
+        if ((bukkitPlayer = getPlayer(session)) == null) {
+            return blocks; // All air
+        }
+        // Only look up the world once for the whole region
         World world = bukkitPlayer.getWorld();
+        for (; iter.hasNext(); iter.next()) {
+            blocks[iter.getIteration()] = getBlockAt(world, iter.getX(), iter.getY(), iter.getZ());
+        }
+        return blocks;
+    }
+
+    protected int getBlockAt(World world, int x, int y, int z) {
         if (!world.isChunkLoaded(x >> 4, z >> 4)) {
             // If the chunk isn't loaded, how could we even be here?
             return org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID;
@@ -71,6 +105,23 @@ public class GeyserSpigotWorldManager extends WorldManager {
         return getBlockNetworkId(world.getBlockAt(x, y, z));
     }
 
+    /**
+     * Gets the Bukkit player of this session. The player is cached, since looking them up by name is slow and block lookups
+     * happen many times a tick.
+     */
+    protected @Nullable Player getPlayer(GeyserSession session) {
+        Player bukkitPlayer = players.getIfPresent(session);
+        if (bukkitPlayer == null || !bukkitPlayer.isOnline()) {
+            // getPlayer(String) matches name prefixes, which could return another player
+            bukkitPlayer = Bukkit.getPlayerExact(session.getPlayerEntity().getUsername());
+            if (bukkitPlayer == null) {
+                return null;
+            }
+            players.put(session, bukkitPlayer);
+        }
+        return bukkitPlayer;
+    }
+
     public int getBlockNetworkId(Block block) {
         if (SchedulerUtils.FOLIA && !Bukkit.isOwnedByCurrentRegion(block)) {
             // Terrible behavior, but this is basically what's always been happening behind the scenes anyway.
@@ -78,7 +129,16 @@ public class GeyserSpigotWorldManager extends WorldManager {
             Bukkit.getRegionScheduler().execute(this.plugin, block.getLocation(), () -> blockData.complete(block.getBlockData().getAsString()));
             return BlockRegistries.JAVA_BLOCK_STATE_IDENTIFIER_TO_ID.getOrDefault(blockData.join(), org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID);
         }
-        return BlockRegistries.JAVA_BLOCK_STATE_IDENTIFIER_TO_ID.getOrDefault(block.getBlockData().getAsString(), org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID); // TODO could just make this a BlockState lookup?
+        return getBlockNetworkId(block.getBlockData());
+    }
+
+    public int getBlockNetworkId(BlockData blockData) {
+        Integer networkId = blockDataToNetworkId.get(blockData);
+        if (networkId == null) {
+            networkId = BlockRegistries.JAVA_BLOCK_STATE_IDENTIFIER_TO_ID.getOrDefault(blockData.getAsString(), org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID);
+            blockDataToNetworkId.put(blockData, networkId);
+        }
+        return networkId;
     }
 
     @Override
@@ -93,7 +153,7 @@ public class GeyserSpigotWorldManager extends WorldManager {
             return gameRule.getDefaultBooleanValue();
         }
 
-        Player bukkitPlayer = Objects.requireNonNull(Bukkit.getPlayer(session.getPlayerEntity().uuid()));
+        Player bukkitPlayer = Objects.requireNonNull(getPlayer(session));
         Object value = bukkitPlayer.getWorld().getGameRuleValue(bukkitGameRule);
         if (value instanceof Boolean booleanValue) {
             return booleanValue;
@@ -109,7 +169,7 @@ public class GeyserSpigotWorldManager extends WorldManager {
             GeyserImpl.getInstance().getLogger().debug("Unknown game rule " + gameRule.getJavaID());
             return gameRule.getDefaultIntValue();
         }
-        Player bukkitPlayer = Objects.requireNonNull(Bukkit.getPlayer(session.getPlayerEntity().uuid()));
+        Player bukkitPlayer = Objects.requireNonNull(getPlayer(session));
         Object value = bukkitPlayer.getWorld().getGameRuleValue(bukkitGameRule);
         if (value instanceof Integer intValue) {
             return intValue;
@@ -125,7 +185,7 @@ public class GeyserSpigotWorldManager extends WorldManager {
 
     public void getDecoratedPotData(GeyserSession session, Vector3i pos, Consumer<List<String>> apply) {
         Player bukkitPlayer;
-        if ((bukkitPlayer = Bukkit.getPlayer(session.getPlayerEntity().uuid())) == null) {
+        if ((bukkitPlayer = getPlayer(session)) == null) {
             return;
         }
         Block block = bukkitPlayer.getWorld().getBlockAt(pos.getX(), pos.getY(), pos.getZ());
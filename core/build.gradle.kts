@@ -11,6 +11,7 @@ plugins {
     alias(libs.plugins.blossom)
     id("geyser.publish-conventions")
     id("io.freefair.lombok")
+    `java-test-fixtures`
     // Allows fabric/neoforge runServer gradle tasks to work correctly
     id("dev.architectury.loom-companion")
 }
@@ -84,6 +85,9 @@ dependencies {
     testImplementation(libs.mockito)
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 
+    // Shared with the benchmarks module
+    testFixturesImplementation(libs.mockito)
+
     // Annotation Processors
     compileOnly(projects.ap)
 
@@ -187,6 +191,11 @@ tasks.processResources {
     }
 }
 
+// Test fixtures are only used by our own tests and benchmarks and shouldn't be published
+val javaComponent = components["java"] as AdhocComponentWithVariants
+javaComponent.withVariantsFromConfiguration(configurations.testFixturesApiElements.get()) { skip() }
+javaComponent.withVariantsFromConfiguration(configurations.testFixturesRuntimeElements.get()) { skip() }
+
 tasks.named("sourcesJar") {
     dependsOn(tasks.named("processResources"))
 }
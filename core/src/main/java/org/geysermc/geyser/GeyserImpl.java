@@ -46,6 +46,7 @@ import org.bstats.charts.SingleLineChart;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
 import org.cloudburstmc.protocol.bedrock.util.EncryptionUtils;
 import org.geysermc.api.Geyser;
 import org.geysermc.cumulus.form.Form;
@@ -58,6 +59,7 @@ import org.geysermc.floodgate.crypto.FloodgateCipher;
 import org.geysermc.floodgate.news.NewsItemAction;
 import org.geysermc.geyser.api.GeyserApi;
 import org.geysermc.geyser.api.command.CommandSource;
+import org.geysermc.geyser.api.connection.GeyserConnection;
 import org.geysermc.geyser.api.event.EventRegistrar;
 import org.geysermc.geyser.api.event.lifecycle.GeyserPostInitializeEvent;
 import org.geysermc.geyser.api.event.lifecycle.GeyserPostReloadEvent;
@@ -81,7 +83,9 @@ import org.geysermc.geyser.extension.GeyserExtensionManager;
 import org.geysermc.geyser.impl.MinecraftVersionImpl;
 import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.level.WorldManager;
+import org.geysermc.geyser.metrics.MetricsHttpServer;
 import org.geysermc.geyser.network.GameProtocol;
+import org.geysermc.geyser.network.PacketBroadcaster;
 import org.geysermc.geyser.network.netty.GeyserServer;
 import org.geysermc.geyser.ping.GeyserLegacyPingPassthrough;
 import org.geysermc.geyser.registry.BlockRegistries;
@@ -119,6 +123,8 @@ import java.net.UnknownHostException;
 import java.nio.file.Path;
 import java.security.Key;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -175,6 +181,7 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
     private final GeyserExtensionManager extensionManager;
 
     private MetricsBase metrics;
+    private MetricsHttpServer metricsHttpServer;
 
     private PendingMicrosoftAuthentication pendingMicrosoftAuthentication;
     @Getter(AccessLevel.NONE)
@@ -631,6 +638,10 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
             metrics = null;
         }
 
+        if (metricsHttpServer == null) {
+            metricsHttpServer = MetricsHttpServer.start(this);
+        }
+
         if (config.java().authType() == AuthType.ONLINE) {
             // May be written/read to on multiple threads from each GeyserSession as well as writing the config
             savedAuthChains = new ConcurrentHashMap<>();
@@ -683,6 +694,18 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
         return sessionManager.getAllSessions();
     }
 
+    @Override
+    public void broadcastPacket(@NonNull Object packet, @NonNull Collection<? extends GeyserConnection> connections) {
+        if (!(packet instanceof BedrockPacket bedrockPacket)) {
+            throw new IllegalArgumentException("Not a Bedrock packet: " + packet.getClass().getName());
+        }
+        List<GeyserSession> sessions = new ArrayList<>(connections.size());
+        for (GeyserConnection connection : connections) {
+            sessions.add((GeyserSession) connection);
+        }
+        PacketBroadcaster.broadcast(bedrockPacket, sessions);
+    }
+
     @Override
     public int onlineConnectionsCount() {
         return sessionManager.size();
@@ -748,6 +771,8 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
         runIfNonNull(skinUploader, FloodgateSkinUploader::close);
         runIfNonNull(newsHandler, NewsHandler::shutdown);
         runIfNonNull(erosionUnixListener, UnixSocketClientListener::close);
+        runIfNonNull(metricsHttpServer, MetricsHttpServer::close);
+        metricsHttpServer = null;
 
         if (bootstrap.getGeyserPingPassthrough() instanceof GeyserLegacyPingPassthrough legacyPingPassthrough) {
             legacyPingPassthrough.interrupt();
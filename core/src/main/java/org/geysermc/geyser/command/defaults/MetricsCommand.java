@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.command.defaults;
+
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.api.util.TriState;
+import org.geysermc.geyser.command.GeyserCommand;
+import org.geysermc.geyser.command.GeyserCommandSource;
+import org.geysermc.geyser.metrics.GeyserMetrics;
+import org.geysermc.geyser.metrics.LatencyHistogram;
+import org.geysermc.geyser.metrics.PacketMetrics;
+import org.geysermc.geyser.metrics.SessionMetrics;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.text.ChatColor;
+import org.incendo.cloud.context.CommandContext;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// Messages aren't translated yet, as the strings haven't made it into the languages repository
+public class MetricsCommand extends GeyserCommand {
+    private static final int LIMIT = 10;
+
+    private final GeyserImpl geyser;
+
+    public MetricsCommand(GeyserImpl geyser, String name, String description, String permission) {
+        super(name, description, permission, TriState.NOT_SET);
+        this.geyser = geyser;
+    }
+
+    @Override
+    public void execute(CommandContext<GeyserCommandSource> context) {
+        GeyserCommandSource source = context.sender();
+        if (!GeyserMetrics.ENABLED) {
+            source.sendMessage(ChatColor.RED + "Metrics are disabled with the Geyser.DisableMetrics system property.");
+            return;
+        }
+
+        source.sendMessage(ChatColor.YELLOW + "Slowest translators (total, count, average, p99, max):");
+        for (PacketMetrics metrics : GeyserMetrics.packets().stream().limit(LIMIT).toList()) {
+            LatencyHistogram translation = metrics.translation();
+            source.sendMessage(String.format(" %s%s %s(%s)%s: %s, %d, %s, %s, %s", ChatColor.AQUA, metrics.name(), ChatColor.GRAY,
+                metrics.direction(), ChatColor.RESET, GeyserMetrics.formatNanos(translation.totalNanos()), translation.count(),
+                GeyserMetrics.formatNanos(translation.averageNanos()), GeyserMetrics.formatNanos(translation.percentileNanos(0.99)),
+                GeyserMetrics.formatNanos(translation.maxNanos())));
+        }
+
+        source.sendMessage(ChatColor.YELLOW + "Most sent to Bedrock (bytes, packets):");
+        for (PacketMetrics metrics : GeyserMetrics.sentPackets().stream().limit(LIMIT).toList()) {
+            source.sendMessage(String.format(" %s%s%s: %d, %d", ChatColor.AQUA, metrics.name(), ChatColor.RESET,
+                metrics.sentBytes().sum(), metrics.sentPackets().sum()));
+        }
+
+        List<GeyserSession> sessions = geyser.getSessionManager().getAllSessions().stream()
+            .sorted(Comparator.comparingLong((GeyserSession session) -> session.getMetrics().taskDelay().percentileNanos(0.99)).reversed())
+            .limit(LIMIT)
+            .toList();
+        if (sessions.isEmpty()) {
+            return;
+        }
+        source.sendMessage(ChatColor.YELLOW + "Busiest sessions (queued tasks, p99 task delay, slowest translator):");
+        for (GeyserSession session : sessions) {
+            SessionMetrics metrics = session.getMetrics();
+            List<Map.Entry<Class<?>, Long>> top = metrics.topTranslators(1);
+            String slowest = top.isEmpty() ? "-" : top.get(0).getKey().getSimpleName() + " " + GeyserMetrics.formatNanos(top.get(0).getValue());
+            source.sendMessage(String.format(" %s%s%s: %d, %s, %s", ChatColor.AQUA, session.bedrockUsername(), ChatColor.RESET,
+                metrics.queuedTasks(), GeyserMetrics.formatNanos(metrics.taskDelay().percentileNanos(0.99)), slowest));
+        }
+    }
+}
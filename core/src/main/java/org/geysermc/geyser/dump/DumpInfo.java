@@ -44,6 +44,8 @@ import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.api.GeyserApi;
 import org.geysermc.geyser.api.extension.Extension;
 import org.geysermc.geyser.api.util.MinecraftVersion;
+import org.geysermc.geyser.metrics.GeyserMetrics;
+import org.geysermc.geyser.metrics.PacketMetrics;
 import org.geysermc.geyser.network.GameProtocol;
 import org.geysermc.geyser.pack.ResourcePackHolder;
 import org.geysermc.geyser.registry.BlockRegistries;
@@ -96,6 +98,7 @@ public class DumpInfo {
     private final List<ExtensionInfo> extensionInfo;
     private final List<PackInfo> packInfo;
     private final MappingInfo mappingInfo;
+    private final @Nullable List<MetricsInfo> metricsInfo;
 
     public DumpInfo(GeyserImpl geyser, boolean addLog) {
         this.versionInfo = new VersionInfo();
@@ -171,6 +174,11 @@ public class DumpInfo {
             BlockRegistries.CUSTOM_SKULLS.get().size(),
             Registries.ITEMS.forVersion(GameProtocol.DEFAULT_BEDROCK_PROTOCOL).getCustomIdMappings().size()
         );
+
+        this.metricsInfo = GeyserMetrics.ENABLED ? GeyserMetrics.packets().stream()
+            .limit(20)
+            .map(MetricsInfo::new)
+            .toList() : null;
     }
 
     private JsonElement toGson(ConfigurationNode node) {
@@ -345,4 +353,11 @@ public class DumpInfo {
 
     public record MappingInfo(int customBlocks, int customSkulls, int customItems) {
     }
+
+    public record MetricsInfo(String packet, String direction, long count, long totalNanos, long averageNanos, long p99Nanos, long maxNanos) {
+        MetricsInfo(PacketMetrics metrics) {
+            this(metrics.name(), metrics.direction(), metrics.translation().count(), metrics.translation().totalNanos(),
+                metrics.translation().averageNanos(), metrics.translation().percentileNanos(0.99), metrics.translation().maxNanos());
+        }
+    }
 }
@@ -26,6 +26,8 @@
 package org.geysermc.geyser.entity;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.protocol.bedrock.data.entity.EntityDataMap;
 import org.cloudburstmc.protocol.bedrock.data.entity.EntityDataType;
 
@@ -36,6 +38,18 @@ import java.util.Map;
  */
 public final class GeyserDirtyMetadata {
     private final Map<EntityDataType<?>, Object> metadata = new Object2ObjectLinkedOpenHashMap<>();
+    /**
+     * Everything that has been applied so far, if the entity may have to be spawned again from scratch.
+     */
+    private final @Nullable Map<EntityDataType<?>, Object> applied;
+
+    public GeyserDirtyMetadata() {
+        this(false);
+    }
+
+    public GeyserDirtyMetadata(boolean retainApplied) {
+        this.applied = retainApplied ? new Object2ObjectOpenHashMap<>() : null;
+    }
 
     public <T> void put(EntityDataType<T> entityData, T value) {
         metadata.put(entityData, value);
@@ -46,9 +60,22 @@ public final class GeyserDirtyMetadata {
      */
     public void apply(EntityDataMap map) {
         map.putAll(metadata);
+        if (applied != null) {
+            applied.putAll(metadata);
+        }
         metadata.clear();
     }
 
+    /**
+     * Marks all previously applied metadata as dirty again, so the next {@link #apply(EntityDataMap)} contains the
+     * full state. Values that are already dirty are kept. Does nothing if applied metadata is not retained.
+     */
+    public void markAllDirty() {
+        if (applied != null) {
+            applied.forEach(metadata::putIfAbsent);
+        }
+    }
+
     public boolean hasEntries() {
         return !metadata.isEmpty();
     }
@@ -61,6 +61,7 @@ import org.geysermc.geyser.item.type.Item;
 import org.geysermc.geyser.level.physics.BoundingBox;
 import org.geysermc.geyser.scoreboard.Team;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.EntityVisibilityManager;
 import org.geysermc.geyser.translator.text.MessageTranslator;
 import org.geysermc.geyser.util.EntityUtils;
 import org.geysermc.geyser.util.InteractionResult;
@@ -124,6 +125,12 @@ public class Entity implements GeyserEntity {
      * Indicates if the entity has been initialized and spawned
      */
     protected boolean valid;
+    /**
+     * Indicates if the entity is still tracked but has been despawned on the Bedrock client by the
+     * {@link EntityVisibilityManager}. Its state keeps updating, but no movement is sent.
+     */
+    @Setter(AccessLevel.NONE)
+    protected boolean culled;
 
     /* Metadata about this specific entity */
     @Setter(AccessLevel.NONE)
@@ -141,7 +148,7 @@ public class Entity implements GeyserEntity {
     /**
      * A container to store temporary metadata before it's sent to Bedrock.
      */
-    protected final GeyserDirtyMetadata dirtyMetadata = new GeyserDirtyMetadata();
+    protected final GeyserDirtyMetadata dirtyMetadata = new GeyserDirtyMetadata(EntityVisibilityManager.ENABLED);
     /**
      * The entity flags for the Bedrock entity.
      * These must always be saved - if flags are updated and the other values aren't present, the Bedrock client will
@@ -257,6 +264,27 @@ public class Entity implements GeyserEntity {
         valid = false;
     }
 
+    /**
+     * Despawns the entity on the Bedrock client while keeping it cached, so it can be respawned with its current state.
+     */
+    public void cull() {
+        if (culled) return;
+
+        despawnEntity();
+        culled = true;
+    }
+
+    /**
+     * Spawns a culled entity on the Bedrock client again, including all metadata that has been sent or changed so far.
+     */
+    public void uncull() {
+        if (!culled) return;
+
+        culled = false;
+        dirtyMetadata.markAllDirty();
+        spawnEntity();
+    }
+
     public void moveRelative(double relX, double relY, double relZ, float yaw, float pitch, float headYaw, boolean isOnGround) {
         moveRelativeRaw(relX, relY, relZ, yaw, pitch, headYaw, isOnGround);
     }
@@ -304,7 +332,9 @@ public class Entity implements GeyserEntity {
         if (isOnGround) {
             moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.ON_GROUND);
         }
-        session.sendUpstreamPacket(moveEntityPacket);
+        if (!culled) {
+            session.sendUpstreamPacket(moveEntityPacket);
+        }
     }
 
     public void moveAbsolute(Vector3f position, float yaw, float pitch, boolean isOnGround, boolean teleported) {
@@ -330,7 +360,9 @@ public class Entity implements GeyserEntity {
         moveEntityPacket.setOnGround(isOnGround);
         moveEntityPacket.setTeleported(teleported);
 
-        session.sendUpstreamPacket(moveEntityPacket);
+        if (!culled) {
+            session.sendUpstreamPacket(moveEntityPacket);
+        }
     }
 
     /**
@@ -89,7 +89,9 @@ public class ItemEntity extends ThrowableEntity {
         ItemData item = ItemTranslator.translateToBedrock(session, entityMetadata.getValue());
         if (this.item == null) {
             this.item = item;
-            spawnEntity();
+            if (!culled) {
+                spawnEntity();
+            }
         } else if (item.equals(this.item, false, true, true)) {
             // Don't bother respawning the entity if items are equal
             if (this.item.getCount() != item.getCount()) {
@@ -103,8 +105,10 @@ public class ItemEntity extends ThrowableEntity {
             }
         } else {
             this.item = item;
-            despawnEntity();
-            spawnEntity();
+            if (!culled) {
+                despawnEntity();
+                spawnEntity();
+            }
         }
     }
 
@@ -398,7 +398,7 @@ public class LivingEntity extends Entity implements Tickable {
             clientVehicle.getVehicleComponent().moveRelative(relX, relY, relZ);
         }
 
-        if (shouldLerp() && (relX != 0 || relY != 0 || relZ != 0) && position.distanceSquared(session.getPlayerEntity().position()) < 4096) {
+        if (shouldLerp() && !culled && (relX != 0 || relY != 0 || relZ != 0) && position.distanceSquared(session.getPlayerEntity().position()) < 4096) {
             this.dirtyPitch = pitch != this.pitch;
             this.dirtyYaw = yaw != this.yaw;
             this.dirtyHeadYaw = headYaw != this.headYaw;
@@ -419,7 +419,7 @@ public class LivingEntity extends Entity implements Tickable {
     public void moveAbsolute(Vector3f position, float yaw, float pitch, float headYaw, boolean isOnGround, boolean teleported) {
         // It's vanilla behaviour to lerp if the position is within 64 blocks, however we also check if the position is close enough to the player
         // position to see if it can actually affect anything to save network.
-        if (shouldLerp() && position.distanceSquared(this.position) < 4096 && position.distanceSquared(session.getPlayerEntity().position()) < 4096) {
+        if (shouldLerp() && !culled && position.distanceSquared(this.position) < 4096 && position.distanceSquared(session.getPlayerEntity().position()) < 4096) {
             this.dirtyPitch = this.dirtyYaw = this.dirtyHeadYaw = true;
 
             setYaw(yaw);
@@ -434,6 +434,26 @@ public class LivingEntity extends Entity implements Tickable {
         }
     }
 
+    @Override
+    public void cull() {
+        super.cull();
+        if (this.lerpSteps > 0) {
+            // Nothing left to interpolate on the client
+            this.position = this.lerpPosition;
+            this.lerpSteps = 0;
+        }
+    }
+
+    @Override
+    public void uncull() {
+        if (!culled) return;
+
+        super.uncull();
+        updateArmor();
+        updateMainHand();
+        updateOffHand();
+    }
+
     public boolean shouldLerp() {
         return true;
     }
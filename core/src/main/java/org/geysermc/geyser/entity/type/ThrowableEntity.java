@@ -104,7 +104,7 @@ public class ThrowableEntity extends Entity implements Tickable {
             setHeadYaw(headYaw);
         }
 
-        if (!moveEntityDeltaPacket.getFlags().isEmpty()) {
+        if (!culled && !moveEntityDeltaPacket.getFlags().isEmpty()) {
             session.getQueuedImmediatelyPackets().add(moveEntityDeltaPacket);
         }
     }
@@ -62,7 +62,7 @@ public class SquidEntity extends AgeableWaterEntity implements Tickable {
         dirtyPitch = oldPitch != pitch;
 
         if (getLerpSteps() == 0) {
-            if (dirtyPitch || dirtyYaw) {
+            if (!culled && (dirtyPitch || dirtyYaw)) {
                 MoveEntityDeltaPacket packet = new MoveEntityDeltaPacket();
                 packet.setRuntimeEntityId(geyserId);
 
@@ -157,7 +157,9 @@ public class VillagerEntity extends AbstractMerchantEntity {
         moveEntityPacket.setPosition(Vector3f.from(position.getX() + xOffset, position.getY(), position.getZ() + zOffset));
         moveEntityPacket.setOnGround(isOnGround);
         moveEntityPacket.setTeleported(false);
-        session.sendUpstreamPacket(moveEntityPacket);
+        if (!culled) {
+            session.sendUpstreamPacket(moveEntityPacket);
+        }
     }
 
     public static int getBedrockProfession(int javaProfession) {
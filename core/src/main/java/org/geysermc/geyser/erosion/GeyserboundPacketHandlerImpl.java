@@ -32,17 +32,22 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import lombok.Getter;
 import lombok.Setter;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.nbt.NbtMap;
 import org.cloudburstmc.protocol.bedrock.data.SoundEvent;
 import org.cloudburstmc.protocol.bedrock.packet.LevelSoundEventPacket;
 import org.geysermc.erosion.packet.ErosionPacketHandler;
 import org.geysermc.erosion.packet.ErosionPacketSender;
+import org.geysermc.erosion.packet.backendbound.BackendboundBatchBlockRequestPacket;
+import org.geysermc.erosion.packet.backendbound.BackendboundBlockRequestPacket;
 import org.geysermc.erosion.packet.backendbound.BackendboundInitializePacket;
 import org.geysermc.erosion.packet.backendbound.BackendboundPacket;
 import org.geysermc.erosion.packet.geyserbound.*;
+import org.geysermc.erosion.util.BlockPositionIterator;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.level.block.property.Properties;
 import org.geysermc.geyser.level.block.type.Block;
@@ -55,17 +60,31 @@ import org.geysermc.geyser.translator.level.block.entity.PistonBlockEntity;
 import org.geysermc.geyser.util.BlockEntityUtils;
 import org.geysermc.mcprotocollib.protocol.data.game.level.block.value.PistonValueType;
 
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacketHandler {
+    /**
+     * The largest area, in blocks, that queued async lookups may span to be sent as one batch lookup.
+     */
+    private static final int MAX_COALESCED_LOOKUP_VOLUME = 256;
+
     private final ErosionPacketSender<BackendboundPacket> packetSender;
     @Setter
     private CompletableFuture<Integer> pendingLookup = null;
     @Getter
     private final Int2ObjectMap<CompletableFuture<Integer>> asyncPendingLookups = Int2ObjectMaps.synchronize(new Int2ObjectOpenHashMap<>(4));
-    @Setter
-    private CompletableFuture<int[]> pendingBatchLookup = null;
+    /**
+     * Batch lookups that have been sent, in the order they were sent. These carry no transaction ID, but are answered in order.
+     */
+    private final Queue<CompletableFuture<int[]>> pendingBatchLookups = new ArrayDeque<>();
+    /**
+     * Async lookups that will be sent together once the current task of the event loop has finished.
+     */
+    private final Map<Vector3i, CompletableFuture<Integer>> queuedAsyncLookups = new Object2ObjectOpenHashMap<>();
     @Setter
     private CompletableFuture<Int2ObjectMap<byte[]>> pickBlockLookup = null;
 
@@ -78,8 +97,12 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
 
     @Override
     public void handleBatchBlockId(GeyserboundBatchBlockIdPacket packet) {
-        if (this.pendingBatchLookup != null) {
-            this.pendingBatchLookup.complete(packet.getBlocks());
+        CompletableFuture<int[]> pendingBatchLookup;
+        synchronized (this.pendingBatchLookups) {
+            pendingBatchLookup = this.pendingBatchLookups.poll();
+        }
+        if (pendingBatchLookup != null) {
+            pendingBatchLookup.complete(packet.getBlocks());
         } else {
             session.getGeyser().getLogger().warning("Batch block ID packet received with no future to complete.");
         }
@@ -110,8 +133,12 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
     @Override
     public void handleBlockLookupFail(GeyserboundBlockLookupFailPacket packet) {
         if (packet.getTransactionId() == 0) {
-            if (this.pendingBatchLookup != null) {
-                this.pendingBatchLookup.complete(null);
+            CompletableFuture<int[]> pendingBatchLookup;
+            synchronized (this.pendingBatchLookups) {
+                pendingBatchLookup = this.pendingBatchLookups.poll();
+            }
+            if (pendingBatchLookup != null) {
+                pendingBatchLookup.complete(null);
                 return;
             }
         }
@@ -196,14 +223,105 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
         this.packetSender.sendPacket(packet);
     }
 
+    /**
+     * Requests all blocks in the area of the iterator. Any amount of these can be in flight at once.
+     *
+     * @return the Java block states in iteration order, or null if the lookup failed
+     */
+    public CompletableFuture<int @Nullable []> requestBlocks(BlockPositionIterator iter) {
+        CompletableFuture<int[]> future = new CompletableFuture<>();
+        synchronized (this.pendingBatchLookups) {
+            // Must be sent in the same order as queued
+            this.pendingBatchLookups.add(future);
+            sendPacket(new BackendboundBatchBlockRequestPacket(iter));
+        }
+        return future;
+    }
+
+    /**
+     * Requests a single block. Lookups requested during the same task of the event loop are sent together.
+     */
+    public CompletableFuture<Integer> requestBlockAsync(Vector3i position) {
+        CompletableFuture<Integer> future;
+        boolean first;
+        synchronized (this.queuedAsyncLookups) {
+            first = this.queuedAsyncLookups.isEmpty();
+            future = this.queuedAsyncLookups.computeIfAbsent(position, $ -> new CompletableFuture<>());
+        }
+        if (first) {
+            session.executeInEventLoop(this::sendQueuedAsyncLookups);
+        }
+        return future;
+    }
+
+    private void sendQueuedAsyncLookups() {
+        Map<Vector3i, CompletableFuture<Integer>> lookups;
+        synchronized (this.queuedAsyncLookups) {
+            if (this.queuedAsyncLookups.isEmpty()) {
+                return;
+            }
+            lookups = new Object2ObjectOpenHashMap<>(this.queuedAsyncLookups);
+            this.queuedAsyncLookups.clear();
+        }
+
+        if (session.isClosed()) {
+            lookups.values().forEach(future -> future.completeExceptionally(new ErosionCancellationException()));
+            return;
+        }
+
+        if (lookups.size() > 1) {
+            int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+            int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+            for (Vector3i position : lookups.keySet()) {
+                minX = Math.min(minX, position.getX());
+                minY = Math.min(minY, position.getY());
+                minZ = Math.min(minZ, position.getZ());
+                maxX = Math.max(maxX, position.getX());
+                maxY = Math.max(maxY, position.getY());
+                maxZ = Math.max(maxZ, position.getZ());
+            }
+
+            long volume = (maxX - minX + 1L) * (maxY - minY + 1L) * (maxZ - minZ + 1L);
+            if (volume <= MAX_COALESCED_LOOKUP_VOLUME) {
+                // Close enough together that fetching the whole area at once is cheaper than a round trip per block
+                BlockPositionIterator iter = BlockPositionIterator.fromMinMax(minX, minY, minZ, maxX, maxY, maxZ);
+                requestBlocks(iter).whenComplete((blocks, throwable) -> {
+                    if (throwable != null) {
+                        lookups.values().forEach(future -> future.completeExceptionally(throwable));
+                        return;
+                    }
+                    // The request has been written using the same iterator by now
+                    for (iter.reset(); iter.hasNext(); iter.next()) {
+                        CompletableFuture<Integer> future = lookups.get(Vector3i.from(iter.getX(), iter.getY(), iter.getZ()));
+                        if (future != null) {
+                            future.complete(blocks == null ? Block.JAVA_AIR_ID : blocks[iter.getIteration()]);
+                        }
+                    }
+                });
+                return;
+            }
+        }
+
+        for (Map.Entry<Vector3i, CompletableFuture<Integer>> entry : lookups.entrySet()) {
+            int transactionId = getNextTransactionId();
+            this.asyncPendingLookups.put(transactionId, entry.getValue());
+            sendPacket(new BackendboundBlockRequestPacket(transactionId, entry.getKey()));
+        }
+    }
+
     public void close() {
         this.packetSender.close();
 
         if (pendingLookup != null) {
             pendingLookup.completeExceptionally(new ErosionCancellationException());
         }
-        if (pendingBatchLookup != null) {
-            pendingBatchLookup.completeExceptionally(new ErosionCancellationException());
+        synchronized (pendingBatchLookups) {
+            pendingBatchLookups.forEach(future -> future.completeExceptionally(new ErosionCancellationException()));
+            pendingBatchLookups.clear();
+        }
+        synchronized (queuedAsyncLookups) {
+            queuedAsyncLookups.values().forEach(future -> future.completeExceptionally(new ErosionCancellationException()));
+            queuedAsyncLookups.clear();
         }
         if (pickBlockLookup != null) {
             pickBlockLookup.completeExceptionally(new ErosionCancellationException());
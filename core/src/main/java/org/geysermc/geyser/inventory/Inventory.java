@@ -29,8 +29,10 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.protocol.bedrock.data.definitions.ItemDefinition;
+import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.inventory.click.ClickPlan;
 import org.geysermc.geyser.item.Items;
@@ -101,6 +103,14 @@ public abstract class Inventory {
     @Setter
     private boolean displayed;
 
+    /**
+     * The items last sent to the Bedrock client for the container slots of this inventory, indexed by Bedrock slot.
+     * Null if unknown, in which case all items must be sent again.
+     */
+    @Getter
+    @Setter
+    private ItemData @Nullable [] bedrockContents;
+
     protected Inventory(GeyserSession session, int id, int size, ContainerType containerType) {
         this(session, "Inventory", id, size, containerType);
     }
@@ -89,6 +89,8 @@ public final class InventoryHolder<T extends Inventory> {
         inventory.setDisplayed(existingInventory.isDisplayed());
         inventory.setHolderPosition(existingInventory.getHolderPosition());
         inventory.setHolderId(existingInventory.getHolderId());
+        // The Bedrock client still shows the items of the existing inventory
+        inventory.setBedrockContents(existingInventory.getBedrockContents());
         this.markCurrent();
     }
 
@@ -109,6 +111,7 @@ public final class InventoryHolder<T extends Inventory> {
     }
 
     public void openInventory() {
+        this.inventory.setBedrockContents(null);
         this.translator.openInventory(session, inventory);
         this.pending = false;
         this.inventory.setDisplayed(true);
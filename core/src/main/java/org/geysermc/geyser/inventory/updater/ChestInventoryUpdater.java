@@ -27,16 +27,12 @@ package org.geysermc.geyser.inventory.updater;
 
 import lombok.AllArgsConstructor;
 import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
-import org.cloudburstmc.protocol.bedrock.packet.InventoryContentPacket;
-import org.cloudburstmc.protocol.bedrock.packet.InventorySlotPacket;
 import org.geysermc.geyser.inventory.Inventory;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.translator.inventory.InventoryTranslator;
 import org.geysermc.geyser.util.InventoryUtils;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.function.IntFunction;
 
 @AllArgsConstructor
@@ -49,19 +45,16 @@ public class ChestInventoryUpdater extends InventoryUpdater {
     public void updateInventory(InventoryTranslator<?> translator, GeyserSession session, Inventory inventory) {
         super.updateInventory(translator, session, inventory);
 
-        List<ItemData> bedrockItems = new ArrayList<>(paddedSize);
+        ItemData[] bedrockItems = new ItemData[paddedSize];
         for (int i = 0; i < paddedSize; i++) {
             if (i < translator.size) {
-                bedrockItems.add(inventory.getItem(i).getItemData(session));
+                bedrockItems[i] = inventory.getItem(i).getItemData(session);
             } else {
-                bedrockItems.add(UNUSUABLE_SPACE_BLOCK.apply(session.getUpstream().getProtocolVersion()));
+                bedrockItems[i] = UNUSUABLE_SPACE_BLOCK.apply(session.getUpstream().getProtocolVersion());
             }
         }
 
-        InventoryContentPacket contentPacket = new InventoryContentPacket();
-        contentPacket.setContainerId(inventory.getBedrockId());
-        contentPacket.setContents(bedrockItems);
-        session.sendUpstreamPacket(contentPacket);
+        sendContents(session, inventory, bedrockItems);
     }
 
     @Override
@@ -69,11 +62,7 @@ public class ChestInventoryUpdater extends InventoryUpdater {
         if (super.updateSlot(translator, session, inventory, javaSlot))
             return true;
 
-        InventorySlotPacket slotPacket = new InventorySlotPacket();
-        slotPacket.setContainerId(inventory.getBedrockId());
-        slotPacket.setSlot(translator.javaSlotToBedrock(javaSlot));
-        slotPacket.setItem(inventory.getItem(javaSlot).getItemData(session));
-        session.sendUpstreamPacket(slotPacket);
+        sendSlot(session, inventory, translator.javaSlotToBedrock(javaSlot), inventory.getItem(javaSlot).getItemData(session));
         return true;
     }
 }
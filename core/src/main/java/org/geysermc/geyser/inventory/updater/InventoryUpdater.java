@@ -59,4 +59,57 @@ public class InventoryUpdater {
         }
         return false;
     }
+
+    /**
+     * Sends the container slots of an inventory. If most slots are unchanged since the items were last sent,
+     * only the changed slots are sent - menu plugins often resend entire inventories when a single item changes.
+     */
+    protected static void sendContents(GeyserSession session, Inventory inventory, ItemData[] bedrockItems) {
+        ItemData[] lastSent = inventory.getBedrockContents();
+        // Copied, as the sent packet may still be queued when single slots are updated
+        inventory.setBedrockContents(bedrockItems.clone());
+
+        if (lastSent != null && lastSent.length == bedrockItems.length) {
+            int changed = 0;
+            for (int i = 0; i < bedrockItems.length; i++) {
+                if (!bedrockItems[i].equals(lastSent[i])) {
+                    changed++;
+                }
+            }
+
+            if (changed * 2 <= bedrockItems.length) {
+                for (int i = 0; i < bedrockItems.length; i++) {
+                    if (!bedrockItems[i].equals(lastSent[i])) {
+                        InventorySlotPacket slotPacket = new InventorySlotPacket();
+                        slotPacket.setContainerId(inventory.getBedrockId());
+                        slotPacket.setSlot(i);
+                        slotPacket.setItem(bedrockItems[i]);
+                        session.sendUpstreamPacket(slotPacket);
+                    }
+                }
+                return;
+            }
+        }
+
+        InventoryContentPacket contentPacket = new InventoryContentPacket();
+        contentPacket.setContainerId(inventory.getBedrockId());
+        contentPacket.setContents(Arrays.asList(bedrockItems));
+        session.sendUpstreamPacket(contentPacket);
+    }
+
+    /**
+     * Sends a single container slot of an inventory, keeping track of it for {@link #sendContents(GeyserSession, Inventory, ItemData[])}.
+     */
+    protected static void sendSlot(GeyserSession session, Inventory inventory, int bedrockSlot, ItemData item) {
+        ItemData[] lastSent = inventory.getBedrockContents();
+        if (lastSent != null && bedrockSlot < lastSent.length) {
+            lastSent[bedrockSlot] = item;
+        }
+
+        InventorySlotPacket slotPacket = new InventorySlotPacket();
+        slotPacket.setContainerId(inventory.getBedrockId());
+        slotPacket.setSlot(bedrockSlot);
+        slotPacket.setItem(item);
+        session.sendUpstreamPacket(slotPacket);
+    }
 }
@@ -25,6 +25,7 @@
 
 package org.geysermc.geyser.item.hashing;
 
+import com.google.common.collect.MapMaker;
 import com.google.common.hash.HashCode;
 import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.kyori.adventure.text.Component;
@@ -99,6 +100,11 @@ import java.util.function.Function;
 public class DataComponentHashers {
     private static final Set<DataComponentType<?>> NOT_HASHED = ReferenceOpenHashSet.of(DataComponentTypes.CREATIVE_SLOT_LOCK, DataComponentTypes.MAP_POST_PROCESSING);
     private static final Map<DataComponentType<?>, MinecraftHasher<?>> hashers = new HashMap<>();
+    /**
+     * Hashes of component values, compared by identity. Decoded components aren't modified - changing a component on an item
+     * replaces it - and the same components are hashed over and over again when clicking around in an inventory.
+     */
+    private static final Map<DataComponent<?, ?>, CachedHash> HASH_CACHE = new MapMaker().weakKeys().makeMap();
 
     static {
         register(DataComponentTypes.CUSTOM_DATA, MinecraftHasher.NBT_MAP);
@@ -371,12 +377,25 @@ public class DataComponentHashers {
             } else if (component.getValue().getValue() == null) {
                 removals.add(component.getKey());
             } else {
-                hashedAdditions.put(component.getKey(), hash(session, (DataComponentType) component.getKey(), component.getValue().getValue()).asInt());
+                hashedAdditions.put(component.getKey(), cachedHash(session, component.getKey(), component.getValue()));
             }
         }
         return new HashedStack(stack.getId(), stack.getAmount(), hashedAdditions, removals);
     }
 
+    private static int cachedHash(GeyserSession session, DataComponentType<?> type, DataComponent<?, ?> component) {
+        long generation = session.getRegistryCache().getGeneration();
+        CachedHash cached = HASH_CACHE.get(component);
+        // Registry entries are hashed by their keys, which depend on the registries of the session
+        if (cached != null && cached.registryGeneration() == generation) {
+            return cached.hash();
+        }
+
+        int hash = hash(session, (DataComponentType) type, component.getValue()).asInt();
+        HASH_CACHE.put(component, new CachedHash(generation, hash));
+        return hash;
+    }
+
     // TODO better testing
     public static void testHashing(GeyserSession session) {
         // Hashed values generated by vanilla Java
@@ -575,4 +594,10 @@ public class DataComponentHashers {
         int got = hash(session, component, value).asInt();
         System.out.println("Testing hashing component " + component.getKey() + ", expected " + expected + ", got " + got + " " + (got == expected ? "PASS" : "ERROR"));
     }
+
+    /**
+     * Holds the registry generation instead of the registry cache, so a cached hash doesn't keep a session alive.
+     */
+    private record CachedHash(long registryGeneration, int hash) {
+    }
 }
@@ -28,7 +28,6 @@ package org.geysermc.geyser.level;
 import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.cloudburstmc.math.vector.Vector3i;
-import org.geysermc.erosion.packet.backendbound.BackendboundBatchBlockRequestPacket;
 import org.geysermc.erosion.packet.backendbound.BackendboundBlockRequestPacket;
 import org.geysermc.erosion.util.BlockPositionIterator;
 import org.geysermc.geyser.erosion.ErosionCancellationException;
@@ -62,11 +61,7 @@ public class GeyserWorldManager extends WorldManager {
         } else if (session.isClosed()) {
             return CompletableFuture.failedFuture(new ErosionCancellationException());
         }
-        CompletableFuture<Integer> future = new CompletableFuture<>(); // Boxes
-        int transactionId = erosionHandler.getNextTransactionId();
-        erosionHandler.getAsyncPendingLookups().put(transactionId, future);
-        erosionHandler.sendPacket(new BackendboundBlockRequestPacket(transactionId, Vector3i.from(x, y, z)));
-        return future;
+        return erosionHandler.requestBlockAsync(Vector3i.from(x, y, z));
     }
 
     @Override
@@ -77,10 +72,7 @@ public class GeyserWorldManager extends WorldManager {
         } else if (session.isClosed()) {
             throw new ErosionCancellationException();
         }
-        CompletableFuture<int[]> future = new CompletableFuture<>();
-        erosionHandler.setPendingBatchLookup(future);
-        erosionHandler.sendPacket(new BackendboundBatchBlockRequestPacket(iter));
-        return future.join();
+        return erosionHandler.requestBlocks(iter).join();
     }
 
     @Override
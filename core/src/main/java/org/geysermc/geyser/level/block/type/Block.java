@@ -31,8 +31,10 @@ import net.kyori.adventure.key.Key;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.math.vector.Vector3i;
+import org.cloudburstmc.protocol.bedrock.data.BlockChangeEntry;
 import org.cloudburstmc.protocol.bedrock.data.definitions.BlockDefinition;
 import org.cloudburstmc.protocol.bedrock.packet.UpdateBlockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateSubChunkBlocksPacket;
 import org.geysermc.geyser.item.type.Item;
 import org.geysermc.geyser.level.block.Blocks;
 import org.geysermc.geyser.level.block.property.BasicEnumProperty;
@@ -56,6 +58,10 @@ import java.util.stream.Stream;
 
 public class Block {
     public static final int JAVA_AIR_ID = 0;
+    /**
+     * The flags of a batched layer 0 block update, matching {@link UpdateBlockPacket.Flag#NEIGHBORS} and {@link UpdateBlockPacket.Flag#NETWORK}
+     */
+    private static final int BATCHED_UPDATE_FLAGS = 0b11;
 
     private final Key javaIdentifier;
     /**
@@ -123,6 +129,28 @@ public class Block {
         }
     }
 
+    /**
+     * Adds the block update to the given packet instead of sending it by itself, if this block needs no special handling
+     * when updated.
+     *
+     * @return false if {@link #updateBlock(GeyserSession, BlockState, Vector3i)} must be used instead
+     */
+    public boolean addBlockUpdate(GeyserSession session, BlockState state, Vector3i position, UpdateSubChunkBlocksPacket packet) {
+        if (!session.getBlockMappings().getExtendedCollisionBoxes().isEmpty()) {
+            // Neighbouring blocks may need to be updated as well
+            return false;
+        }
+
+        checkForEmptySkull(session, state, position);
+
+        BlockDefinition definition = session.getBlockMappings().getBedrockBlock(state);
+        packet.getStandardBlocks().add(new BlockChangeEntry(position, definition, BATCHED_UPDATE_FLAGS, -1, BlockChangeEntry.MessageType.NONE));
+        BlockDefinition layer1Definition = BlockRegistries.WATERLOGGED.get().get(state.javaId()) ?
+            session.getBlockMappings().getBedrockWater() : session.getBlockMappings().getBedrockAir();
+        packet.getExtraBlocks().add(new BlockChangeEntry(position, layer1Definition, 0, -1, BlockChangeEntry.MessageType.NONE));
+        return true;
+    }
+
     protected void sendBlockUpdatePacket(GeyserSession session, BlockState state, BlockDefinition definition, Vector3i position) {
         UpdateBlockPacket updateBlockPacket = new UpdateBlockPacket();
         updateBlockPacket.setDataLayer(0);
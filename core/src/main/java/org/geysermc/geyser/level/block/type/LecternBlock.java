@@ -29,6 +29,7 @@ import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.nbt.NbtMap;
 import org.cloudburstmc.nbt.NbtMapBuilder;
 import org.cloudburstmc.nbt.NbtType;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateSubChunkBlocksPacket;
 import org.geysermc.geyser.level.block.property.Properties;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.translator.level.block.entity.BedrockChunkWantsBlockEntityTag;
@@ -54,6 +55,11 @@ public class LecternBlock extends Block implements BedrockChunkWantsBlockEntityT
         BlockEntityUtils.updateBlockEntity(session, getBaseLecternTag(position, hasBook), position);
     }
 
+    @Override
+    public boolean addBlockUpdate(GeyserSession session, BlockState state, Vector3i position, UpdateSubChunkBlocksPacket packet) {
+        return false;
+    }
+
     public static NbtMap getBaseLecternTag(Vector3i position, boolean hasBook) {
         if (hasBook) {
             return getBaseLecternTag(position, 1)
@@ -27,6 +27,7 @@ package org.geysermc.geyser.level.block.type;
 
 import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.protocol.bedrock.data.definitions.BlockDefinition;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateSubChunkBlocksPacket;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.cache.SkullCache;
 
@@ -50,6 +51,12 @@ public class SkullBlock extends Block {
         super.sendBlockUpdatePacket(session, state, definition, position);
     }
 
+    @Override
+    public boolean addBlockUpdate(GeyserSession session, BlockState state, Vector3i position, UpdateSubChunkBlocksPacket packet) {
+        // Player skulls may be custom blocks
+        return this.type != Type.PLAYER && super.addBlockUpdate(session, state, position, packet);
+    }
+
     @Override
     protected void checkForEmptySkull(GeyserSession session, BlockState state, Vector3i position) {
         // It's not an empty skull.
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.serverbound.level.ServerboundChunkBatchReceivedPacket;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces chunk sending based on how quickly the Bedrock client actually receives chunks. This is modelled after the
+ * Java client's ChunkBatchSizeCalculator.
+ * <p>
+ * The Java client measures from the start of a batch until it has processed the last chunk. We measure with two
+ * latency packets: one sent when the batch starts, and one sent after the last translated chunk. A round trip to the
+ * Bedrock client has a fixed cost (network latency, waiting for the next flush, the client's frame time) that has
+ * nothing to do with the chunks, so only the time between the two acknowledgements is charged to the chunks. That
+ * time includes our translation time, any backlog in the outbound queue, and the client's own processing. The Java
+ * server is only told that the batch was received once the client has acknowledged it, so a slow client also
+ * throttles how many batches are in flight.
+ */
+public class ChunkBatchSizeCalculator {
+    private static final long MAGIC_CHUNK_BATCH_TIMESTAMP = -1357924680L;
+    /**
+     * If the client hasn't answered after this long, acknowledge the batch anyway so chunk sending never stalls.
+     */
+    private static final long MAX_ACKNOWLEDGEMENT_DELAY_MILLIS = 5000;
+    private static final int MAX_OLD_SAMPLES_WEIGHT = 49;
+    private static final int CLAMP_COEFFICIENT = 3;
+    /**
+     * The time budget the Java client spends on chunks per tick.
+     */
+    private static final double NANOS_PER_TICK_BUDGET = 7_000_000.0;
+
+    private final GeyserSession session;
+
+    private double aggregatedNanosPerChunk = 2_000_000.0;
+    private int oldSamplesWeight = 1;
+    private Batch currentBatch;
+
+    public ChunkBatchSizeCalculator(GeyserSession session) {
+        this.session = session;
+    }
+
+    public void onBatchStart() {
+        Batch batch = new Batch();
+        this.currentBatch = batch;
+        // Sent before any chunk of the batch, so its round trip is the baseline without chunks
+        session.getUpstream().runAfterWorldPackets(() ->
+            session.sendNetworkLatencyStackPacket(MAGIC_CHUNK_BATCH_TIMESTAMP, true, () -> batch.baselineTime = System.nanoTime()));
+    }
+
+    public void onBatchFinished(int batchSize) {
+        Batch batch = this.currentBatch;
+        this.currentBatch = null;
+        if (batch == null) {
+            batch = new Batch();
+        }
+        batch.size = batchSize;
+        Batch finishedBatch = batch;
+        // Only send the latency packet once the chunks before it are on their way, or it would be answered too early
+        session.getUpstream().runAfterWorldPackets(() ->
+            session.sendNetworkLatencyStackPacket(MAGIC_CHUNK_BATCH_TIMESTAMP, true, () -> acknowledge(finishedBatch, true)));
+        session.scheduleInEventLoop(() -> acknowledge(finishedBatch, false), MAX_ACKNOWLEDGEMENT_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void acknowledge(Batch batch, boolean measured) {
+        if (batch.acknowledged) {
+            return;
+        }
+        batch.acknowledged = true;
+
+        // Without a baseline (no batch start, or it was never answered) the fixed round trip cost can't be told apart
+        if (measured && batch.size > 0 && batch.baselineTime != 0) {
+            long elapsed = Math.max(System.nanoTime() - batch.baselineTime, 0);
+            onSample((double) elapsed / batch.size);
+        }
+        session.sendDownstreamGamePacket(new ServerboundChunkBatchReceivedPacket(getDesiredChunksPerTick()));
+    }
+
+    private void onSample(double nanosPerChunk) {
+        double clamped = Math.max(this.aggregatedNanosPerChunk / CLAMP_COEFFICIENT, Math.min(nanosPerChunk, this.aggregatedNanosPerChunk * CLAMP_COEFFICIENT));
+        this.aggregatedNanosPerChunk = (this.aggregatedNanosPerChunk * this.oldSamplesWeight + clamped) / (this.oldSamplesWeight + 1);
+        this.oldSamplesWeight = Math.min(MAX_OLD_SAMPLES_WEIGHT, this.oldSamplesWeight + 1);
+    }
+
+    /**
+     * @return the number of chunks the Java server should send per tick. The server clamps this between 0.01 and 64.
+     */
+    public float getDesiredChunksPerTick() {
+        return (float) (NANOS_PER_TICK_BUDGET / this.aggregatedNanosPerChunk);
+    }
+
+    private static final class Batch {
+        /**
+         * When the latency packet sent at the start of the batch was answered, or 0 if it hasn't been yet.
+         */
+        private long baselineTime;
+        private int size;
+        private boolean acknowledged;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.registry.type.BlockMappings;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.ChunkBlobCache;
+import org.geysermc.geyser.session.cache.registry.JavaRegistries;
+
+import java.util.Arrays;
+
+/**
+ * A cache shared between all sessions, holding encoded Bedrock chunk columns keyed on the raw Java chunk data they were
+ * translated from. On busy servers, many players are sent the exact same chunks (think lobbies and spawn areas), which
+ * would otherwise be re-translated for every single one of them.
+ * <p>
+ * Keys hold the raw chunk data and the biome mappings, and a hit is only used if both are equal, not just their hashes.
+ * A hash collision must never send a player the translation of another chunk.
+ */
+public final class ChunkTranslationCache {
+    /**
+     * The maximum size of all cached chunk columns, in megabytes. A value of 0 disables the cache.
+     */
+    private static final long MAXIMUM_SIZE = Long.getLong("Geyser.ChunkTranslationCacheSize", 32L) * 1024 * 1024;
+
+    public static final boolean ENABLED = MAXIMUM_SIZE > 0;
+
+    private static final Cache<Key, EncodedChunkColumn> CACHE = CacheBuilder.newBuilder()
+        .maximumWeight(Math.max(MAXIMUM_SIZE, 0))
+        .weigher((Key key, EncodedChunkColumn column) -> column.size() + key.chunkData.length)
+        .build();
+
+    private ChunkTranslationCache() {
+    }
+
+    /**
+     * Creates the key for the given raw Java chunk data, taking into account everything of the session
+     * that affects how the chunk is translated. The chunk data must not be modified afterwards.
+     */
+    public static Key createKey(GeyserSession session, byte[] chunkData) {
+        int[] biomes = session.getRegistryCache().registry(JavaRegistries.BIOME).values().stream().mapToInt(Integer::intValue).toArray();
+        return new Key(ChunkBlobCache.xxHash64(chunkData), chunkData, session.getBlockMappings(), biomes,
+            session.getChunkCache().getChunkMinY(), session.getChunkCache().getChunkHeightY(),
+            session.getBedrockDimension().minY(), session.getBedrockDimension().height());
+    }
+
+    public static @Nullable EncodedChunkColumn get(Key key) {
+        return CACHE.getIfPresent(key);
+    }
+
+    public static void put(Key key, EncodedChunkColumn column) {
+        CACHE.put(key, column);
+    }
+
+    public static final class Key {
+        private final long hash;
+        private final byte[] chunkData;
+        /**
+         * Compared by identity, as block mappings are only created once per Bedrock version
+         */
+        private final BlockMappings blockMappings;
+        /**
+         * The Bedrock biome ID of each Java biome network ID
+         */
+        private final int[] biomes;
+        private final int javaMinSectionY;
+        private final int javaSectionCount;
+        private final int bedrockMinY;
+        private final int bedrockHeight;
+
+        private Key(long hash, byte[] chunkData, BlockMappings blockMappings, int[] biomes, int javaMinSectionY, int javaSectionCount, int bedrockMinY, int bedrockHeight) {
+            this.hash = hash;
+            this.chunkData = chunkData;
+            this.blockMappings = blockMappings;
+            this.biomes = biomes;
+            this.javaMinSectionY = javaMinSectionY;
+            this.javaSectionCount = javaSectionCount;
+            this.bedrockMinY = bedrockMinY;
+            this.bedrockHeight = bedrockHeight;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            // The chunk data last, as it's by far the most expensive to compare
+            return hash == key.hash && blockMappings == key.blockMappings && javaMinSectionY == key.javaMinSectionY
+                && javaSectionCount == key.javaSectionCount && bedrockMinY == key.bedrockMinY && bedrockHeight == key.bedrockHeight
+                && Arrays.equals(biomes, key.biomes) && Arrays.equals(chunkData, key.chunkData);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(hash);
+        }
+    }
+}
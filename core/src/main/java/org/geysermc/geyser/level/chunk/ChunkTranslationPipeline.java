@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.registry.Registries;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.mcprotocollib.network.packet.Packet;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundLoginPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundRespawnPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundStartConfigurationPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundLevelChunkWithLightPacket;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Translates chunks on a worker pool shared between all sessions, so a burst of chunks does not hold up the session's
+ * event loop. The translated chunks are applied back on the event loop in the order they were received.
+ * <p>
+ * While any chunk is being translated, all other Java packets are deferred until the chunks before them are applied,
+ * so the Bedrock client sees the exact same order of events as before.
+ */
+public class ChunkTranslationPipeline {
+    /**
+     * Whether chunks should be translated off the session's event loop.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("Geyser.OffThreadChunkTranslation");
+
+    private static final int THREADS = Integer.getInteger("Geyser.ChunkTranslationThreads",
+        Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+    private static ExecutorService executor;
+
+    private final GeyserSession session;
+    /**
+     * Pending chunks and deferred packets, in the order they were received. Only accessed on the session's event loop.
+     */
+    private final Deque<Entry> queue = new ArrayDeque<>();
+    /**
+     * The amount of deferred packets in the queue that change how chunks are translated.
+     */
+    private int queuedBarriers;
+
+    public ChunkTranslationPipeline(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * @return true if chunks should be translated off the event loop for this session
+     */
+    public boolean isActive() {
+        return ENABLED && !session.isClosed();
+    }
+
+    /**
+     * Defers the given packet if any chunk before it has not been applied yet.
+     *
+     * @return true if the packet was deferred and should not be translated now
+     */
+    public boolean deferIfPending(Packet packet) {
+        if (queue.isEmpty() || packet instanceof ClientboundLevelChunkWithLightPacket) {
+            return false;
+        }
+
+        boolean barrier = isBarrier(packet);
+        if (barrier) {
+            queuedBarriers++;
+        }
+        queue.addLast(new DeferredPacket(packet, barrier));
+        return true;
+    }
+
+    /**
+     * Queues a chunk for translation. The result of {@code translation} is passed to {@code applier} on the event loop once
+     * every chunk and packet received before it has been applied.
+     * <p>
+     * {@code translation} may only read state of the session that can't change while packets are deferred.
+     */
+    public <T> void submit(Supplier<T> translation, Consumer<T> applier) {
+        PendingChunk<T> chunk = new PendingChunk<>(translation, applier);
+        queue.addLast(chunk);
+        if (queuedBarriers == 0) {
+            // Nothing before this chunk changes how it is translated
+            start(chunk);
+        }
+    }
+
+    private void start(PendingChunk<?> chunk) {
+        chunk.future = CompletableFuture.supplyAsync(chunk.translation, executor());
+        chunk.future.whenComplete((result, throwable) -> session.executeInEventLoop(this::drain));
+    }
+
+    /**
+     * Applies all finished chunks and deferred packets at the head of the queue.
+     */
+    private void drain() {
+        while (!queue.isEmpty()) {
+            if (session.isClosed()) {
+                queue.clear();
+                return;
+            }
+
+            Entry head = queue.peekFirst();
+            if (head instanceof PendingChunk<?> chunk) {
+                if (chunk.future == null) {
+                    start(chunk);
+                }
+                if (!chunk.future.isDone()) {
+                    return;
+                }
+                queue.pollFirst();
+                chunk.apply(session);
+            } else if (head instanceof DeferredPacket deferred) {
+                queue.pollFirst();
+                Registries.JAVA_PACKET_TRANSLATORS.translate(deferred.packet.getClass(), deferred.packet, session, true);
+
+                if (deferred.barrier) {
+                    queuedBarriers--;
+                    // Start translating the chunks that were waiting on this packet
+                    for (Entry entry : queue) {
+                        if (entry instanceof DeferredPacket next && next.barrier) {
+                            break;
+                        }
+                        if (entry instanceof PendingChunk<?> pending && pending.future == null) {
+                            start(pending);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if this packet changes the state that chunks are translated with, such as the dimension or registries
+     */
+    private static boolean isBarrier(Packet packet) {
+        return packet instanceof ClientboundLoginPacket || packet instanceof ClientboundRespawnPacket
+            || packet instanceof ClientboundStartConfigurationPacket;
+    }
+
+    private static synchronized ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(THREADS, new DefaultThreadFactory("Geyser Chunk Translation", true));
+        }
+        return executor;
+    }
+
+    private sealed interface Entry permits PendingChunk, DeferredPacket {
+    }
+
+    private record DeferredPacket(Packet packet, boolean barrier) implements Entry {
+    }
+
+    private static final class PendingChunk<T> implements Entry {
+        private final Supplier<T> translation;
+        private final Consumer<T> applier;
+        private CompletableFuture<T> future;
+
+        private PendingChunk(Supplier<T> translation, Consumer<T> applier) {
+            this.translation = translation;
+            this.applier = applier;
+        }
+
+        private void apply(GeyserSession session) {
+            try {
+                applier.accept(future.join());
+            } catch (Throwable t) {
+                GeyserImpl.getInstance().getLogger().error("Failed to translate chunk for " + session.bedrockUsername(), t);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import org.cloudburstmc.math.vector.Vector3i;
+import org.geysermc.geyser.level.block.type.BlockState;
+
+import java.util.List;
+
+/**
+ * The part of a translated chunk column that does not depend on the session it is sent to, and can therefore be shared.
+ *
+ * @param sections the encoded Bedrock sub-chunks, up to and including the highest non-empty one
+ * @param biomes the encoded Bedrock biome data of the whole column
+ * @param bedrockOnlyBlockEntities blocks that are only block entities on Bedrock, with positions relative to the chunk
+ */
+public record EncodedChunkColumn(byte[][] sections, byte[] biomes, List<BedrockOnlyBlockEntity> bedrockOnlyBlockEntities) {
+
+    /**
+     * @return the amount of bytes held by the encoded sub-chunks and biomes
+     */
+    public int size() {
+        int size = biomes.length;
+        for (byte[] section : sections) {
+            size += section.length;
+        }
+        return size;
+    }
+
+    /**
+     * @param position the position of the block; X and Z are relative to the chunk
+     * @param state the Java block state of the block
+     */
+    public record BedrockOnlyBlockEntity(Vector3i position, BlockState state) {
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.metrics;
+
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Always-on counters of how long translators take and how much is sent to Bedrock clients, by packet type.
+ * Shown with {@code /geyser metrics}, included in dumps, and optionally served in the Prometheus text format
+ * by {@link MetricsHttpServer}.
+ * <p>
+ * Can be turned off with the {@code Geyser.DisableMetrics} system property.
+ */
+public final class GeyserMetrics {
+    public static final boolean ENABLED = !Boolean.getBoolean("Geyser.DisableMetrics");
+
+    private static final Map<Class<?>, PacketMetrics> PACKETS = new ConcurrentHashMap<>();
+
+    private GeyserMetrics() {
+    }
+
+    public static PacketMetrics packet(Class<?> packetClass) {
+        PacketMetrics metrics = PACKETS.get(packetClass);
+        if (metrics == null) {
+            metrics = PACKETS.computeIfAbsent(packetClass, PacketMetrics::new);
+        }
+        return metrics;
+    }
+
+    public static void translated(GeyserSession session, Class<?> packetClass, long nanos) {
+        packet(packetClass).translation().record(nanos);
+        session.getMetrics().translated(packetClass, nanos);
+    }
+
+    /**
+     * @return all packet types with metrics, the ones that took the longest to translate in total first
+     */
+    public static List<PacketMetrics> packets() {
+        return PACKETS.values().stream()
+            .sorted(Comparator.comparingLong((PacketMetrics metrics) -> metrics.translation().totalNanos()).reversed())
+            .toList();
+    }
+
+    /**
+     * @return all packet types that were sent to Bedrock clients, the ones with the most bytes sent first
+     */
+    public static List<PacketMetrics> sentPackets() {
+        return PACKETS.values().stream()
+            .filter(metrics -> metrics.sentPackets().sum() > 0)
+            .sorted(Comparator.comparingLong((PacketMetrics metrics) -> metrics.sentBytes().sum()).reversed())
+            .toList();
+    }
+
+    /**
+     * Writes all metrics in the Prometheus text exposition format.
+     */
+    public static String toPrometheus(Collection<GeyserSession> sessions) {
+        StringBuilder builder = new StringBuilder();
+        List<PacketMetrics> packets = packets();
+
+        builder.append("# HELP geyser_translation_seconds Time spent translating packets.\n");
+        builder.append("# TYPE geyser_translation_seconds histogram\n");
+        for (PacketMetrics metrics : packets) {
+            String labels = "packet=\"" + metrics.name() + "\",direction=\"" + metrics.direction() + "\"";
+            appendHistogram(builder, "geyser_translation_seconds", labels, metrics.translation());
+        }
+
+        builder.append("# HELP geyser_sent_packets_total Packets sent to Bedrock clients.\n");
+        builder.append("# TYPE geyser_sent_packets_total counter\n");
+        for (PacketMetrics metrics : packets) {
+            long sent = metrics.sentPackets().sum();
+            if (sent > 0) {
+                builder.append("geyser_sent_packets_total{packet=\"").append(metrics.name()).append("\"} ").append(sent).append('\n');
+            }
+        }
+
+        builder.append("# HELP geyser_sent_bytes_total Uncompressed bytes of packets sent to Bedrock clients.\n");
+        builder.append("# TYPE geyser_sent_bytes_total counter\n");
+        for (PacketMetrics metrics : packets) {
+            long sent = metrics.sentPackets().sum();
+            if (sent > 0) {
+                builder.append("geyser_sent_bytes_total{packet=\"").append(metrics.name()).append("\"} ").append(metrics.sentBytes().sum()).append('\n');
+            }
+        }
+
+        builder.append("# HELP geyser_session_queued_tasks Tasks waiting to run on the event loop of a session.\n");
+        builder.append("# TYPE geyser_session_queued_tasks gauge\n");
+        for (GeyserSession session : sessions) {
+            builder.append("geyser_session_queued_tasks{session=\"").append(escape(session.bedrockUsername())).append("\"} ")
+                .append(session.getMetrics().queuedTasks()).append('\n');
+        }
+
+        builder.append("# HELP geyser_session_task_delay_seconds Time tasks of a session waited before running on its event loop.\n");
+        builder.append("# TYPE geyser_session_task_delay_seconds histogram\n");
+        for (GeyserSession session : sessions) {
+            appendHistogram(builder, "geyser_session_task_delay_seconds", "session=\"" + escape(session.bedrockUsername()) + "\"",
+                session.getMetrics().taskDelay());
+        }
+
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            builder.append("# HELP process_cpu_seconds_total CPU time used by the Geyser process.\n");
+            builder.append("# TYPE process_cpu_seconds_total counter\n");
+            builder.append("process_cpu_seconds_total ").append(seconds(os.getProcessCpuTime())).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static void appendHistogram(StringBuilder builder, String name, String labels, LatencyHistogram histogram) {
+        long[] counts = histogram.bucketCounts();
+        long cumulative = 0;
+        for (int i = 0; i < LatencyHistogram.BOUNDS.length; i++) {
+            cumulative += counts[i];
+            builder.append(name).append("_bucket{").append(labels).append(",le=\"").append(seconds(LatencyHistogram.BOUNDS[i]))
+                .append("\"} ").append(cumulative).append('\n');
+        }
+        cumulative += counts[counts.length - 1];
+        builder.append(name).append("_bucket{").append(labels).append(",le=\"+Inf\"} ").append(cumulative).append('\n');
+        builder.append(name).append("_sum{").append(labels).append("} ").append(seconds(histogram.totalNanos())).append('\n');
+        builder.append(name).append("_count{").append(labels).append("} ").append(cumulative).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1_000_000_000D);
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Formats a duration for humans, e.g. {@code 12.3µs} or {@code 4.56ms}.
+     */
+    public static String formatNanos(long nanos) {
+        if (nanos < 1_000_000) {
+            return String.format(Locale.ROOT, "%.1fµs", nanos / 1_000D);
+        }
+        return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000D);
+    }
+}
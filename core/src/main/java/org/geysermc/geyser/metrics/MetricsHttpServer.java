@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.GeyserImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves {@link GeyserMetrics} in the Prometheus text format on {@code /metrics}. Only started if the
+ * {@code Geyser.MetricsPort} system property is set, and only listens on the loopback address unless
+ * {@code Geyser.MetricsAddress} says otherwise.
+ */
+public final class MetricsHttpServer {
+    private static final int PORT = Integer.getInteger("Geyser.MetricsPort", -1);
+    private static final String ADDRESS = System.getProperty("Geyser.MetricsAddress", "127.0.0.1");
+
+    private final HttpServer server;
+
+    private MetricsHttpServer(HttpServer server) {
+        this.server = server;
+    }
+
+    public static @Nullable MetricsHttpServer start(GeyserImpl geyser) {
+        if (PORT < 0 || !GeyserMetrics.ENABLED) {
+            return null;
+        }
+
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(ADDRESS, PORT), 0);
+            server.createContext("/metrics", exchange -> {
+                byte[] response = GeyserMetrics.toPrometheus(geyser.getSessionManager().getAllSessions()).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(response);
+                }
+            });
+            server.start();
+            geyser.getLogger().info("Serving metrics on http://" + ADDRESS + ":" + PORT + "/metrics");
+            return new MetricsHttpServer(server);
+        } catch (IOException e) {
+            geyser.getLogger().error("Could not start the metrics endpoint on " + ADDRESS + ":" + PORT, e);
+            return null;
+        }
+    }
+
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.metrics;
+
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of a single packet type, over all sessions.
+ */
+@Getter
+@Accessors(fluent = true)
+public final class PacketMetrics {
+    private final Class<?> packetClass;
+    /**
+     * Either {@code bedrock} for packets from and to Bedrock clients, or {@code java} for packets from and to the Java server.
+     */
+    private final String direction;
+    /**
+     * How long translating packets of this type takes.
+     */
+    private final LatencyHistogram translation = new LatencyHistogram();
+    private final LongAdder sentPackets = new LongAdder();
+    private final LongAdder sentBytes = new LongAdder();
+
+    PacketMetrics(Class<?> packetClass) {
+        this.packetClass = packetClass;
+        this.direction = BedrockPacket.class.isAssignableFrom(packetClass) ? "bedrock" : "java";
+    }
+
+    public String name() {
+        return packetClass.getSimpleName();
+    }
+
+    public void sent(int bytes) {
+        sentPackets.increment();
+        sentBytes.add(bytes);
+    }
+}
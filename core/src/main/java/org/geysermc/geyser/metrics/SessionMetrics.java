@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.metrics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of a single session: how busy its event loop is, and which translators it spends the most time in.
+ */
+public final class SessionMetrics {
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+    private final LatencyHistogram taskDelay = new LatencyHistogram();
+    private final Map<Class<?>, LongAdder> translationNanos = new ConcurrentHashMap<>();
+
+    /**
+     * Wraps a task that is about to be submitted to the event loop of this session, to measure how long it waits to run.
+     */
+    public Runnable track(Runnable task) {
+        if (!GeyserMetrics.ENABLED) {
+            return task;
+        }
+        long queuedAt = System.nanoTime();
+        queuedTasks.incrementAndGet();
+        return () -> {
+            queuedTasks.decrementAndGet();
+            taskDelay.record(System.nanoTime() - queuedAt);
+            task.run();
+        };
+    }
+
+    void translated(Class<?> packetClass, long nanos) {
+        LongAdder adder = translationNanos.get(packetClass);
+        if (adder == null) {
+            adder = translationNanos.computeIfAbsent(packetClass, $ -> new LongAdder());
+        }
+        adder.add(nanos);
+    }
+
+    /**
+     * @return the number of tasks of this session that are waiting to be run on its event loop
+     */
+    public int queuedTasks() {
+        return queuedTasks.get();
+    }
+
+    public LatencyHistogram taskDelay() {
+        return taskDelay;
+    }
+
+    /**
+     * @return the packet types this session spent the most time translating, with the time in nanoseconds
+     */
+    public List<Map.Entry<Class<?>, Long>> topTranslators(int limit) {
+        return translationNanos.entrySet().stream()
+            .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+            .sorted(Map.Entry.<Class<?>, Long>comparingByValue(Comparator.reverseOrder()))
+            .limit(limit)
+            .toList();
+    }
+}
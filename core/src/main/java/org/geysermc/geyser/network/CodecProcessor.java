@@ -84,6 +84,8 @@ import org.cloudburstmc.protocol.bedrock.packet.SimpleEventPacket;
 import org.cloudburstmc.protocol.bedrock.packet.SubChunkRequestPacket;
 import org.cloudburstmc.protocol.bedrock.packet.SubClientLoginPacket;
 import org.cloudburstmc.protocol.common.util.VarInts;
+import org.geysermc.geyser.session.cache.ChunkBlobCache;
+import org.geysermc.geyser.session.cache.SubChunkCache;
 
 /**
  * Processes the Bedrock codec to remove or modify unused or unsafe packets and fields.
@@ -263,9 +265,7 @@ class CodecProcessor {
             .updateSerializer(ClientCheatAbilityPacket.class, ILLEGAL_SERIALIZER)
             .updateSerializer(CraftingEventPacket.class, ILLEGAL_SERIALIZER)
             // Illegal unusued serverbound packets that relate to unused features
-            .updateSerializer(ClientCacheBlobStatusPacket.class, ILLEGAL_SERIALIZER)
             .updateSerializer(SubClientLoginPacket.class, ILLEGAL_SERIALIZER)
-            .updateSerializer(SubChunkRequestPacket.class, ILLEGAL_SERIALIZER)
             .updateSerializer(GameTestRequestPacket.class, ILLEGAL_SERIALIZER)
             // Ignored serverbound packets
             .updateSerializer(ClientToServerHandshakePacket.class, IGNORED_SERIALIZER)
@@ -294,10 +294,22 @@ class CodecProcessor {
             .updateSerializer(EditorNetworkPacket.class, ILLEGAL_SERIALIZER)
             .updateSerializer(ScriptMessagePacket.class, ILLEGAL_SERIALIZER)
             // Ignored bidirectional packets
-            .updateSerializer(ClientCacheStatusPacket.class, IGNORED_SERIALIZER)
             .updateSerializer(SimpleEventPacket.class, IGNORED_SERIALIZER)
             .updateSerializer(MultiplayerSettingsPacket.class, IGNORED_SERIALIZER);
 
+            if (!ChunkBlobCache.ENABLED) {
+                codecBuilder
+                    // Illegal unused serverbound packet when the chunk blob cache is not used
+                    .updateSerializer(ClientCacheBlobStatusPacket.class, ILLEGAL_SERIALIZER)
+                    // Ignored bidirectional packet when the chunk blob cache is not used
+                    .updateSerializer(ClientCacheStatusPacket.class, IGNORED_SERIALIZER);
+            }
+
+            if (!SubChunkCache.ENABLED) {
+                // Illegal unused serverbound packet when chunks are not sent using sub-chunk requests
+                codecBuilder.updateSerializer(SubChunkRequestPacket.class, ILLEGAL_SERIALIZER);
+            }
+
             // These packets have been removed post 1.21.80.
             if (codec.getProtocolVersion() < 800) {
                 codecBuilder
@@ -310,7 +322,8 @@ class CodecProcessor {
                 codecBuilder.updateSerializer(PurchaseReceiptPacket.class, IGNORED_SERIALIZER);
             }
 
-            return codecBuilder.build();
+            // Allow broadcast packets to be serialized once for all sessions
+            return PacketBroadcaster.processCodec(codecBuilder.build());
     }
 
     /**
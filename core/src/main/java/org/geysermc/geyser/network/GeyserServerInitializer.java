@@ -27,6 +27,7 @@ package org.geysermc.geyser.network;
 
 import io.netty.channel.Channel;
 import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
 import io.netty.util.concurrent.DefaultThreadFactory;
 import lombok.Getter;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -35,11 +36,20 @@ import org.cloudburstmc.protocol.bedrock.BedrockServerSession;
 import org.cloudburstmc.protocol.bedrock.netty.codec.packet.BedrockPacketCodec;
 import org.cloudburstmc.protocol.bedrock.netty.initializer.BedrockServerInitializer;
 import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.metrics.GeyserMetrics;
+import org.geysermc.geyser.network.netty.handler.OutboundPacketMetrics;
 import org.geysermc.geyser.session.GeyserSession;
 
 import java.net.InetSocketAddress;
 
 public class GeyserServerInitializer extends BedrockServerInitializer {
+    /**
+     * Runs each session on the event loop of its RakNet channel instead of a separate player thread, and registers
+     * its Java channel on that event loop too where the transport allows it. Packets then don't change threads in
+     * either direction.
+     */
+    private static final boolean THREAD_AFFINITY = Boolean.getBoolean("Geyser.SessionThreadAffinity");
+
     private final GeyserImpl geyser;
     // There is a constructor that doesn't require inputting threads, but older Netty versions don't have it
     @Getter
@@ -60,11 +70,16 @@ public class GeyserServerInitializer extends BedrockServerInitializer {
             }
 
             bedrockServerSession.setLogging(true);
-            GeyserSession session = new GeyserSession(this.geyser, bedrockServerSession, this.eventLoopGroup.next());
+            EventLoop eventLoop = THREAD_AFFINITY ? bedrockServerSession.getPeer().getChannel().eventLoop() : this.eventLoopGroup.next();
+            GeyserSession session = new GeyserSession(this.geyser, bedrockServerSession, eventLoop);
 
             if (!bedrockServerSession.isSubClient()) {
                 Channel channel = bedrockServerSession.getPeer().getChannel();
                 channel.pipeline().addAfter(BedrockPacketCodec.NAME, InvalidPacketHandler.NAME, new InvalidPacketHandler(session));
+                if (GeyserMetrics.ENABLED) {
+                    // Outbound messages pass the packet codec first, so this sees serialized packets
+                    channel.pipeline().addBefore(BedrockPacketCodec.NAME, OutboundPacketMetrics.NAME, OutboundPacketMetrics.INSTANCE);
+                }
             }
 
             bedrockServerSession.setPacketHandler(new UpstreamPacketHandler(this.geyser, session));
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import com.google.common.collect.MapMaker;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.protocol.bedrock.codec.BedrockCodec;
+import org.cloudburstmc.protocol.bedrock.codec.BedrockCodecHelper;
+import org.cloudburstmc.protocol.bedrock.codec.BedrockPacketDefinition;
+import org.cloudburstmc.protocol.bedrock.codec.BedrockPacketSerializer;
+import org.cloudburstmc.protocol.bedrock.packet.AvailableCommandsPacket;
+import org.cloudburstmc.protocol.bedrock.packet.AvailableEntityIdentifiersPacket;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.BiomeDefinitionListPacket;
+import org.cloudburstmc.protocol.bedrock.packet.BossEventPacket;
+import org.cloudburstmc.protocol.bedrock.packet.CameraPresetsPacket;
+import org.cloudburstmc.protocol.bedrock.packet.CraftingDataPacket;
+import org.cloudburstmc.protocol.bedrock.packet.CreativeContentPacket;
+import org.cloudburstmc.protocol.bedrock.packet.GameRulesChangedPacket;
+import org.cloudburstmc.protocol.bedrock.packet.ItemComponentPacket;
+import org.cloudburstmc.protocol.bedrock.packet.LevelEventPacket;
+import org.cloudburstmc.protocol.bedrock.packet.LevelSoundEventPacket;
+import org.cloudburstmc.protocol.bedrock.packet.PlaySoundPacket;
+import org.cloudburstmc.protocol.bedrock.packet.PlayerListPacket;
+import org.cloudburstmc.protocol.bedrock.packet.RemoveObjectivePacket;
+import org.cloudburstmc.protocol.bedrock.packet.SetDisplayObjectivePacket;
+import org.cloudburstmc.protocol.bedrock.packet.SetScorePacket;
+import org.cloudburstmc.protocol.bedrock.packet.SetTimePacket;
+import org.cloudburstmc.protocol.bedrock.packet.SetTitlePacket;
+import org.cloudburstmc.protocol.bedrock.packet.TextPacket;
+import org.cloudburstmc.protocol.bedrock.packet.ToastRequestPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UnlockedRecipesPacket;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends a packet to many sessions while serializing it only once per protocol version. Packets that are kept and
+ * sent as-is to every joining session, such as the static login packets, can be serialized ahead of time the same way.
+ * <p>
+ * The serializers of packet types that are commonly identical for every viewer are wrapped so that, if a packet
+ * was serialized ahead of time by a broadcast, the pre-serialized bytes are copied instead of serializing the packet
+ * again for each session. Other packet types can still be broadcast; they are just serialized per session.
+ */
+public final class PacketBroadcaster {
+    private static final List<Class<? extends BedrockPacket>> BROADCAST_PACKETS = List.of(
+        AvailableCommandsPacket.class,
+        AvailableEntityIdentifiersPacket.class,
+        BiomeDefinitionListPacket.class,
+        BossEventPacket.class,
+        CameraPresetsPacket.class,
+        CraftingDataPacket.class,
+        CreativeContentPacket.class,
+        GameRulesChangedPacket.class,
+        ItemComponentPacket.class,
+        LevelEventPacket.class,
+        LevelSoundEventPacket.class,
+        PlaySoundPacket.class,
+        PlayerListPacket.class,
+        RemoveObjectivePacket.class,
+        SetDisplayObjectivePacket.class,
+        SetScorePacket.class,
+        SetTimePacket.class,
+        SetTitlePacket.class,
+        TextPacket.class,
+        ToastRequestPacket.class,
+        UnlockedRecipesPacket.class
+    );
+
+    /**
+     * Packet bodies by protocol version, for packets that are currently being broadcast. Keys are weak and compared
+     * by identity, so entries disappear once every session is done with the packet.
+     */
+    private static final Map<BedrockPacket, Int2ObjectMap<ByteBuf>> PRE_SERIALIZED = new MapMaker().weakKeys().makeMap();
+
+    private PacketBroadcaster() {
+    }
+
+    /**
+     * Sends the packet to all given sessions. The packet must not be modified afterwards.
+     */
+    public static void broadcast(BedrockPacket packet, Collection<? extends GeyserSession> sessions) {
+        Int2ObjectMap<ByteBuf> serialized = new Int2ObjectOpenHashMap<>();
+        for (GeyserSession session : sessions) {
+            if (session.isClosed() || session.getUpstream().isClosed()) {
+                continue;
+            }
+            if (!serialized.containsKey(session.protocolVersion())) {
+                serialized.put(session.protocolVersion(), serialize(packet, session));
+            }
+        }
+
+        if (!serialized.isEmpty()) {
+            PRE_SERIALIZED.put(packet, serialized);
+        }
+        for (GeyserSession session : sessions) {
+            session.sendUpstreamPacket(packet);
+        }
+    }
+
+    /**
+     * Serializes a packet ahead of time for the protocol version of the given session. As long as the packet is
+     * referenced, sending it to any session with the same protocol version copies the serialized bytes.
+     * The packet must not be modified afterwards.
+     */
+    public static void preSerialize(BedrockPacket packet, GeyserSession session) {
+        ByteBuf body = serialize(packet, session);
+        if (body != null) {
+            Int2ObjectMap<ByteBuf> serialized = new Int2ObjectOpenHashMap<>(1);
+            serialized.put(session.protocolVersion(), body);
+            PRE_SERIALIZED.put(packet, serialized);
+        }
+    }
+
+    private static @Nullable ByteBuf serialize(BedrockPacket packet, GeyserSession session) {
+        BedrockCodec codec = session.getUpstream().getSession().getCodec();
+        BedrockCodecHelper helper = session.getUpstream().getCodecHelper();
+        // Unpooled heap buffers, as it isn't known when the last session has copied it
+        ByteBuf body = Unpooled.buffer();
+        try {
+            codec.tryEncode(helper, body, packet);
+            return body;
+        } catch (Exception e) {
+            // Let each session serialize it on its own, and report the error there
+            GeyserImpl.getInstance().getLogger().debug("Could not pre-serialize " + packet.getClass().getSimpleName() + " for protocol " + session.protocolVersion() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Wraps the serializers of the packet types that are commonly broadcast.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static BedrockCodec processCodec(BedrockCodec codec) {
+        BedrockCodec.Builder codecBuilder = codec.toBuilder();
+        for (Class<? extends BedrockPacket> packetClass : BROADCAST_PACKETS) {
+            BedrockPacketDefinition definition = codec.getPacketDefinition(packetClass);
+            if (definition != null) {
+                codecBuilder.updateSerializer((Class) packetClass, new PreSerializedSerializer<>(definition.getSerializer(), codec.getProtocolVersion()));
+            }
+        }
+        return codecBuilder.build();
+    }
+
+    private record PreSerializedSerializer<T extends BedrockPacket>(BedrockPacketSerializer<T> delegate, int protocolVersion) implements BedrockPacketSerializer<T> {
+        @Override
+        public void serialize(ByteBuf buffer, BedrockCodecHelper helper, T packet) {
+            Int2ObjectMap<ByteBuf> serialized = PRE_SERIALIZED.isEmpty() ? null : PRE_SERIALIZED.get(packet);
+            ByteBuf body = serialized == null ? null : serialized.get(protocolVersion);
+            if (body != null) {
+                // Absolute read; the same body is copied by many sessions at once
+                buffer.writeBytes(body, body.readerIndex(), body.readableBytes());
+            } else {
+                delegate.serialize(buffer, helper, packet);
+            }
+        }
+
+        @Override
+        public void deserialize(ByteBuf buffer, BedrockCodecHelper helper, T packet) {
+            delegate.deserialize(buffer, helper, packet);
+        }
+    }
+}
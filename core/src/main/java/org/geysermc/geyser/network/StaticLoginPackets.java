@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import org.cloudburstmc.protocol.bedrock.packet.AvailableEntityIdentifiersPacket;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.BiomeDefinitionListPacket;
+import org.cloudburstmc.protocol.bedrock.packet.CameraPresetsPacket;
+import org.cloudburstmc.protocol.bedrock.packet.CreativeContentPacket;
+import org.cloudburstmc.protocol.bedrock.packet.ItemComponentPacket;
+import org.geysermc.geyser.impl.camera.CameraDefinitions;
+import org.geysermc.geyser.registry.Registries;
+import org.geysermc.geyser.registry.type.ItemMappings;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The login packets that are identical for every session on the same protocol version. These are built and
+ * serialized once per protocol version instead of once for every joining player. Several protocol versions can share
+ * the same {@link ItemMappings} while serializing differently, so the mappings can't be used as the key.
+ * Only serialization is shared; compression and encryption still happen per session.
+ */
+public record StaticLoginPackets(ItemComponentPacket itemComponents, BiomeDefinitionListPacket biomeDefinitions,
+                                 AvailableEntityIdentifiersPacket entityIdentifiers, CameraPresetsPacket cameraPresets,
+                                 CreativeContentPacket creativeContent) {
+    private static final Map<Integer, StaticLoginPackets> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * @return the shared login packets for the protocol version of this session.
+     * The returned packets must not be modified.
+     */
+    public static StaticLoginPackets get(GeyserSession session) {
+        return CACHE.computeIfAbsent(session.protocolVersion(), protocolVersion -> create(session.getItemMappings(), session));
+    }
+
+    private static StaticLoginPackets create(ItemMappings mappings, GeyserSession session) {
+        ItemComponentPacket componentPacket = new ItemComponentPacket();
+        componentPacket.getItems().addAll(mappings.getItemDefinitions().values());
+
+        BiomeDefinitionListPacket biomeDefinitionListPacket = new BiomeDefinitionListPacket();
+        biomeDefinitionListPacket.setBiomes(Registries.BIOMES.get());
+
+        AvailableEntityIdentifiersPacket entityPacket = new AvailableEntityIdentifiersPacket();
+        entityPacket.setIdentifiers(Registries.BEDROCK_ENTITY_IDENTIFIERS.get());
+
+        CameraPresetsPacket cameraPresetsPacket = new CameraPresetsPacket();
+        cameraPresetsPacket.getPresets().addAll(CameraDefinitions.CAMERA_PRESETS);
+
+        CreativeContentPacket creativePacket = new CreativeContentPacket();
+        creativePacket.getContents().addAll(mappings.getCreativeItems());
+        creativePacket.getGroups().addAll(mappings.getCreativeItemGroups());
+
+        StaticLoginPackets packets = new StaticLoginPackets(componentPacket, biomeDefinitionListPacket, entityPacket,
+            cameraPresetsPacket, creativePacket);
+        for (BedrockPacket packet : packets.all()) {
+            PacketBroadcaster.preSerialize(packet, session);
+        }
+        return packets;
+    }
+
+    private BedrockPacket[] all() {
+        return new BedrockPacket[] {itemComponents, biomeDefinitions, entityIdentifiers, cameraPresets, creativeContent};
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network.netty;
+
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import org.geysermc.mcprotocollib.network.packet.PacketProtocol;
+import org.geysermc.mcprotocollib.network.session.ClientNetworkSession;
+
+import java.net.SocketAddress;
+
+/**
+ * Manages a Minecraft Java session whose channel is registered on a given event loop, instead of the event loop group
+ * MCProtocolLib shares between all sessions. Packets read on that event loop are handled immediately rather than
+ * being queued on it as tasks.
+ * <p>
+ * The event loop must support the transport MCProtocolLib uses for its channels, see {@code TransportHelper}.
+ */
+public final class PinnedClientSession extends ClientNetworkSession {
+    private final EventLoop eventLoop;
+
+    public PinnedClientSession(SocketAddress remoteAddress, PacketProtocol protocol, EventLoop eventLoop) {
+        super(remoteAddress, protocol, task -> {
+            if (eventLoop.inEventLoop()) {
+                task.run();
+            } else {
+                eventLoop.execute(task);
+            }
+        }, null, null);
+        this.eventLoop = eventLoop;
+    }
+
+    @Override
+    protected EventLoopGroup getEventLoopGroup() {
+        return eventLoop;
+    }
+}
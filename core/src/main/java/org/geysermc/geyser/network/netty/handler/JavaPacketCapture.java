@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network.netty.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.network.GameProtocol;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.mcprotocollib.protocol.MinecraftProtocol;
+import org.geysermc.mcprotocollib.protocol.data.ProtocolState;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records the Java packets a session receives to a file, so they can be replayed through the translators later
+ * without a server. Packets are stored as they come out of decompression, together with the protocol state they
+ * are decoded in and the time since the previous packet.
+ * <p>
+ * Capturing is enabled by pointing the {@code Geyser.PacketCaptureDirectory} system property at a directory, and can
+ * be limited to some players by listing their Bedrock usernames in {@code Geyser.PacketCapturePlayers}.
+ */
+public class JavaPacketCapture extends ChannelInboundHandlerAdapter {
+    public static final String NAME = "geyser-java-packet-capture";
+    public static final String FILE_EXTENSION = ".gcap";
+
+    private static final @Nullable Path DIRECTORY = directory();
+    private static final Set<String> PLAYERS = Arrays.stream(System.getProperty("Geyser.PacketCapturePlayers", "").split(","))
+        .map(String::trim)
+        .filter(name -> !name.isEmpty())
+        .map(name -> name.toLowerCase(Locale.ROOT))
+        .collect(Collectors.toUnmodifiableSet());
+
+    private static final String CODEC_NAME = "codec";
+    private static final int MAGIC = 0x47434150; // GCAP
+    private static final int FORMAT_VERSION = 1;
+    private static final ProtocolState[] STATES = ProtocolState.values();
+
+    private final MinecraftProtocol protocol;
+    private final Path file;
+    private final DataOutputStream out;
+    private long lastPacketTime;
+    private boolean failed;
+
+    private JavaPacketCapture(MinecraftProtocol protocol, Path file) throws IOException {
+        this.protocol = protocol;
+        this.file = file;
+        this.out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(file)), 1 << 16));
+        this.out.writeInt(MAGIC);
+        this.out.writeByte(FORMAT_VERSION);
+        writeVarInt(this.out, GameProtocol.getJavaProtocolVersion());
+        this.lastPacketTime = System.nanoTime();
+    }
+
+    /**
+     * Adds the capture to the downstream pipeline if capturing is enabled for this player. Must be called after
+     * compression has been enabled, as the capture needs to come after it.
+     */
+    public static void install(GeyserSession session) {
+        if (DIRECTORY == null || session.getDownstream() == null) {
+            return;
+        }
+        if (!PLAYERS.isEmpty() && !PLAYERS.contains(session.bedrockUsername().toLowerCase(Locale.ROOT))) {
+            return;
+        }
+        Channel channel = session.getDownstream().getSession().getChannel();
+        if (channel == null || channel.pipeline().get(CODEC_NAME) == null || channel.pipeline().get(NAME) != null) {
+            return;
+        }
+
+        Path file = DIRECTORY.resolve(session.bedrockUsername() + "-" + System.currentTimeMillis() + FILE_EXTENSION);
+        try {
+            JavaPacketCapture capture = new JavaPacketCapture(session.getProtocol(), file);
+            // Ahead of the packet filter, so the capture holds what the server sent
+            String before = channel.pipeline().get(JavaPacketFilter.NAME) != null ? JavaPacketFilter.NAME : CODEC_NAME;
+            channel.pipeline().addBefore(before, NAME, capture);
+            GeyserImpl.getInstance().getLogger().info("Capturing Java packets of " + session.bedrockUsername() + " to " + file);
+        } catch (IOException e) {
+            GeyserImpl.getInstance().getLogger().error("Could not start capturing Java packets to " + file, e);
+        }
+    }
+
+    private static @Nullable Path directory() {
+        String directory = System.getProperty("Geyser.PacketCaptureDirectory");
+        if (directory == null || directory.isBlank()) {
+            return null;
+        }
+        try {
+            return Files.createDirectories(Paths.get(directory));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create the packet capture directory " + directory, e);
+        }
+    }
+
+    @Override
+    public void channelRead(@NonNull ChannelHandlerContext ctx, @NonNull Object msg) {
+        if (!failed && msg instanceof ByteBuf buf && buf.isReadable()) {
+            long now = System.nanoTime();
+            try {
+                writeVarLong(out, (now - lastPacketTime) / 1000);
+                out.writeByte(protocol.getInboundState().ordinal());
+                writeVarInt(out, buf.readableBytes());
+                buf.getBytes(buf.readerIndex(), out, buf.readableBytes());
+            } catch (IOException e) {
+                failed = true;
+                GeyserImpl.getInstance().getLogger().error("Could not write to packet capture " + file + ", stopping the capture", e);
+            }
+            lastPacketTime = now;
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        try {
+            out.close();
+        } catch (IOException e) {
+            GeyserImpl.getInstance().getLogger().error("Could not finish packet capture " + file, e);
+        }
+    }
+
+    /**
+     * Reads a capture written by this class.
+     *
+     * @param consumer called with every packet in order; the data is only valid during the call
+     * @return the Java protocol version the capture was made with
+     */
+    public static int read(InputStream stream, Consumer<CapturedPacket> consumer) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(stream), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a Geyser packet capture");
+            }
+            int formatVersion = in.readUnsignedByte();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported packet capture version " + formatVersion);
+            }
+            int protocolVersion = readVarInt(in);
+
+            byte[] data = new byte[0];
+            while (true) {
+                long delayMicros;
+                try {
+                    delayMicros = readVarLong(in);
+                } catch (EOFException e) {
+                    // Also the end of captures that were cut off, e.g. when the server crashed
+                    break;
+                }
+                ProtocolState state = STATES[in.readUnsignedByte()];
+                int length = readVarInt(in);
+                if (data.length < length) {
+                    data = new byte[Math.max(length, data.length * 2)];
+                }
+                in.readFully(data, 0, length);
+                consumer.accept(new CapturedPacket(delayMicros, state, data, length));
+            }
+            return protocolVersion;
+        }
+    }
+
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("VarLong too long");
+    }
+
+    /**
+     * @param delayMicros the time since the previous packet was received
+     * @param state the protocol state the packet is decoded in
+     * @param data the packet id followed by the packet, up to {@code length}
+     */
+    public record CapturedPacket(long delayMicros, ProtocolState state, byte[] data, int length) {
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network.netty.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.cloudburstmc.protocol.common.util.VarInts;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.mcprotocollib.protocol.MinecraftProtocol;
+import org.geysermc.mcprotocollib.protocol.data.ProtocolState;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundTabListPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundLevelChunkWithLightPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundLightUpdatePacket;
+import org.jetbrains.annotations.VisibleForTesting;
+
+/**
+ * Sits in front of the MCProtocolLib codec and removes Java packets and fields that Geyser never reads, so they
+ * are not decoded only to be thrown away.
+ * <ul>
+ *     <li>Light updates and tab list headers are dropped entirely.</li>
+ *     <li>The light data at the end of chunk packets is replaced with empty light data.</li>
+ * </ul>
+ * Packets that don't have the expected layout are passed on untouched.
+ */
+public class JavaPacketFilter extends ChannelInboundHandlerAdapter {
+    public static final String NAME = "geyser-java-packet-filter";
+    public static final boolean ENABLED = !Boolean.getBoolean("Geyser.DisableJavaPacketFilter");
+
+    private static final String CODEC_NAME = "codec";
+    /**
+     * Four empty bit sets followed by two empty lists of light arrays.
+     */
+    private static final int EMPTY_LIGHT_DATA_SIZE = 6;
+
+    private final MinecraftProtocol protocol;
+
+    private Object packetRegistry;
+    private int lightUpdateId = -1;
+    private int tabListId = -1;
+    private int chunkWithLightId = -1;
+
+    @VisibleForTesting
+    JavaPacketFilter(MinecraftProtocol protocol) {
+        this.protocol = protocol;
+    }
+
+    /**
+     * Adds the filter to the downstream pipeline. Must be called after compression has been enabled, as the filter
+     * needs to come after it.
+     */
+    public static void install(GeyserSession session) {
+        if (!ENABLED || session.getDownstream() == null) {
+            return;
+        }
+        Channel channel = session.getDownstream().getSession().getChannel();
+        if (channel == null || channel.pipeline().get(CODEC_NAME) == null || channel.pipeline().get(NAME) != null) {
+            return;
+        }
+        channel.pipeline().addBefore(CODEC_NAME, NAME, new JavaPacketFilter(session.getProtocol()));
+    }
+
+    @Override
+    public void channelRead(@NonNull ChannelHandlerContext ctx, @NonNull Object msg) {
+        if (msg instanceof ByteBuf buf && buf.isReadable() && protocol.getInboundState() == ProtocolState.GAME) {
+            updatePacketIds();
+
+            int startIndex = buf.readerIndex();
+            try {
+                int packetId = VarInts.readUnsignedInt(buf);
+                if (packetId == lightUpdateId || packetId == tabListId) {
+                    buf.release();
+                    return;
+                }
+                if (packetId == chunkWithLightId && !buf.isReadOnly()) {
+                    stripLightData(buf);
+                }
+            } catch (RuntimeException ignored) {
+                // Malformed; leave it to the codec to report
+            }
+            buf.readerIndex(startIndex);
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    private void updatePacketIds() {
+        var packetRegistry = protocol.getInboundPacketRegistry();
+        if (packetRegistry != this.packetRegistry) {
+            this.packetRegistry = packetRegistry;
+            this.lightUpdateId = packetRegistry.getClientboundId(ClientboundLightUpdatePacket.class);
+            this.tabListId = packetRegistry.getClientboundId(ClientboundTabListPacket.class);
+            this.chunkWithLightId = packetRegistry.getClientboundId(ClientboundLevelChunkWithLightPacket.class);
+        }
+    }
+
+    private static void stripLightData(ByteBuf buf) {
+        buf.skipBytes(Integer.BYTES * 2); // Chunk X and Z
+
+        int heightmaps = VarInts.readUnsignedInt(buf);
+        for (int i = 0; i < heightmaps; i++) {
+            VarInts.readUnsignedInt(buf); // Type
+            buf.skipBytes(VarInts.readUnsignedInt(buf) * Long.BYTES);
+        }
+
+        buf.skipBytes(VarInts.readUnsignedInt(buf)); // Chunk sections
+
+        int blockEntities = VarInts.readUnsignedInt(buf);
+        for (int i = 0; i < blockEntities; i++) {
+            buf.skipBytes(Byte.BYTES + Short.BYTES); // Packed X and Z, Y
+            VarInts.readUnsignedInt(buf); // Type
+            skipNbt(buf, buf.readByte());
+        }
+
+        int lightDataIndex = buf.readerIndex();
+        if (buf.writerIndex() - lightDataIndex <= EMPTY_LIGHT_DATA_SIZE) {
+            return;
+        }
+
+        for (int i = 0; i < 4; i++) { // Sky, block, empty sky and empty block masks
+            buf.skipBytes(VarInts.readUnsignedInt(buf) * Long.BYTES);
+        }
+        for (int i = 0; i < 2; i++) { // Sky and block light arrays
+            int arrays = VarInts.readUnsignedInt(buf);
+            for (int j = 0; j < arrays; j++) {
+                buf.skipBytes(VarInts.readUnsignedInt(buf));
+            }
+        }
+        if (buf.isReadable()) {
+            // Not the layout we expect
+            return;
+        }
+
+        buf.writerIndex(lightDataIndex);
+        buf.writeZero(EMPTY_LIGHT_DATA_SIZE);
+    }
+
+    private static void skipNbt(ByteBuf buf, int type) {
+        switch (type) {
+            case 0 -> { } // End
+            case 1 -> buf.skipBytes(Byte.BYTES);
+            case 2 -> buf.skipBytes(Short.BYTES);
+            case 3, 5 -> buf.skipBytes(Integer.BYTES);
+            case 4, 6 -> buf.skipBytes(Long.BYTES);
+            case 7 -> buf.skipBytes(buf.readInt());
+            case 8 -> buf.skipBytes(buf.readUnsignedShort());
+            case 9 -> {
+                int elementType = buf.readByte();
+                int length = buf.readInt();
+                for (int i = 0; i < length; i++) {
+                    skipNbt(buf, elementType);
+                }
+            }
+            case 10 -> {
+                int entryType;
+                while ((entryType = buf.readByte()) != 0) {
+                    buf.skipBytes(buf.readUnsignedShort()); // Name
+                    skipNbt(buf, entryType);
+                }
+            }
+            case 11 -> buf.skipBytes(buf.readInt() * Integer.BYTES);
+            case 12 -> buf.skipBytes(buf.readInt() * Long.BYTES);
+            default -> throw new IllegalArgumentException("Unknown NBT tag type " + type);
+        }
+    }
+}
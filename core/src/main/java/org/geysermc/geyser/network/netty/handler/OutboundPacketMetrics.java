@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network.netty.handler;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import org.cloudburstmc.protocol.bedrock.netty.BedrockBatchWrapper;
+import org.cloudburstmc.protocol.bedrock.netty.BedrockPacketWrapper;
+import org.geysermc.geyser.metrics.GeyserMetrics;
+
+/**
+ * Counts the packets and their serialized size sent to a Bedrock client. Sits right after the packet codec,
+ * where packets are serialized but not yet compressed.
+ */
+@ChannelHandler.Sharable
+public final class OutboundPacketMetrics extends ChannelOutboundHandlerAdapter {
+    public static final String NAME = "geyser-outbound-metrics";
+    public static final OutboundPacketMetrics INSTANCE = new OutboundPacketMetrics();
+
+    private OutboundPacketMetrics() {
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (msg instanceof BedrockBatchWrapper batch) {
+            for (BedrockPacketWrapper wrapper : batch.getPackets()) {
+                if (wrapper.getPacket() != null && wrapper.getPacketBuffer() != null) {
+                    GeyserMetrics.packet(wrapper.getPacket().getClass()).sent(wrapper.getPacketBuffer().readableBytes());
+                }
+            }
+        }
+        super.write(ctx, msg, promise);
+    }
+}
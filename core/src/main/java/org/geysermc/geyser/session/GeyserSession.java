@@ -79,16 +79,11 @@ import org.cloudburstmc.protocol.bedrock.data.definitions.DimensionDefinition;
 import org.cloudburstmc.protocol.bedrock.data.entity.EntityFlag;
 import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
 import org.cloudburstmc.protocol.bedrock.data.inventory.crafting.recipe.CraftingRecipeData;
-import org.cloudburstmc.protocol.bedrock.packet.AvailableEntityIdentifiersPacket;
 import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
-import org.cloudburstmc.protocol.bedrock.packet.BiomeDefinitionListPacket;
-import org.cloudburstmc.protocol.bedrock.packet.CameraPresetsPacket;
 import org.cloudburstmc.protocol.bedrock.packet.ChunkRadiusUpdatedPacket;
-import org.cloudburstmc.protocol.bedrock.packet.CreativeContentPacket;
 import org.cloudburstmc.protocol.bedrock.packet.DimensionDataPacket;
 import org.cloudburstmc.protocol.bedrock.packet.EmoteListPacket;
 import org.cloudburstmc.protocol.bedrock.packet.GameRulesChangedPacket;
-import org.cloudburstmc.protocol.bedrock.packet.ItemComponentPacket;
 import org.cloudburstmc.protocol.bedrock.packet.LevelEventPacket;
 import org.cloudburstmc.protocol.bedrock.packet.LevelSoundEventPacket;
 import org.cloudburstmc.protocol.bedrock.packet.NetworkStackLatencyPacket;
@@ -154,8 +149,13 @@ import org.geysermc.geyser.item.Items;
 import org.geysermc.geyser.item.type.BlockItem;
 import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.level.JavaDimension;
+import org.geysermc.geyser.level.chunk.ChunkBatchSizeCalculator;
+import org.geysermc.geyser.level.chunk.ChunkTranslationPipeline;
 import org.geysermc.geyser.level.physics.CollisionManager;
+import org.geysermc.geyser.metrics.SessionMetrics;
+import org.geysermc.geyser.network.StaticLoginPackets;
 import org.geysermc.geyser.network.netty.LocalSession;
+import org.geysermc.geyser.network.netty.PinnedClientSession;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.registry.type.BlockMappings;
 import org.geysermc.geyser.registry.type.ItemMappings;
@@ -165,17 +165,20 @@ import org.geysermc.geyser.session.cache.AdvancementsCache;
 import org.geysermc.geyser.session.cache.BlockBreakHandler;
 import org.geysermc.geyser.session.cache.BookEditCache;
 import org.geysermc.geyser.session.cache.BundleCache;
+import org.geysermc.geyser.session.cache.ChunkBlobCache;
 import org.geysermc.geyser.session.cache.ChunkCache;
 import org.geysermc.geyser.session.cache.EntityCache;
 import org.geysermc.geyser.session.cache.EntityEffectCache;
 import org.geysermc.geyser.session.cache.FormCache;
 import org.geysermc.geyser.session.cache.InputCache;
+import org.geysermc.geyser.session.cache.ItemDataCache;
 import org.geysermc.geyser.session.cache.LodestoneCache;
 import org.geysermc.geyser.session.cache.PistonCache;
 import org.geysermc.geyser.session.cache.PreferencesCache;
 import org.geysermc.geyser.session.cache.RegistryCache;
 import org.geysermc.geyser.session.cache.SkullCache;
 import org.geysermc.geyser.session.cache.StructureBlockCache;
+import org.geysermc.geyser.session.cache.SubChunkCache;
 import org.geysermc.geyser.session.cache.TagCache;
 import org.geysermc.geyser.session.cache.TeleportCache;
 import org.geysermc.geyser.session.cache.WorldBorder;
@@ -262,6 +265,10 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      * If this is manually called, ensure that any exceptions are properly handled.
      */
     private final EventLoop tickEventLoop;
+    /**
+     * How busy the event loop of this session is, and where its time goes.
+     */
+    private final SessionMetrics metrics = new SessionMetrics();
     @Setter
     private AuthData authData;
     private BedrockClientData clientData;
@@ -286,21 +293,33 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     private final AdvancementsCache advancementsCache;
     private final BookEditCache bookEditCache;
     private final BundleCache bundleCache;
+    private final ChunkBlobCache chunkBlobCache;
     private final ChunkCache chunkCache;
     private final EntityCache entityCache;
     private final EntityEffectCache effectCache;
     private final FormCache formCache;
     private final InputCache inputCache;
+    private final ItemDataCache itemDataCache;
     private final LodestoneCache lodestoneCache;
     private final PistonCache pistonCache;
     private final PreferencesCache preferencesCache;
     private final RegistryCache registryCache;
     private final SkullCache skullCache;
     private final StructureBlockCache structureBlockCache;
+    private final SubChunkCache subChunkCache;
     private final TagCache tagCache;
     private final WaypointCache waypointCache;
     private final WorldCache worldCache;
 
+    /**
+     * Translates chunks off the event loop, if enabled.
+     */
+    private final ChunkTranslationPipeline chunkTranslationPipeline;
+    /**
+     * Calculates how many chunks per tick the Java server should send, based on how fast the Bedrock client receives them.
+     */
+    private final ChunkBatchSizeCalculator chunkBatchSizeCalculator;
+
     /**
      * Handles block breaking and break animation progress caching.
      */
@@ -777,7 +796,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
 
     public GeyserSession(GeyserImpl geyser, BedrockServerSession bedrockServerSession, EventLoop tickEventLoop) {
         this.geyser = geyser;
-        this.upstream = new UpstreamSession(bedrockServerSession);
+        this.upstream = new UpstreamSession(bedrockServerSession, tickEventLoop);
         this.tickEventLoop = tickEventLoop;
 
         this.erosionHandler = new GeyserboundHandshakePacketHandler(this);
@@ -785,20 +804,25 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         this.advancementsCache = new AdvancementsCache(this);
         this.bookEditCache = new BookEditCache(this);
         this.bundleCache = new BundleCache(this);
+        this.chunkBlobCache = new ChunkBlobCache(this);
         this.chunkCache = new ChunkCache(this);
         this.entityCache = new EntityCache(this);
         this.effectCache = new EntityEffectCache();
         this.formCache = new FormCache(this);
         this.inputCache = new InputCache(this);
+        this.itemDataCache = new ItemDataCache(this);
         this.lodestoneCache = new LodestoneCache();
         this.pistonCache = new PistonCache(this);
         this.preferencesCache = new PreferencesCache(this);
         this.registryCache = new RegistryCache(this);
         this.skullCache = new SkullCache(this);
         this.structureBlockCache = new StructureBlockCache();
+        this.subChunkCache = new SubChunkCache(this);
         this.tagCache = new TagCache(this);
         this.waypointCache = new WaypointCache(this);
         this.worldCache = new WorldCache(this);
+        this.chunkTranslationPipeline = new ChunkTranslationPipeline(this);
+        this.chunkBatchSizeCalculator = new ChunkBatchSizeCalculator(this);
         this.cameraData = new GeyserCameraData(this);
         this.entityData = new GeyserEntityData(this);
 
@@ -857,28 +881,16 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         sentSpawnPacket = true;
         syncEntityProperties();
 
-        ItemComponentPacket componentPacket = new ItemComponentPacket();
-        componentPacket.getItems().addAll(itemMappings.getItemDefinitions().values());
-        upstream.sendPacket(componentPacket);
+        // Shared between all sessions on this protocol version, and only serialized once
+        StaticLoginPackets loginPackets = StaticLoginPackets.get(this);
+        upstream.sendPacket(loginPackets.itemComponents());
 
         ChunkUtils.sendEmptyChunks(this, playerEntity.getPosition().toInt(), 0, false);
 
-        BiomeDefinitionListPacket biomeDefinitionListPacket = new BiomeDefinitionListPacket();
-        biomeDefinitionListPacket.setBiomes(Registries.BIOMES.get());
-        upstream.sendPacket(biomeDefinitionListPacket);
-
-        AvailableEntityIdentifiersPacket entityPacket = new AvailableEntityIdentifiersPacket();
-        entityPacket.setIdentifiers(Registries.BEDROCK_ENTITY_IDENTIFIERS.get());
-        upstream.sendPacket(entityPacket);
-
-        CameraPresetsPacket cameraPresetsPacket = new CameraPresetsPacket();
-        cameraPresetsPacket.getPresets().addAll(CameraDefinitions.CAMERA_PRESETS);
-        upstream.sendPacket(cameraPresetsPacket);
-
-        CreativeContentPacket creativePacket = new CreativeContentPacket();
-        creativePacket.getContents().addAll(this.itemMappings.getCreativeItems());
-        creativePacket.getGroups().addAll(this.itemMappings.getCreativeItemGroups());
-        upstream.sendPacket(creativePacket);
+        upstream.sendPacket(loginPackets.biomeDefinitions());
+        upstream.sendPacket(loginPackets.entityIdentifiers());
+        upstream.sendPacket(loginPackets.cameraPresets());
+        upstream.sendPacket(loginPackets.creativeContent());
 
         PlayStatusPacket playStatusPacket = new PlayStatusPacket();
         playStatusPacket.setStatus(PlayStatusPacket.Status.PLAYER_SPAWN);
@@ -1090,7 +1102,13 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
             downstream.setFlag(MinecraftConstants.CLIENT_PORT, this.remoteServer.port());
             this.downstream = new DownstreamSession(downstream);
         } else {
-            downstream = new ClientNetworkSession(new InetSocketAddress(this.remoteServer.address(), this.remoteServer.port()), this.protocol, tickEventLoop, null, null);
+            InetSocketAddress address = new InetSocketAddress(this.remoteServer.address(), this.remoteServer.port());
+            if (tickEventLoop == upstream.getSession().getPeer().getChannel().eventLoop()) {
+                // Thread affinity is enabled; the RakNet channel uses the same transport as MCProtocolLib
+                downstream = new PinnedClientSession(address, this.protocol, tickEventLoop);
+            } else {
+                downstream = new ClientNetworkSession(address, this.protocol, tickEventLoop, null, null);
+            }
             this.downstream = new DownstreamSession(downstream);
 
             boolean resolveSrv = false;
@@ -1208,7 +1226,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      * Executes a task and prints a stack trace if an error occurs.
      */
     public void executeInEventLoop(Runnable runnable) {
-        tickEventLoop.execute(() -> executeRunnable(runnable));
+        tickEventLoop.execute(metrics.track(() -> executeRunnable(runnable)));
     }
 
     /**
@@ -1289,6 +1307,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
                     entity.tick();
                 }
             }
+            entityCache.getVisibilityManager().tick();
 
             if (armAnimationTicks >= 0) {
                 // As of 1.18.2 Java Edition, it appears that the swing time is dynamically updated depending on the
@@ -1322,7 +1341,8 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
             this.dialogManager.tick();
             this.waypointCache.tick();
 
-            this.upstream.getSession().getPeer().sendPacketsImmediately(0, 0, queuedImmediatelyPackets.toArray(new BedrockPacket[0]));
+            // Also sends all packets batched during this tick
+            this.upstream.flush(queuedImmediatelyPackets.toArray(new BedrockPacket[0]));
             queuedImmediatelyPackets.clear();
         } catch (Throwable throwable) {
             throwable.printStackTrace();
@@ -2455,7 +2475,15 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         sendUpstreamPacket(packet);
     }
 
+    /**
+     * Sends a network stack latency packet, and runs the runnable once the client answers it. Answers are matched to
+     * runnables in the order they were queued, so queueing and sending always happen together on the event loop.
+     */
     public void sendNetworkLatencyStackPacket(long timestamp, boolean ensureEventLoop, Runnable runnable) {
+        if (!tickEventLoop.inEventLoop()) {
+            executeInEventLoop(() -> sendNetworkLatencyStackPacket(timestamp, ensureEventLoop, runnable));
+            return;
+        }
         NetworkStackLatencyPacket latencyPacket = new NetworkStackLatencyPacket();
         latencyPacket.setFromServer(true);
         latencyPacket.setTimestamp(timestamp);
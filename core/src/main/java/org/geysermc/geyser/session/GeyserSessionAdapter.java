@@ -224,6 +224,9 @@ public class GeyserSessionAdapter extends SessionAdapter {
 
     @Override
     public void packetReceived(Session session, Packet packet) {
+        if (this.session.getChunkTranslationPipeline().deferIfPending(packet)) {
+            return;
+        }
         Registries.JAVA_PACKET_TRANSLATORS.translate(packet.getClass(), packet, this.session, true);
     }
 
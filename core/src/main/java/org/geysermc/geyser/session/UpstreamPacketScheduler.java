@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import io.netty.channel.EventLoop;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.cloudburstmc.protocol.bedrock.data.SubChunkData;
+import org.cloudburstmc.protocol.bedrock.packet.AddEntityPacket;
+import org.cloudburstmc.protocol.bedrock.packet.AddItemEntityPacket;
+import org.cloudburstmc.protocol.bedrock.packet.AddPaintingPacket;
+import org.cloudburstmc.protocol.bedrock.packet.AddPlayerPacket;
+import org.cloudburstmc.protocol.bedrock.packet.AnimatePacket;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.BlockEntityDataPacket;
+import org.cloudburstmc.protocol.bedrock.packet.ChangeDimensionPacket;
+import org.cloudburstmc.protocol.bedrock.packet.DisconnectPacket;
+import org.cloudburstmc.protocol.bedrock.packet.EntityEventPacket;
+import org.cloudburstmc.protocol.bedrock.packet.LevelChunkPacket;
+import org.cloudburstmc.protocol.bedrock.packet.LevelEventPacket;
+import org.cloudburstmc.protocol.bedrock.packet.MobArmorEquipmentPacket;
+import org.cloudburstmc.protocol.bedrock.packet.MobEffectPacket;
+import org.cloudburstmc.protocol.bedrock.packet.MobEquipmentPacket;
+import org.cloudburstmc.protocol.bedrock.packet.MoveEntityAbsolutePacket;
+import org.cloudburstmc.protocol.bedrock.packet.MoveEntityDeltaPacket;
+import org.cloudburstmc.protocol.bedrock.packet.NetworkChunkPublisherUpdatePacket;
+import org.cloudburstmc.protocol.bedrock.packet.PlayStatusPacket;
+import org.cloudburstmc.protocol.bedrock.packet.PlayerListPacket;
+import org.cloudburstmc.protocol.bedrock.packet.PlayerSkinPacket;
+import org.cloudburstmc.protocol.bedrock.packet.RemoveEntityPacket;
+import org.cloudburstmc.protocol.bedrock.packet.SetEntityDataPacket;
+import org.cloudburstmc.protocol.bedrock.packet.SetEntityLinkPacket;
+import org.cloudburstmc.protocol.bedrock.packet.SetEntityMotionPacket;
+import org.cloudburstmc.protocol.bedrock.packet.SpawnParticleEffectPacket;
+import org.cloudburstmc.protocol.bedrock.packet.StartGamePacket;
+import org.cloudburstmc.protocol.bedrock.packet.SubChunkPacket;
+import org.cloudburstmc.protocol.bedrock.packet.TransferPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateAttributesPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateBlockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateSubChunkBlocksPacket;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds back bulk outbound packets so they can't delay latency-sensitive ones, such as movement, combat and
+ * inventory packets, behind a large backlog of chunks.
+ * <p>
+ * Packets fall into one of three classes:
+ * <ul>
+ *     <li>Latency-sensitive packets are everything not listed below. They are never held back.</li>
+ *     <li>World packets are chunks, block updates and entity spawns. They keep their relative order.</li>
+ *     <li>Cosmetic packets are particles, level events and skin updates.</li>
+ * </ul>
+ * World and cosmetic packets are released every tick within a byte budget that they share by weight. Packets for
+ * entities whose spawn is still held back are held back as well, so the client never receives them out of order.
+ * Skin updates for players whose player list entry or spawn is still held back are kept behind those too.
+ * <p>
+ * Network stack latency packets are never held back, as their replies are matched to them in the order they were
+ * sent. Code that needs to know when the client has received the world packets sent so far can use
+ * {@link #runAfterWorldPackets(Runnable)} to send its latency packet once those have been released.
+ */
+final class UpstreamPacketScheduler {
+    static final boolean ENABLED = Boolean.getBoolean("Geyser.PrioritizeUpstreamPackets");
+    /**
+     * The approximate number of bytes of world and cosmetic packets sent per tick.
+     */
+    private static final int BULK_BYTES_PER_TICK = Integer.getInteger("Geyser.UpstreamBulkBytesPerTick", 128 * 1024);
+    private static final int WORLD_WEIGHT = 3;
+    private static final int COSMETIC_WEIGHT = 1;
+    private static final long TICK_MILLIS = 50;
+    /**
+     * Size used for packets we don't estimate.
+     */
+    private static final int DEFAULT_PACKET_SIZE = 256;
+
+    private final UpstreamSession upstream;
+
+    /**
+     * World packets, and tasks to run once the world packets before them have been released.
+     */
+    private final Queue<Object> worldPackets = new ArrayDeque<>();
+    private final Queue<Object> cosmeticPackets = new ArrayDeque<>();
+    /**
+     * Runtime IDs of entities whose spawn packet is still queued.
+     */
+    private final LongSet pendingSpawns = new LongOpenHashSet();
+    /**
+     * UUIDs of players with a queued player list or spawn packet, and how many such packets are queued.
+     */
+    private final Object2IntMap<UUID> pendingPlayers = new Object2IntOpenHashMap<>();
+    private boolean drainScheduled = false;
+
+    UpstreamPacketScheduler(UpstreamSession upstream) {
+        this.upstream = upstream;
+    }
+
+    /**
+     * @param immediately if the packet should skip the peer's own batching when it isn't held back
+     */
+    synchronized void send(BedrockPacket packet, boolean immediately) {
+        if (isBarrier(packet)) {
+            // Everything before a dimension change or disconnect has to arrive first
+            drain(Integer.MAX_VALUE);
+            upstream.dispatch(packet, immediately);
+            return;
+        }
+
+        Queue<Object> queue;
+        if (isWorldPacket(packet) || referencesPendingSpawn(packet) || referencesPendingPlayer(packet)) {
+            queue = worldPackets;
+        } else if (isCosmeticPacket(packet)) {
+            queue = cosmeticPackets;
+        } else {
+            upstream.dispatch(packet, immediately);
+            return;
+        }
+
+        long spawnedId = spawnedRuntimeId(packet);
+        if (spawnedId != -1) {
+            pendingSpawns.add(spawnedId);
+        }
+        for (UUID uuid : playerUuids(packet)) {
+            pendingPlayers.mergeInt(uuid, 1, Integer::sum);
+        }
+        queue.add(packet);
+        scheduleTick();
+    }
+
+    /**
+     * Runs the task once all world packets queued so far have been released, or right away if there are none.
+     * The task always runs on the session's event loop.
+     */
+    synchronized void runAfterWorldPackets(Runnable task) {
+        if (worldPackets.isEmpty()) {
+            runInSessionLoop(task);
+            return;
+        }
+        worldPackets.add(task);
+        scheduleTick();
+    }
+
+    /**
+     * @return true if world packets are being held back
+     */
+    synchronized boolean hasWorldPackets() {
+        return !worldPackets.isEmpty();
+    }
+
+    private void scheduleTick() {
+        if (!drainScheduled) {
+            drainScheduled = true;
+            // On the session's event loop, so that tasks queued behind world packets don't race the session
+            upstream.getTickEventLoop().schedule(this::tick, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void runInSessionLoop(Runnable task) {
+        EventLoop eventLoop = upstream.getTickEventLoop();
+        if (eventLoop.inEventLoop()) {
+            task.run();
+        } else {
+            // A barrier packet sent from another thread released it
+            eventLoop.execute(task);
+        }
+    }
+
+    private synchronized void tick() {
+        drainScheduled = false;
+        if (upstream.isClosed()) {
+            worldPackets.clear();
+            cosmeticPackets.clear();
+            pendingSpawns.clear();
+            pendingPlayers.clear();
+            return;
+        }
+
+        drain(BULK_BYTES_PER_TICK);
+
+        if (!worldPackets.isEmpty() || !cosmeticPackets.isEmpty()) {
+            scheduleTick();
+        }
+    }
+
+    private void drain(int budget) {
+        int worldBudget = (int) ((long) budget * WORLD_WEIGHT / (WORLD_WEIGHT + COSMETIC_WEIGHT));
+        // Whatever one class doesn't use is passed on to the other
+        int unused = drain(cosmeticPackets, budget - worldBudget);
+        unused = drain(worldPackets, worldBudget + unused);
+        drain(cosmeticPackets, unused);
+    }
+
+    /**
+     * Sends at least one packet from the queue if it has any, and then more while they fit in the budget.
+     *
+     * @return the unused part of the budget
+     */
+    private int drain(Queue<Object> queue, int budget) {
+        Object next;
+        boolean first = true;
+        while ((next = queue.peek()) != null) {
+            if (next instanceof Runnable task) {
+                queue.poll();
+                runInSessionLoop(task);
+                continue;
+            }
+
+            BedrockPacket packet = (BedrockPacket) next;
+            int size = estimateSize(packet);
+            if (size > budget && !first) {
+                return 0;
+            }
+            first = false;
+            budget = Math.max(budget - size, 0);
+            queue.poll();
+
+            long spawnedId = spawnedRuntimeId(packet);
+            if (spawnedId != -1) {
+                pendingSpawns.remove(spawnedId);
+            }
+            for (UUID uuid : playerUuids(packet)) {
+                if (pendingPlayers.mergeInt(uuid, -1, Integer::sum) <= 0) {
+                    pendingPlayers.removeInt(uuid);
+                }
+            }
+            upstream.dispatch(packet, false);
+        }
+        return budget;
+    }
+
+    private static boolean isBarrier(BedrockPacket packet) {
+        return packet instanceof ChangeDimensionPacket || packet instanceof StartGamePacket || packet instanceof PlayStatusPacket
+            || packet instanceof DisconnectPacket || packet instanceof TransferPacket;
+    }
+
+    private static boolean isWorldPacket(BedrockPacket packet) {
+        return packet instanceof LevelChunkPacket || packet instanceof SubChunkPacket || packet instanceof NetworkChunkPublisherUpdatePacket
+            || packet instanceof UpdateBlockPacket || packet instanceof UpdateSubChunkBlocksPacket || packet instanceof BlockEntityDataPacket
+            || packet instanceof PlayerListPacket || spawnedRuntimeId(packet) != -1;
+    }
+
+    private static boolean isCosmeticPacket(BedrockPacket packet) {
+        return packet instanceof SpawnParticleEffectPacket || packet instanceof LevelEventPacket || packet instanceof PlayerSkinPacket;
+    }
+
+    private static long spawnedRuntimeId(BedrockPacket packet) {
+        if (packet instanceof AddEntityPacket addEntity) {
+            return addEntity.getRuntimeEntityId();
+        } else if (packet instanceof AddItemEntityPacket addItemEntity) {
+            return addItemEntity.getRuntimeEntityId();
+        } else if (packet instanceof AddPlayerPacket addPlayer) {
+            return addPlayer.getRuntimeEntityId();
+        } else if (packet instanceof AddPaintingPacket addPainting) {
+            return addPainting.getRuntimeEntityId();
+        }
+        return -1;
+    }
+
+    private boolean referencesPendingSpawn(BedrockPacket packet) {
+        if (pendingSpawns.isEmpty()) {
+            return false;
+        }
+        if (packet instanceof SetEntityLinkPacket link) {
+            return pendingSpawns.contains(link.getEntityLink().getFrom()) || pendingSpawns.contains(link.getEntityLink().getTo());
+        }
+        return pendingSpawns.contains(entityRuntimeId(packet));
+    }
+
+    private boolean referencesPendingPlayer(BedrockPacket packet) {
+        return packet instanceof PlayerSkinPacket skin && pendingPlayers.containsKey(skin.getUuid());
+    }
+
+    /**
+     * @return the players a player list or player spawn packet is about
+     */
+    private static List<UUID> playerUuids(BedrockPacket packet) {
+        if (packet instanceof PlayerListPacket playerList) {
+            List<UUID> uuids = new ArrayList<>(playerList.getEntries().size());
+            for (PlayerListPacket.Entry entry : playerList.getEntries()) {
+                uuids.add(entry.getUuid());
+            }
+            return uuids;
+        } else if (packet instanceof AddPlayerPacket addPlayer) {
+            return List.of(addPlayer.getUuid());
+        }
+        return List.of();
+    }
+
+    private static long entityRuntimeId(BedrockPacket packet) {
+        // Geyser uses the same value for runtime and unique entity IDs
+        if (packet instanceof MoveEntityDeltaPacket move) {
+            return move.getRuntimeEntityId();
+        } else if (packet instanceof MoveEntityAbsolutePacket move) {
+            return move.getRuntimeEntityId();
+        } else if (packet instanceof SetEntityDataPacket data) {
+            return data.getRuntimeEntityId();
+        } else if (packet instanceof SetEntityMotionPacket motion) {
+            return motion.getRuntimeEntityId();
+        } else if (packet instanceof MobEquipmentPacket equipment) {
+            return equipment.getRuntimeEntityId();
+        } else if (packet instanceof MobArmorEquipmentPacket equipment) {
+            return equipment.getRuntimeEntityId();
+        } else if (packet instanceof MobEffectPacket effect) {
+            return effect.getRuntimeEntityId();
+        } else if (packet instanceof UpdateAttributesPacket attributes) {
+            return attributes.getRuntimeEntityId();
+        } else if (packet instanceof EntityEventPacket event) {
+            return event.getRuntimeEntityId();
+        } else if (packet instanceof AnimatePacket animate) {
+            return animate.getRuntimeEntityId();
+        } else if (packet instanceof RemoveEntityPacket remove) {
+            return remove.getUniqueEntityId();
+        }
+        return -1;
+    }
+
+    private static int estimateSize(BedrockPacket packet) {
+        if (packet instanceof LevelChunkPacket chunk && chunk.getData() != null) {
+            return chunk.getData().readableBytes();
+        } else if (packet instanceof SubChunkPacket subChunk) {
+            int size = 0;
+            for (SubChunkData data : subChunk.getSubChunks()) {
+                size += data.getData() != null ? data.getData().readableBytes() : 0;
+            }
+            return Math.max(size, DEFAULT_PACKET_SIZE);
+        }
+        return DEFAULT_PACKET_SIZE;
+    }
+}
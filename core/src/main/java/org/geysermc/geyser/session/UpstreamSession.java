@@ -25,6 +25,7 @@
 
 package org.geysermc.geyser.session;
 
+import io.netty.channel.EventLoop;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -36,28 +37,135 @@ import org.geysermc.geyser.network.GeyserBedrockPeer;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.TimeUnit;
 
 @RequiredArgsConstructor
 public class UpstreamSession {
+    /**
+     * The longest time, in milliseconds, that a packet is held back to be sent together with others.
+     * 0 leaves batching up to the Bedrock peer.
+     */
+    private static final long MAX_BATCH_LATENCY = Long.getLong("Geyser.UpstreamBatchMaxLatency", 0L);
+
     @Getter private final BedrockServerSession session;
+    /**
+     * The event loop the {@link GeyserSession} runs on.
+     */
+    @Getter private final EventLoop tickEventLoop;
     @Getter @Setter
     private boolean initialized = false;
     private Queue<BedrockPacket> postStartGamePackets = new ArrayDeque<>();
+    /**
+     * Packets waiting to be sent with the next flush, if batching is enabled.
+     */
+    private final List<BedrockPacket> batchedPackets = new ArrayList<>();
+    private boolean flushScheduled = false;
+    /**
+     * Holds back bulk packets in favour of latency-sensitive ones, if enabled.
+     */
+    private final UpstreamPacketScheduler scheduler = UpstreamPacketScheduler.ENABLED ? new UpstreamPacketScheduler(this) : null;
 
     public void sendPacket(@NonNull BedrockPacket packet) {
-        if (!isClosed()) {
-            session.sendPacket(packet);
+        if (isClosed()) {
+            return;
         }
+        if (scheduler != null) {
+            scheduler.send(packet, false);
+            return;
+        }
+        dispatch(packet);
     }
 
     public void sendPacketImmediately(@NonNull BedrockPacket packet) {
-        if (!isClosed()) {
+        if (isClosed()) {
+            return;
+        }
+        if (scheduler != null) {
+            scheduler.send(packet, true);
+            return;
+        }
+        dispatchImmediately(packet);
+    }
+
+    void dispatch(@NonNull BedrockPacket packet, boolean immediately) {
+        if (immediately) {
+            dispatchImmediately(packet);
+        } else {
+            dispatch(packet);
+        }
+    }
+
+    private void dispatch(@NonNull BedrockPacket packet) {
+        if (MAX_BATCH_LATENCY <= 0) {
+            session.sendPacket(packet);
+            return;
+        }
+
+        synchronized (batchedPackets) {
+            batchedPackets.add(packet);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                session.getPeer().getChannel().eventLoop().schedule(() -> flush(), MAX_BATCH_LATENCY, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void dispatchImmediately(@NonNull BedrockPacket packet) {
+        if (MAX_BATCH_LATENCY <= 0) {
             session.sendPacketImmediately(packet);
+            return;
+        }
+
+        // Keep the order intact by sending everything batched before this packet along with it
+        flush(packet);
+    }
+
+    /**
+     * Runs the task on the session's event loop once the chunks, block updates and entity spawns sent so far have been
+     * handed to the Bedrock peer. This is right away unless they are being held back by packet scheduling.
+     */
+    public void runAfterWorldPackets(@NonNull Runnable task) {
+        if (scheduler != null) {
+            scheduler.runAfterWorldPackets(task);
+        } else if (tickEventLoop.inEventLoop()) {
+            task.run();
+        } else {
+            tickEventLoop.execute(task);
+        }
+    }
+
+    /**
+     * @return true if chunks, block updates or entity spawns sent earlier are still being held back by packet scheduling
+     */
+    public boolean hasHeldWorldPackets() {
+        return scheduler != null && scheduler.hasWorldPackets();
+    }
+
+    /**
+     * Sends all batched packets, followed by the given packets, so they are compressed and sent together.
+     */
+    public void flush(@NonNull BedrockPacket... packets) {
+        // Sent while holding the lock, so that two flushes from different threads can't overtake each other
+        synchronized (batchedPackets) {
+            flushScheduled = false;
+            if (!batchedPackets.isEmpty()) {
+                batchedPackets.addAll(Arrays.asList(packets));
+                packets = batchedPackets.toArray(new BedrockPacket[0]);
+                batchedPackets.clear();
+            }
+
+            if (!isClosed()) {
+                session.getPeer().sendPacketsImmediately(0, 0, packets);
+            }
         }
     }
 
     public void disconnect(String reason) {
+        flush();
         this.session.disconnect(reason);
     }
 
@@ -73,9 +181,10 @@ public class UpstreamSession {
             return;
         }
 
+        // Through sendPacket, so that they are queued behind StartGamePacket if it is still batched or held back
         BedrockPacket packet;
         while ((packet = postStartGamePackets.poll()) != null) {
-            session.sendPacket(packet);
+            sendPacket(packet);
         }
         postStartGamePackets = null;
     }
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongList;
+import lombok.Getter;
+import lombok.Setter;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.protocol.bedrock.packet.ClientCacheMissResponsePacket;
+import org.geysermc.geyser.session.GeyserSession;
+import org.jetbrains.annotations.VisibleForTesting;
+
+/**
+ * Tracks the chunk blobs that have been referenced by {@link org.cloudburstmc.protocol.bedrock.packet.LevelChunkPacket}s
+ * with caching enabled, but which the Bedrock client has not yet told us if it has stored.
+ * <p>
+ * When caching is enabled, every encoded sub-chunk and the biome data of a column are sent as a hash only. The client
+ * responds with the hashes it already has stored (acks) and the ones it is missing (naks); only the latter are sent.
+ */
+public class ChunkBlobCache {
+    /**
+     * Whether Geyser should use the Bedrock client blob cache for chunks if the client supports it.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("Geyser.UseChunkBlobCache");
+
+    /**
+     * The maximum size of the blobs held for a session until the client has answered for them, in megabytes.
+     * While it is reached, new chunks are sent without using the blob cache.
+     */
+    private static final long MAXIMUM_PENDING_SIZE = Long.getLong("Geyser.ChunkBlobCachePendingSize", 8L) * 1024 * 1024;
+
+    private final GeyserSession session;
+    /**
+     * Blobs that have been referenced in chunk packets the client has not answered for yet. The client answers for every
+     * chunk packet, so a blob is only dropped once it has been acknowledged or requested for each chunk referencing it.
+     */
+    private final Long2ObjectMap<PendingBlob> pendingBlobs = new Long2ObjectOpenHashMap<>();
+    /**
+     * The total size of all pending blobs
+     */
+    private long pendingSize;
+
+    /**
+     * If the client has told us it supports the blob cache via a ClientCacheStatusPacket.
+     */
+    @Getter
+    @Setter
+    private boolean clientSupported;
+
+    public ChunkBlobCache(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * @return true if chunks should be sent using blob hashes for this session
+     */
+    public boolean isActive() {
+        return ENABLED && clientSupported;
+    }
+
+    /**
+     * Registers the sub-chunks and biome data of a chunk column as blobs that will be referenced in an upcoming chunk packet.
+     * The arrays must not be modified afterwards.
+     *
+     * @return the blob IDs to place in the chunk packet, with the biome data last, or null if too many blobs are pending
+     *         already and the chunk should be sent in full
+     */
+    public long @Nullable [] store(byte[][] sections, byte[] biomes) {
+        long[] blobIds = new long[sections.length + 1];
+        for (int i = 0; i < sections.length; i++) {
+            blobIds[i] = xxHash64(sections[i]);
+        }
+        blobIds[sections.length] = xxHash64(biomes);
+
+        long addedSize = 0;
+        for (int i = 0; i < blobIds.length; i++) {
+            if (!pendingBlobs.containsKey(blobIds[i]) && isFirstOccurrence(blobIds, i)) {
+                addedSize += blob(sections, biomes, i).length;
+            }
+        }
+        if (pendingSize + addedSize > MAXIMUM_PENDING_SIZE) {
+            return null;
+        }
+        pendingSize += addedSize;
+
+        for (int i = 0; i < blobIds.length; i++) {
+            // The client answers once per blob of a chunk, even if multiple sections share it (think empty sections)
+            if (isFirstOccurrence(blobIds, i)) {
+                // The same blob may already be referenced by other chunks in flight (think plains biomes)
+                PendingBlob blob = pendingBlobs.get(blobIds[i]);
+                if (blob == null) {
+                    blob = new PendingBlob(blob(sections, biomes, i));
+                    pendingBlobs.put(blobIds[i], blob);
+                }
+                blob.references++;
+            }
+        }
+        return blobIds;
+    }
+
+    /**
+     * Handles the client's response to blob IDs sent in chunk packets.
+     *
+     * @param missing the blob IDs the client does not have stored, and should be sent
+     * @param acknowledged the blob IDs the client already has stored
+     */
+    public void onBlobStatus(LongList missing, LongList acknowledged) {
+        for (int i = 0; i < acknowledged.size(); i++) {
+            release(acknowledged.getLong(i));
+        }
+
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        ClientCacheMissResponsePacket responsePacket = new ClientCacheMissResponsePacket();
+        for (int i = 0; i < missing.size(); i++) {
+            long blobId = missing.getLong(i);
+            byte[] data = release(blobId);
+            if (data == null) {
+                session.getGeyser().getLogger().debug("Client requested chunk blob " + blobId + " that we do not have!");
+                continue;
+            }
+            responsePacket.getBlobs().put(blobId, Unpooled.wrappedBuffer(data));
+        }
+
+        if (!responsePacket.getBlobs().isEmpty()) {
+            session.sendUpstreamPacket(responsePacket);
+        }
+    }
+
+    /**
+     * Drops one chunk's reference to a blob, removing the blob once no chunk in flight references it anymore.
+     *
+     * @return the data of the blob, or null if it isn't pending
+     */
+    private byte @Nullable [] release(long blobId) {
+        PendingBlob blob = pendingBlobs.get(blobId);
+        if (blob == null) {
+            return null;
+        }
+        if (--blob.references == 0) {
+            pendingBlobs.remove(blobId);
+            pendingSize -= blob.data.length;
+        }
+        return blob.data;
+    }
+
+    /**
+     * @return the number of blobs the client has not answered for yet
+     */
+    @VisibleForTesting
+    int pendingBlobCount() {
+        return pendingBlobs.size();
+    }
+
+    private static byte[] blob(byte[][] sections, byte[] biomes, int index) {
+        return index < sections.length ? sections[index] : biomes;
+    }
+
+    private static boolean isFirstOccurrence(long[] blobIds, int index) {
+        for (int i = 0; i < index; i++) {
+            if (blobIds[i] == blobIds[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The Bedrock client identifies blobs with a 64-bit xxHash of their contents, using a seed of 0.
+     */
+    public static long xxHash64(byte[] data) {
+        final long prime1 = 0x9E3779B185EBCA87L;
+        final long prime2 = 0xC2B2AE3D27D4EB4FL;
+        final long prime3 = 0x165667B19E3779F9L;
+        final long prime4 = 0x85EBCA77C2B2AE63L;
+        final long prime5 = 0x27D4EB2F165667C5L;
+
+        int length = data.length;
+        int index = 0;
+        long hash;
+
+        if (length >= 32) {
+            long v1 = prime1 + prime2;
+            long v2 = prime2;
+            long v3 = 0;
+            long v4 = -prime1;
+            int limit = length - 32;
+            do {
+                v1 = xxHashRound(v1, readLongLE(data, index));
+                v2 = xxHashRound(v2, readLongLE(data, index + 8));
+                v3 = xxHashRound(v3, readLongLE(data, index + 16));
+                v4 = xxHashRound(v4, readLongLE(data, index + 24));
+                index += 32;
+            } while (index <= limit);
+
+            hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            hash = (hash ^ xxHashRound(0, v1)) * prime1 + prime4;
+            hash = (hash ^ xxHashRound(0, v2)) * prime1 + prime4;
+            hash = (hash ^ xxHashRound(0, v3)) * prime1 + prime4;
+            hash = (hash ^ xxHashRound(0, v4)) * prime1 + prime4;
+        } else {
+            hash = prime5;
+        }
+
+        hash += length;
+
+        while (index + 8 <= length) {
+            hash ^= xxHashRound(0, readLongLE(data, index));
+            hash = Long.rotateLeft(hash, 27) * prime1 + prime4;
+            index += 8;
+        }
+
+        if (index + 4 <= length) {
+            hash ^= (readIntLE(data, index) & 0xFFFFFFFFL) * prime1;
+            hash = Long.rotateLeft(hash, 23) * prime2 + prime3;
+            index += 4;
+        }
+
+        while (index < length) {
+            hash ^= (data[index] & 0xFF) * prime5;
+            hash = Long.rotateLeft(hash, 11) * prime1;
+            index++;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= prime2;
+        hash ^= hash >>> 29;
+        hash *= prime3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+
+    private static long xxHashRound(long accumulator, long input) {
+        accumulator += input * 0xC2B2AE3D27D4EB4FL;
+        accumulator = Long.rotateLeft(accumulator, 31);
+        return accumulator * 0x9E3779B185EBCA87L;
+    }
+
+    private static long readLongLE(byte[] data, int index) {
+        return (data[index] & 0xFFL)
+            | (data[index + 1] & 0xFFL) << 8
+            | (data[index + 2] & 0xFFL) << 16
+            | (data[index + 3] & 0xFFL) << 24
+            | (data[index + 4] & 0xFFL) << 32
+            | (data[index + 5] & 0xFFL) << 40
+            | (data[index + 6] & 0xFFL) << 48
+            | (data[index + 7] & 0xFFL) << 56;
+    }
+
+    private static int readIntLE(byte[] data, int index) {
+        return (data[index] & 0xFF)
+            | (data[index + 1] & 0xFF) << 8
+            | (data[index + 2] & 0xFF) << 16
+            | (data[index + 3] & 0xFF) << 24;
+    }
+
+    private static final class PendingBlob {
+        private final byte[] data;
+        /**
+         * The number of chunks in flight referencing this blob
+         */
+        private int references;
+
+        private PendingBlob(byte[] data) {
+            this.data = data;
+        }
+    }
+}
@@ -63,8 +63,12 @@ public class EntityCache {
     @Getter
     private final AtomicLong nextEntityId = new AtomicLong(2L);
 
+    @Getter
+    private final EntityVisibilityManager visibilityManager;
+
     public EntityCache(GeyserSession session) {
         this.session = session;
+        this.visibilityManager = new EntityVisibilityManager(session);
     }
 
     public void spawnEntity(Entity entity) {
@@ -74,7 +78,9 @@ public class EntityCache {
             // empty) with the entity spawn packet (which also includes metadata). Resulting in 1 less packet sent.
             session.getWorldCache().getScoreboard().entityRegistered(entity);
 
-            entity.spawnEntity();
+            if (visibilityManager.shouldSpawn(entity)) {
+                entity.spawnEntity();
+            }
 
             if (entity instanceof Tickable) {
                 // Start ticking it
@@ -106,6 +112,7 @@ public class EntityCache {
             entity.despawnEntity();
         }
         entities.remove(entityIdTranslations.remove(entity.getEntityId()));
+        visibilityManager.removeEntity(entity);
 
         // don't track the entity anymore, now that it's removed
         session.getWorldCache().getScoreboard().entityRemoved(entity);
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import org.cloudburstmc.math.vector.Vector3f;
+import org.geysermc.geyser.entity.type.Entity;
+import org.geysermc.geyser.entity.type.ExpOrbEntity;
+import org.geysermc.geyser.entity.type.ItemEntity;
+import org.geysermc.geyser.entity.type.living.MobEntity;
+import org.geysermc.geyser.entity.type.living.monster.EnderDragonEntity;
+import org.geysermc.geyser.entity.vehicle.ClientVehicle;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps far away or excess entities cached but despawned on the Bedrock client, similar to how the {@link SkullCache}
+ * culls custom skulls. Culled entities are respawned with their current state once they come back into range.
+ * <p>
+ * Only simple entities (items, experience orbs and mobs that aren't ridden or riding) are culled, and culling is
+ * disabled unless {@code Geyser.EntityCullingDistance} or {@code Geyser.MaxVisibleEntities} is set.
+ */
+public class EntityVisibilityManager {
+    /**
+     * The radius in blocks around the player in which entities are displayed, or -1 for no limit.
+     */
+    private static final int CULLING_DISTANCE = Integer.getInteger("Geyser.EntityCullingDistance", -1);
+    /**
+     * The maximum number of cullable entities displayed at once, or -1 for no limit.
+     */
+    private static final int MAX_VISIBLE_ENTITIES = Integer.getInteger("Geyser.MaxVisibleEntities", -1);
+    public static final boolean ENABLED = CULLING_DISTANCE > 0 || MAX_VISIBLE_ENTITIES >= 0;
+
+    /**
+     * Entities move on their own, so visibility is rechecked periodically and not only on player movement.
+     */
+    private static final int RECHECK_INTERVAL_TICKS = 10;
+
+    private final GeyserSession session;
+    private final float cullingDistanceSquared;
+
+    /**
+     * Cullable entities that are currently spawned on the client.
+     */
+    private final Set<Entity> visibleEntities = new ReferenceOpenHashSet<>();
+    private final List<Entity> inRangeEntities = new ArrayList<>();
+
+    private Vector3f lastPlayerPosition;
+    private int ticksUntilRecheck;
+
+    public EntityVisibilityManager(GeyserSession session) {
+        this.session = session;
+        this.cullingDistanceSquared = CULLING_DISTANCE > 0 ? (float) CULLING_DISTANCE * CULLING_DISTANCE : Float.MAX_VALUE;
+    }
+
+    /**
+     * Called for newly cached entities.
+     *
+     * @return true if the entity should be spawned on the client now
+     */
+    public boolean shouldSpawn(Entity entity) {
+        if (!ENABLED || !isCullable(entity)) {
+            return true;
+        }
+        Vector3f playerPosition = session.getPlayerEntity().getPosition();
+        if (entity.getPosition().distanceSquared(playerPosition) > cullingDistanceSquared
+                || (MAX_VISIBLE_ENTITIES >= 0 && visibleEntities.size() >= MAX_VISIBLE_ENTITIES)) {
+            // Closer entities will take over the slot of farther ones on the next recheck
+            entity.cull();
+            return false;
+        }
+        visibleEntities.add(entity);
+        return true;
+    }
+
+    /**
+     * Spawns the entity on the client if it is culled. Should be called before anything that the client needs the
+     * entity for, such as links to other entities.
+     */
+    public void ensureVisible(Entity entity) {
+        if (entity.isCulled()) {
+            entity.uncull();
+        }
+    }
+
+    public void removeEntity(Entity entity) {
+        visibleEntities.remove(entity);
+    }
+
+    public void tick() {
+        if (!ENABLED) {
+            return;
+        }
+        Vector3f playerPosition = session.getPlayerEntity().getPosition();
+        // Teleports and fast movement shouldn't wait for the next periodic recheck
+        if (--ticksUntilRecheck > 0 && lastPlayerPosition != null && playerPosition.distanceSquared(lastPlayerPosition) < 4) {
+            return;
+        }
+        ticksUntilRecheck = RECHECK_INTERVAL_TICKS;
+        lastPlayerPosition = playerPosition;
+
+        inRangeEntities.clear();
+        for (Entity entity : session.getEntityCache().getEntities().values()) {
+            if (!isCullable(entity)) {
+                // For example, the entity has since been mounted
+                visibleEntities.remove(entity);
+                ensureVisible(entity);
+                continue;
+            }
+            if (entity.getPosition().distanceSquared(playerPosition) > cullingDistanceSquared) {
+                hide(entity);
+            } else {
+                inRangeEntities.add(entity);
+            }
+        }
+
+        int visible = inRangeEntities.size();
+        if (MAX_VISIBLE_ENTITIES >= 0 && visible > MAX_VISIBLE_ENTITIES) {
+            inRangeEntities.sort(Comparator.comparingDouble(entity -> entity.getPosition().distanceSquared(playerPosition)));
+            visible = MAX_VISIBLE_ENTITIES;
+            // Free slots first so the closest entities can take them over
+            for (int i = visible; i < inRangeEntities.size(); i++) {
+                hide(inRangeEntities.get(i));
+            }
+        }
+        for (int i = 0; i < visible; i++) {
+            show(inRangeEntities.get(i));
+        }
+        inRangeEntities.clear();
+    }
+
+    private void show(Entity entity) {
+        visibleEntities.add(entity);
+        ensureVisible(entity);
+    }
+
+    private void hide(Entity entity) {
+        visibleEntities.remove(entity);
+        entity.cull();
+    }
+
+    private static boolean isCullable(Entity entity) {
+        if (!entity.getPassengers().isEmpty() || entity.getVehicle() != null) {
+            // Despawning would unlink them on the client
+            return false;
+        }
+        return entity instanceof ItemEntity || entity instanceof ExpOrbEntity
+            || (entity instanceof MobEntity && !(entity instanceof ClientVehicle) && !(entity instanceof EnderDragonEntity));
+    }
+}
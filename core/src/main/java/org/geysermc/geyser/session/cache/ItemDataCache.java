@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
+import org.geysermc.geyser.entity.attribute.GeyserAttributeType;
+import org.geysermc.geyser.registry.type.ItemMapping;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.mcprotocollib.protocol.data.game.item.component.DataComponents;
+
+import java.util.function.Supplier;
+
+/**
+ * Caches translated Bedrock items by their Java item, Bedrock mapping and components. Translating lore, names and enchantments is
+ * comparatively expensive, and inventories are often resent while most items in them are unchanged.
+ * <p>
+ * Cached items hold the count they were first translated with - callers apply the actual count on top.
+ */
+public final class ItemDataCache {
+    private static final int MAXIMUM_SIZE = Integer.getInteger("Geyser.ItemDataCacheSize", 256);
+
+    private final GeyserSession session;
+    private final Cache<Key, ItemData> cache = CacheBuilder.newBuilder()
+        .maximumSize(Math.max(MAXIMUM_SIZE, 0))
+        .build();
+
+    /*
+     * Session state that is part of the item tooltips. If any of it changes, all cached items are outdated.
+     */
+    private boolean advancedTooltips;
+    private double attackSpeed;
+    private float attackDamage;
+
+    public ItemDataCache(GeyserSession session) {
+        this.session = session;
+    }
+
+    public ItemData get(int javaId, ItemMapping mapping, @Nullable DataComponents components, Supplier<ItemData> translator) {
+        if (MAXIMUM_SIZE <= 0) {
+            return translator.get();
+        }
+
+        float attackDamage = session.getPlayerEntity().attributeOrDefault(GeyserAttributeType.ATTACK_DAMAGE);
+        if (advancedTooltips != session.isAdvancedTooltips() || attackSpeed != session.getAttackSpeed() || this.attackDamage != attackDamage) {
+            cache.invalidateAll();
+            this.advancedTooltips = session.isAdvancedTooltips();
+            this.attackSpeed = session.getAttackSpeed();
+            this.attackDamage = attackDamage;
+        }
+
+        ItemData itemData = cache.getIfPresent(new Key(javaId, mapping, components));
+        if (itemData == null) {
+            itemData = translator.get();
+            // Components are mutable - the key must not change with the item it was created from
+            cache.put(new Key(javaId, mapping, components == null ? null : components.clone()), itemData);
+        }
+        return itemData;
+    }
+
+    /**
+     * Should be called when registries or tags may have changed.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private record Key(int javaId, ItemMapping mapping, @Nullable DataComponents components) {
+    }
+}
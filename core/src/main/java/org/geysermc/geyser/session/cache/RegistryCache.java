@@ -29,6 +29,7 @@ import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import lombok.Getter;
 import net.kyori.adventure.key.Key;
 import org.cloudburstmc.nbt.NbtMap;
 import org.cloudburstmc.nbt.NbtType;
@@ -68,6 +69,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Stores any information sent via Java registries. May not contain all data in a given registry - we'll strip what's
@@ -122,8 +124,16 @@ public final class RegistryCache implements JavaRegistryProvider {
         DEFAULTS = Map.copyOf(defaults);
     }
 
+    private static final AtomicLong GENERATIONS = new AtomicLong();
+
     private final GeyserSession session;
     private final Reference2ObjectMap<JavaRegistryKey<?>, SimpleJavaRegistry<?>> registries;
+    /**
+     * Changes every time a registry is loaded, so that values derived from registry contents can be invalidated.
+     * Generations are unique across all sessions, so they also tell registry caches apart without referencing them.
+     */
+    @Getter
+    private long generation = GENERATIONS.incrementAndGet();
 
     public RegistryCache(GeyserSession session) {
         this.session = session;
@@ -140,6 +150,7 @@ public final class RegistryCache implements JavaRegistryProvider {
         // Java generic mess - we're sure we're putting the current readers for the correct registry types in the READERS map, so we use raw objects here to let it compile
         JavaRegistryKey registryKey = JavaRegistries.fromKey(packet.getRegistry());
         if (registryKey != null) {
+            generation = GENERATIONS.incrementAndGet();
             RegistryReader reader = READERS.get(registryKey);
             if (reader != null) {
                 try {
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.cloudburstmc.math.vector.Vector3i;
+import org.cloudburstmc.nbt.NBTOutputStream;
+import org.cloudburstmc.nbt.NbtMap;
+import org.cloudburstmc.nbt.NbtUtils;
+import org.cloudburstmc.protocol.bedrock.data.HeightMapDataType;
+import org.cloudburstmc.protocol.bedrock.data.SubChunkData;
+import org.cloudburstmc.protocol.bedrock.data.SubChunkRequestResult;
+import org.cloudburstmc.protocol.bedrock.packet.SubChunkPacket;
+import org.cloudburstmc.protocol.bedrock.packet.SubChunkRequestPacket;
+import org.geysermc.geyser.level.BedrockDimension;
+import org.geysermc.geyser.level.chunk.EncodedChunkColumn;
+import org.geysermc.geyser.level.chunk.GeyserChunkSection;
+import org.geysermc.geyser.network.GameProtocol;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.util.ChunkUtils;
+import org.geysermc.geyser.util.MathUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Holds translated chunk columns so that their sub-chunks can be sent when the Bedrock client requests them,
+ * instead of sending every sub-chunk of a column up front.
+ */
+public class SubChunkCache {
+    /**
+     * Whether Geyser should let the Bedrock client request the sub-chunks it needs.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("Geyser.UseSubChunkRequests");
+
+    private static final int HEIGHT_MAP_SIZE = 256;
+
+    private final GeyserSession session;
+    private final Long2ObjectMap<StoredColumn> columns = new Long2ObjectOpenHashMap<>();
+
+    public SubChunkCache(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * @return true if chunks should be sent using sub-chunk requests for this session
+     */
+    public boolean isActive() {
+        return ENABLED && GameProtocol.is1_21_110orHigher(session);
+    }
+
+    /**
+     * Stores a translated column, replacing any previous column at this position.
+     *
+     * @param blockEntities the Bedrock block entities of the column, which are sent alongside the sub-chunk they are in
+     * @param heightMap the highest non-air block for each X/Z position in the column, indexed as {@code (z << 4) | x}
+     */
+    public void storeColumn(int chunkX, int chunkZ, EncodedChunkColumn column, List<NbtMap> blockEntities, int[] heightMap) {
+        BedrockDimension bedrockDimension = session.getBedrockDimension();
+        columns.put(MathUtils.chunkPositionToLong(chunkX, chunkZ), new StoredColumn(column, blockEntities, heightMap,
+            bedrockDimension.bedrockId(), bedrockDimension.minY() >> 4, bedrockDimension.height() >> 4));
+    }
+
+    public void removeColumn(int chunkX, int chunkZ) {
+        columns.remove(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+    }
+
+    public void clear() {
+        columns.clear();
+    }
+
+    /**
+     * Called when a block is updated client-side. Sub-chunks are encoded from the column as it was stored, so the
+     * update is sent again every time its sub-chunk is requested. This covers both updates the client ignored because
+     * the sub-chunk had not been sent yet, and sub-chunks the client requests again after discarding them.
+     */
+    public void onBlockUpdate(Vector3i position) {
+        if (columns.isEmpty()) {
+            return;
+        }
+        StoredColumn column = columns.get(MathUtils.chunkPositionToLong(position.getX() >> 4, position.getZ() >> 4));
+        if (column == null) {
+            return;
+        }
+        int index = (position.getY() >> 4) - column.minSubChunkY;
+        if (index >= 0 && index < column.subChunkCount) {
+            column.updatedBlocks.add(position);
+        }
+    }
+
+    public void handleRequest(SubChunkRequestPacket packet) {
+        Vector3i center = packet.getSubChunkPosition();
+
+        SubChunkPacket subChunkPacket = new SubChunkPacket();
+        subChunkPacket.setDimension(packet.getDimension());
+        subChunkPacket.setCenterPosition(center);
+        subChunkPacket.setCacheEnabled(false);
+
+        List<Vector3i> deliveredPositions = new ArrayList<>();
+        for (Vector3i offset : packet.getPositionOffsets()) {
+            Vector3i position = center.add(offset);
+            SubChunkData data = new SubChunkData();
+            data.setPosition(offset);
+            data.setHeightMapType(HeightMapDataType.NO_DATA);
+            data.setRenderHeightMapType(HeightMapDataType.NO_DATA);
+            data.setData(Unpooled.EMPTY_BUFFER);
+
+            StoredColumn column = columns.get(MathUtils.chunkPositionToLong(position.getX(), position.getZ()));
+            int index = column == null ? -1 : position.getY() - column.minSubChunkY;
+            if (column == null) {
+                data.setResult(SubChunkRequestResult.CHUNK_NOT_FOUND);
+            } else if (column.dimension != packet.getDimension()) {
+                data.setResult(SubChunkRequestResult.INVALID_DIMENSION);
+            } else if (index < 0 || index >= column.subChunkCount) {
+                data.setResult(SubChunkRequestResult.INDEX_OUT_OF_BOUNDS);
+            } else {
+                data.setResult(SubChunkRequestResult.SUCCESS);
+                data.setData(encodeSubChunk(column, index, position.getY()));
+                writeHeightMap(data, column.heightMap, position.getY());
+                deliveredPositions.add(position);
+            }
+            subChunkPacket.getSubChunks().add(data);
+        }
+
+        session.sendUpstreamPacket(subChunkPacket);
+
+        // The sub-chunks were encoded from the stored column, so bring them up to date with the blocks changed since
+        for (Vector3i position : deliveredPositions) {
+            StoredColumn column = columns.get(MathUtils.chunkPositionToLong(position.getX(), position.getZ()));
+            if (column == null || column.updatedBlocks.isEmpty()) {
+                continue;
+            }
+            for (Vector3i update : column.updatedBlocks) {
+                if ((update.getY() >> 4) == position.getY()) {
+                    ChunkUtils.updateBlockClientSide(session, session.getGeyser().getWorldManager().blockAt(session, update), update);
+                }
+            }
+        }
+    }
+
+    private ByteBuf encodeSubChunk(StoredColumn column, int index, int subChunkY) {
+        ByteBuf buffer = ByteBufAllocator.DEFAULT.ioBuffer();
+        try {
+            byte[][] sections = column.column.sections();
+            if (index < sections.length) {
+                buffer.writeBytes(sections[index]);
+            } else {
+                // Above the highest section that contains blocks
+                new GeyserChunkSection(ChunkUtils.EMPTY_BLOCK_STORAGE, subChunkY).writeToNetwork(buffer);
+            }
+
+            NBTOutputStream nbtStream = NbtUtils.createNetworkWriter(new ByteBufOutputStream(buffer));
+            for (NbtMap blockEntity : column.blockEntities) {
+                if ((blockEntity.getInt("y") >> 4) == subChunkY) {
+                    nbtStream.writeTag(blockEntity);
+                }
+            }
+            return buffer;
+        } catch (IOException e) {
+            buffer.release();
+            session.getGeyser().getLogger().error("IO error while encoding sub-chunk", e);
+            return Unpooled.EMPTY_BUFFER;
+        }
+    }
+
+    /**
+     * Bedrock expects the height map relative to the bottom of the sub-chunk, with -1 meaning below and 16 meaning
+     * above it. If every position is above or below, only that is sent.
+     */
+    private static void writeHeightMap(SubChunkData data, int[] heightMap, int subChunkY) {
+        int bottom = subChunkY << 4;
+        boolean allAbove = true;
+        boolean allBelow = true;
+        byte[] relativeHeights = new byte[HEIGHT_MAP_SIZE];
+        for (int i = 0; i < HEIGHT_MAP_SIZE; i++) {
+            int relativeHeight = Math.max(-1, Math.min(16, heightMap[i] - bottom));
+            relativeHeights[i] = (byte) relativeHeight;
+            allAbove &= relativeHeight == 16;
+            allBelow &= relativeHeight == -1;
+        }
+
+        HeightMapDataType type;
+        if (allAbove) {
+            type = HeightMapDataType.TOO_HIGH;
+        } else if (allBelow) {
+            type = HeightMapDataType.TOO_LOW;
+        } else {
+            type = HeightMapDataType.HAS_DATA;
+            data.setHeightMapData(Unpooled.wrappedBuffer(relativeHeights));
+            data.setRenderHeightMapData(Unpooled.wrappedBuffer(relativeHeights));
+        }
+        data.setHeightMapType(type);
+        data.setRenderHeightMapType(type);
+    }
+
+    private static final class StoredColumn {
+        private final EncodedChunkColumn column;
+        private final List<NbtMap> blockEntities;
+        private final int[] heightMap;
+        private final int dimension;
+        private final int minSubChunkY;
+        private final int subChunkCount;
+        /**
+         * Blocks updated since this column was stored, which the stored sections do not include.
+         */
+        private final Set<Vector3i> updatedBlocks = new HashSet<>();
+
+        private StoredColumn(EncodedChunkColumn column, List<NbtMap> blockEntities, int[] heightMap, int dimension, int minSubChunkY, int subChunkCount) {
+            this.column = column;
+            this.blockEntities = blockEntities;
+            this.heightMap = heightMap;
+            this.dimension = dimension;
+            this.minSubChunkY = minSubChunkY;
+            this.subChunkCount = subChunkCount;
+        }
+    }
+}
@@ -25,8 +25,10 @@
 
 package org.geysermc.geyser.session.cache;
 
+import it.unimi.dsi.fastutil.HashCommon;
 import it.unimi.dsi.fastutil.ints.IntArrays;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import lombok.Getter;
 import net.kyori.adventure.key.Key;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -64,6 +66,11 @@ import java.util.Map;
 public final class TagCache {
     private final GeyserSession session;
     private final Map<Tag<?>, int[]> tags = new Object2ObjectOpenHashMap<>();
+    /**
+     * The contents of all item tags, used to share recipe translations between sessions with the same tags.
+     */
+    @Getter
+    private ItemTags itemTags = ItemTags.EMPTY;
 
     public TagCache(GeyserSession session) {
         this.session = session;
@@ -74,6 +81,7 @@ public final class TagCache {
         GeyserLogger logger = session.getGeyser().getLogger();
 
         this.tags.clear();
+        this.itemTags = ItemTags.EMPTY;
 
         for (Key registryKey : allTags.keySet()) {
             JavaRegistryKey<?> registry = JavaRegistries.fromKey(registryKey);
@@ -103,6 +111,9 @@ public final class TagCache {
 
             loadTags(registryTags, registry, registry == JavaRegistries.ITEM);
         }
+
+        // Item translation reads tags, e.g. for the tool components
+        session.getItemDataCache().clear();
     }
 
     private void loadTags(Map<Key, int[]> packetTags, JavaRegistryKey<?> registry, boolean sort) {
@@ -114,6 +125,9 @@ public final class TagCache {
             }
             this.tags.put(new Tag<>(registry, tag.getKey()), value);
         }
+        if (registry == JavaRegistries.ITEM) {
+            this.itemTags = new ItemTags(Map.copyOf(packetTags));
+        }
     }
 
     /**
@@ -185,4 +199,45 @@ public final class TagCache {
         }
         return false;
     }
+
+    /**
+     * The item tags of a session, compared by their contents. The arrays must not be modified.
+     */
+    public static final class ItemTags {
+        private static final ItemTags EMPTY = new ItemTags(Map.of());
+
+        private final Map<Key, int[]> tags;
+        private final int hash;
+
+        private ItemTags(Map<Key, int[]> tags) {
+            this.tags = tags;
+            int hash = 0;
+            for (Map.Entry<Key, int[]> tag : tags.entrySet()) {
+                // Order-independent, as the order of tags in the packet doesn't matter
+                hash += HashCommon.mix(31 * tag.getKey().hashCode() + Arrays.hashCode(tag.getValue()));
+            }
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ItemTags other) || hash != other.hash || tags.size() != other.tags.size()) {
+                return false;
+            }
+            for (Map.Entry<Key, int[]> tag : tags.entrySet()) {
+                if (!Arrays.equals(tag.getValue(), other.tags.get(tag.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
@@ -43,6 +43,7 @@ import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.util.ChunkUtils;
 import org.geysermc.mcprotocollib.protocol.data.game.item.component.DataComponentTypes;
 import org.geysermc.mcprotocollib.protocol.data.game.item.component.UseCooldown;
+import org.geysermc.mcprotocollib.protocol.data.game.level.block.BlockChangeEntry;
 import org.geysermc.mcprotocollib.protocol.data.game.setting.Difficulty;
 
 import java.util.Iterator;
@@ -176,6 +177,21 @@ public final class WorldCache {
     }
 
     public void updateServerCorrectBlockState(Vector3i position, int blockState) {
+        onServerBlockState(position, blockState);
+        ChunkUtils.updateBlock(session, blockState, position);
+    }
+
+    /**
+     * Updates all blocks of a chunk section at once, which allows them to be sent to the client in a single packet.
+     */
+    public void updateServerCorrectBlockStates(BlockChangeEntry[] entries) {
+        for (BlockChangeEntry entry : entries) {
+            onServerBlockState(entry.getPosition(), entry.getBlock());
+        }
+        ChunkUtils.updateBlocks(session, entries);
+    }
+
+    private void onServerBlockState(Vector3i position, int blockState) {
         if (!this.unverifiedPredictions.isEmpty()) {
             this.unverifiedPredictions.removeInt(position);
         }
@@ -185,8 +201,6 @@ public final class WorldCache {
         if (clientBreakPos != null && Objects.equals(clientBreakPos, position)) {
             session.getBlockBreakHandler().setUpdatedServerBlockStateId(blockState);
         }
-
-        ChunkUtils.updateBlock(session, blockState, position);
     }
 
     public void endPredictionsUpTo(int sequence) {
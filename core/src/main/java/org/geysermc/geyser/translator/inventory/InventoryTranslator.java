@@ -252,6 +252,8 @@ public abstract class InventoryTranslator<Type extends Inventory> {
     }
 
     public final void translateRequests(GeyserSession session, Type inventory, List<ItemStackRequest> requests) {
+        // The client predicts the outcome of its requests, so we no longer know what it shows
+        inventory.setBedrockContents(null);
         boolean refresh = false;
         ItemStackResponsePacket responsePacket = new ItemStackResponsePacket();
         for (ItemStackRequest request : requests) {
@@ -149,7 +149,7 @@ public final class ItemTranslator {
             session.getGeyser().getLogger().debug("ItemMapping returned air: " + javaId);
             return ItemData.builder();
         }
-        return translateToBedrock(session, Registries.JAVA_ITEMS.get().get(javaId), bedrockItem, count, components);
+        return translateCached(session, Registries.JAVA_ITEMS.get().get(javaId), bedrockItem, count, components);
     }
 
     @NonNull
@@ -164,7 +164,7 @@ public final class ItemTranslator {
             return ItemData.AIR;
         }
         // Java item needs to be loaded separately. The mapping for tipped arrow would
-        return translateToBedrock(session, Registries.JAVA_ITEMS.get().get(stack.getId()), bedrockItem, stack.getAmount(), stack.getDataComponentsPatch())
+        return translateCached(session, Registries.JAVA_ITEMS.get().get(stack.getId()), bedrockItem, stack.getAmount(), stack.getDataComponentsPatch())
                 .build();
     }
 
@@ -180,10 +180,23 @@ public final class ItemTranslator {
             return ItemData.AIR;
         }
 
-        return translateToBedrock(session, stack.asItem(), bedrockItem, stack.getAmount(), stack.getComponents())
+        return translateCached(session, stack.asItem(), bedrockItem, stack.getAmount(), stack.getComponents())
                 .build();
     }
 
+    /**
+     * Translates an item through the session's {@link org.geysermc.geyser.session.cache.ItemDataCache}.
+     */
+    private static ItemData.@NonNull Builder translateCached(GeyserSession session, Item javaItem, ItemMapping bedrockItem, int count, @Nullable DataComponents components) {
+        if (count <= 0 || (components != null && components.getDataComponents().containsKey(DataComponentTypes.LODESTONE_TRACKER))) {
+            // Lodestone compasses register themselves in the lodestone cache while being translated
+            return translateToBedrock(session, javaItem, bedrockItem, count, components);
+        }
+        ItemData itemData = session.getItemDataCache().get(javaItem.javaId(), bedrockItem, components,
+            () -> translateToBedrock(session, javaItem, bedrockItem, count, components).build());
+        return itemData.toBuilder().count(count);
+    }
+
     public static ItemData.@NonNull Builder translateToBedrock(GeyserSession session, Item javaItem, ItemMapping bedrockItem, int count, @Nullable DataComponents customComponents) {
         BedrockItemBuilder nbtBuilder = new BedrockItemBuilder();
 
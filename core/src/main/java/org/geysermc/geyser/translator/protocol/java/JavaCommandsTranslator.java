@@ -26,9 +26,9 @@
 package org.geysermc.geyser.translator.protocol.java;
 
 import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import it.unimi.dsi.fastutil.Hash;
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
@@ -37,12 +37,15 @@ import lombok.ToString;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.protocol.bedrock.data.command.*;
 import org.cloudburstmc.protocol.bedrock.packet.AvailableCommandsPacket;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.api.event.java.ServerDefineCommandsEvent;
 import org.geysermc.geyser.api.util.PlatformType;
 import org.geysermc.geyser.command.CommandRegistry;
+import org.geysermc.geyser.event.GeyserEventBus;
+import org.geysermc.geyser.network.PacketBroadcaster;
 import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.session.GeyserSession;
@@ -57,6 +60,8 @@ import org.geysermc.mcprotocollib.protocol.data.game.entity.attribute.AttributeT
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundCommandsPacket;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 @SuppressWarnings("removal") // We know. This is our doing.
@@ -73,6 +78,14 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
     private static final String[] VALID_COLORS;
     private static final String[] VALID_SCOREBOARD_SLOTS;
 
+    /**
+     * Translated command trees, shared between sessions that were sent the same Java command tree.
+     */
+    private static final Cache<CommandTreeKey, TranslatedCommandTree> TRANSLATED_TREES = CacheBuilder.newBuilder()
+        .maximumSize(Integer.getInteger("Geyser.CommandTreeCacheSize", 64))
+        .expireAfterAccess(30, TimeUnit.MINUTES)
+        .build();
+
     private static final Hash.Strategy<BedrockCommandInfo> PARAM_STRATEGY = new Hash.Strategy<>() {
         @Override
         public int hashCode(BedrockCommandInfo o) {
@@ -133,13 +146,67 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
             return;
         }
 
+        TranslatedCommandTree tree;
+        try {
+            tree = TRANSLATED_TREES.get(CommandTreeKey.of(session, packet), () -> translateTree(session, packet));
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+
+        session.setKnownCommands(tree.knownCommands());
+        session.setRestrictedCommands(tree.restrictedCommands());
+
+        GeyserEventBus eventBus = session.getGeyser().eventBus();
+        boolean standalone = session.getGeyser().platformType() == PlatformType.STANDALONE;
+        if (!standalone && eventBus.subscribers(ServerDefineCommandsEvent.class).isEmpty()
+                && eventBus.subscribers(org.geysermc.geyser.api.event.downstream.ServerDefineCommandsEvent.class).isEmpty()) {
+            // Nothing can change the commands of this session, so the shared packet can be sent as-is
+            session.getGeyser().getLogger().debug("Sending shared command packet of " + tree.packet().getCommands().size() + " commands");
+            session.sendUpstreamPacket(tree.packet());
+            return;
+        }
+
+        // Listeners may remove commands, so they get their own copy
+        Map<BedrockCommandInfo, Set<String>> commands = new Object2ObjectOpenCustomHashMap<>(tree.commands(), PARAM_STRATEGY);
+
+        var event = new ServerDefineCommandsEvent(session, commands.keySet());
+        eventBus.fire(event);
+        if (event.isCancelled()) {
+            return;
+        }
+
+        var oldEvent = new org.geysermc.geyser.api.event.downstream.ServerDefineCommandsEvent(session, commands.keySet());
+        eventBus.fire(oldEvent);
+        if (oldEvent.isCancelled()) {
+            return;
+        }
+
+        List<CommandData> commandData = createCommandData(commands);
+
+        if (standalone) {
+            session.getGeyser().commandRegistry().export(session, commandData, new HashSet<>(tree.knownAliases()));
+        }
+
+        // Add our commands to the AvailableCommandsPacket for the bedrock client
+        AvailableCommandsPacket availableCommandsPacket = new AvailableCommandsPacket();
+        availableCommandsPacket.getCommands().addAll(commandData);
+
+        session.getGeyser().getLogger().debug("Sending command packet of " + commandData.size() + " commands");
+
+        // Finally, send the commands to the client
+        session.sendUpstreamPacket(availableCommandsPacket);
+    }
+
+    /**
+     * Walks the Java command tree and collects the Bedrock commands, before any listener had a chance to change them.
+     * The result only depends on what is in the {@link CommandTreeKey}, and is shared between sessions.
+     */
+    private static TranslatedCommandTree translateTree(GeyserSession session, ClientboundCommandsPacket packet) {
         CommandRegistry registry = session.getGeyser().commandRegistry();
         CommandNode[] nodes = packet.getNodes();
-        List<CommandData> commandData = new ArrayList<>();
         IntSet commandNodes = new IntOpenHashSet();
         Set<String> knownAliases = new HashSet<>();
         Map<BedrockCommandInfo, Set<String>> commands = new Object2ObjectOpenCustomHashMap<>(PARAM_STRATEGY);
-        Int2ObjectMap<List<CommandNode>> commandArgs = new Int2ObjectOpenHashMap<>();
 
         // Get the first node, it should be a root node
         CommandNode rootNode = nodes[packet.getFirstNodeIndex()];
@@ -153,13 +220,6 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
             // Make sure we don't have duplicated commands (happens if there is more than 1 root node)
             if (!commandNodes.add(nodeIndex) || !knownAliases.add(node.getName().toLowerCase(Locale.ROOT))) continue;
 
-            // Get and update the commandArgs list with the found arguments
-            if (node.getChildIndices().length >= 1) {
-                for (int childIndex : node.getChildIndices()) {
-                    commandArgs.computeIfAbsent(nodeIndex, ($) -> new ArrayList<>()).add(nodes[childIndex]);
-                }
-            }
-
             // Get and parse all params
             CommandOverloadData[] params = getParams(session, nodes[nodeIndex], nodes);
 
@@ -176,22 +236,17 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
             }
         }
 
-        session.setKnownCommands(knownCommands);
-        session.setRestrictedCommands(restrictedCommands);
-
-        var eventBus = session.getGeyser().eventBus();
+        AvailableCommandsPacket availableCommandsPacket = new AvailableCommandsPacket();
+        availableCommandsPacket.getCommands().addAll(createCommandData(commands));
+        // Most players on a server are sent the same tree, so serialize it once
+        PacketBroadcaster.preSerialize(availableCommandsPacket, session);
 
-        var event = new ServerDefineCommandsEvent(session, commands.keySet());
-        eventBus.fire(event);
-        if (event.isCancelled()) {
-            return;
-        }
+        return new TranslatedCommandTree(commands, List.copyOf(knownCommands), List.copyOf(restrictedCommands),
+            Set.copyOf(knownAliases), availableCommandsPacket);
+    }
 
-        var oldEvent = new org.geysermc.geyser.api.event.downstream.ServerDefineCommandsEvent(session, commands.keySet());
-        eventBus.fire(oldEvent);
-        if (oldEvent.isCancelled()) {
-            return;
-        }
+    private static List<CommandData> createCommandData(Map<BedrockCommandInfo, Set<String>> commands) {
+        List<CommandData> commandData = new ArrayList<>();
 
         // The command flags, set to NOT_CHEAT so known commands can be used while achievements are enabled.
         Set<CommandData.Flag> flags = Set.of(CommandData.Flag.NOT_CHEAT);
@@ -240,19 +295,7 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
             // https://github.com/GeyserMC/Geyser/issues/2573 if Brigadier does not send the help command.
             commandData.add(createFakeHelpCommand());
         }
-
-        if (session.getGeyser().platformType() == PlatformType.STANDALONE) {
-            session.getGeyser().commandRegistry().export(session, commandData, knownAliases);
-        }
-
-        // Add our commands to the AvailableCommandsPacket for the bedrock client
-        AvailableCommandsPacket availableCommandsPacket = new AvailableCommandsPacket();
-        availableCommandsPacket.getCommands().addAll(commandData);
-
-        session.getGeyser().getLogger().debug("Sending command packet of " + commandData.size() + " commands");
-
-        // Finally, send the commands to the client
-        session.sendUpstreamPacket(availableCommandsPacket);
+        return commandData;
     }
 
     /**
@@ -331,7 +374,7 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
         };
     }
 
-    private CommandData createFakeHelpCommand() {
+    private static CommandData createFakeHelpCommand() {
         CommandEnumData aliases = new CommandEnumData("helpAliases", Map.of("help", EnumSet.of(CommandEnumConstraint.ALLOW_ALIASES)), false);
         return new CommandData("help", "", Set.of(CommandData.Flag.NOT_CHEAT), CommandPermission.ANY, aliases, Collections.emptyList(), new CommandOverloadData[0]);
     }
@@ -345,6 +388,62 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
     {
     }
 
+    /**
+     * The result of walking a Java command tree, shared between sessions. None of it may be modified.
+     */
+    private record TranslatedCommandTree(Map<BedrockCommandInfo, Set<String>> commands, List<String> knownCommands,
+                                         List<String> restrictedCommands, Set<String> knownAliases,
+                                         AvailableCommandsPacket packet) {
+    }
+
+    /**
+     * Everything that affects how a Java command tree is translated: the tree itself, and the session state
+     * that ends up in the translated command parameters.
+     */
+    private record CommandTreeKey(CommandNode[] nodes, int firstNodeIndex, String locale, String @Nullable [] levels,
+                                  List<Key> enchantments, @Nullable Set<String> teams, int hash) {
+
+        static CommandTreeKey of(GeyserSession session, ClientboundCommandsPacket packet) {
+            CommandNode[] nodes = packet.getNodes();
+            String[] levels = session.getLevels();
+            List<Key> enchantments = session.getRegistryCache().registry(JavaRegistries.ENCHANTMENT).keys();
+            // Teams are often unique to a player (e.g. name tag plugins), so only take them into account if they are used
+            Set<String> teams = null;
+            for (CommandNode node : nodes) {
+                if (node.getParser() == CommandParser.TEAM) {
+                    teams = Set.copyOf(session.getWorldCache().getScoreboard().getTeamNames().keySet());
+                    break;
+                }
+            }
+
+            int hash = Arrays.hashCode(nodes);
+            hash = 31 * hash + packet.getFirstNodeIndex();
+            hash = 31 * hash + session.locale().hashCode();
+            hash = 31 * hash + Arrays.hashCode(levels);
+            hash = 31 * hash + enchantments.hashCode();
+            hash = 31 * hash + Objects.hashCode(teams);
+            return new CommandTreeKey(nodes, packet.getFirstNodeIndex(), session.locale(), levels, enchantments, teams, hash);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CommandTreeKey key)) {
+                return false;
+            }
+            return hash == key.hash && firstNodeIndex == key.firstNodeIndex && locale.equals(key.locale)
+                && Arrays.equals(levels, key.levels) && enchantments.equals(key.enchantments)
+                && Objects.equals(teams, key.teams) && Arrays.equals(nodes, key.nodes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     /**
      * Stores command completions so we don't have to rebuild the same values multiple times.
      */
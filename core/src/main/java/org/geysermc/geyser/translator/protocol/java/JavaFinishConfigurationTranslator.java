@@ -66,6 +66,9 @@ public class JavaFinishConfigurationTranslator extends PacketTranslator<Clientbo
         }
         session.getEntityCache().removeAllPlayerEntities();
 
+        // Registries and tags may have changed, which are part of translated items
+        session.getItemDataCache().clear();
+
         // Potion mixes are registered by default, as they are needed to be able to put ingredients into the brewing stand.
         // (Also add it here so recipes get cleared on configuration - 1.21.3)
         CraftingDataPacket craftingDataPacket = new CraftingDataPacket();
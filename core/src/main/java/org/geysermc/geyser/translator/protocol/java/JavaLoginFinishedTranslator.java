@@ -28,6 +28,8 @@ package org.geysermc.geyser.translator.protocol.java;
 import net.kyori.adventure.key.Key;
 import org.geysermc.geyser.api.network.AuthType;
 import org.geysermc.geyser.entity.type.player.PlayerEntity;
+import org.geysermc.geyser.network.netty.handler.JavaPacketCapture;
+import org.geysermc.geyser.network.netty.handler.JavaPacketFilter;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.skin.SkinManager;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
@@ -56,6 +58,10 @@ public class JavaLoginFinishedTranslator extends PacketTranslator<ClientboundLog
 
         session.getGeyser().getSessionManager().addSession(playerEntity.uuid(), session);
 
+        // Compression is set up by now, so these end up between it and the codec
+        JavaPacketFilter.install(session);
+        JavaPacketCapture.install(session);
+
         // Check if they are not using a linked account
         if (remoteAuthType == AuthType.OFFLINE || playerEntity.uuid().getMostSignificantBits() == 0) {
             SkinManager.handleBedrockSkin(playerEntity, session.getClientData());
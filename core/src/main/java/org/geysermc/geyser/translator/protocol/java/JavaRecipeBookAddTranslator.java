@@ -25,9 +25,13 @@
 
 package org.geysermc.geyser.translator.protocol.java;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import it.unimi.dsi.fastutil.Pair;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntComparators;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.kyori.adventure.key.Key;
@@ -50,8 +54,11 @@ import org.geysermc.geyser.item.Items;
 import org.geysermc.geyser.item.type.BedrockRequiresTagItem;
 import org.geysermc.geyser.item.type.Item;
 import org.geysermc.geyser.registry.Registries;
+import org.geysermc.geyser.network.PacketBroadcaster;
 import org.geysermc.geyser.registry.type.ItemMapping;
+import org.geysermc.geyser.registry.type.ItemMappings;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.TagCache;
 import org.geysermc.geyser.session.cache.registry.JavaRegistries;
 import org.geysermc.geyser.session.cache.tags.Tag;
 import org.geysermc.geyser.translator.item.ItemTranslator;
@@ -83,16 +90,57 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Translator(packet = ClientboundRecipeBookAddPacket.class)
 public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRecipeBookAddPacket> {
 
+    /**
+     * Translated recipe book contents, shared between sessions that were sent the same recipes with the same item tags.
+     * Recipe books are usually identical for every player that joins.
+     */
+    private static final Cache<RecipeBookKey, TranslatedRecipeBook> TRANSLATED_RECIPE_BOOKS = CacheBuilder.newBuilder()
+        .maximumSize(Integer.getInteger("Geyser.RecipeBookCacheSize", 16))
+        .expireAfterAccess(30, TimeUnit.MINUTES)
+        .build();
+
     @Override
     public void translate(GeyserSession session, ClientboundRecipeBookAddPacket packet) {
         int netId = session.getLastRecipeNetId().get();
-        Int2ObjectMap<List<String>> javaToBedrockRecipeIds = session.getJavaToBedrockRecipeIds();
-        Int2ObjectMap<GeyserRecipe> geyserRecipes = session.getCraftingRecipes();
+        RecipeBookKey key = new RecipeBookKey(packet.getEntries(), packet.isReplace(), netId, session.getItemMappings(),
+            session.getTagCache().getItemTags(), session.locale());
+
+        TranslatedRecipeBook recipeBook;
+        try {
+            recipeBook = TRANSLATED_RECIPE_BOOKS.get(key, () -> translateRecipes(session, packet, netId));
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            // Multi-version can mean different Bedrock item IDs
+            TAG_TO_ITEM_DESCRIPTOR_CACHE.remove();
+        }
+
+        // The session only holds references to the shared recipes
+        session.getJavaToBedrockRecipeIds().putAll(recipeBook.javaToBedrockRecipeIds());
+        session.getCraftingRecipes().putAll(recipeBook.craftingRecipes());
+        session.getSmithingRecipes().addAll(recipeBook.smithingRecipes());
+
+        if (!recipeBook.recipesPacket().getUnlockedRecipes().isEmpty()) {
+            // Sending an empty list here will crash the client as of 1.20.60
+            // This was definitely in the codebase the entire time and did not
+            // accidentally get refactored out during Java 1.21.3. :)
+            session.sendUpstreamPacket(recipeBook.craftingDataPacket());
+            session.sendUpstreamPacket(recipeBook.recipesPacket());
+        }
+        session.getLastRecipeNetId().set(recipeBook.nextNetId());
+    }
+
+    private TranslatedRecipeBook translateRecipes(GeyserSession session, ClientboundRecipeBookAddPacket packet, int netId) {
+        Int2ObjectMap<List<String>> javaToBedrockRecipeIds = new Int2ObjectOpenHashMap<>();
+        Int2ObjectMap<GeyserRecipe> geyserRecipes = new Int2ObjectOpenHashMap<>();
+        List<GeyserSmithingRecipe> smithingRecipes = new ArrayList<>();
         CraftingDataPacket craftingDataPacket = new CraftingDataPacket();
 
         UnlockedRecipesPacket recipesPacket = new UnlockedRecipesPacket();
@@ -178,22 +226,18 @@ public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRec
                             }
                         }
                     }
-                    session.getSmithingRecipes().add(new GeyserSmithingRecipe(smithingRecipe));
+                    smithingRecipes.add(new GeyserSmithingRecipe(smithingRecipe));
                 }
             }
         }
 
         if (!recipesPacket.getUnlockedRecipes().isEmpty()) {
-            // Sending an empty list here will crash the client as of 1.20.60
-            // This was definitely in the codebase the entire time and did not
-            // accidentally get refactored out during Java 1.21.3. :)
-            session.sendUpstreamPacket(craftingDataPacket);
-            session.sendUpstreamPacket(recipesPacket);
+            PacketBroadcaster.preSerialize(craftingDataPacket, session);
+            PacketBroadcaster.preSerialize(recipesPacket, session);
         }
-        session.getLastRecipeNetId().set(netId);
 
-        // Multi-version can mean different Bedrock item IDs
-        TAG_TO_ITEM_DESCRIPTOR_CACHE.remove();
+        return new TranslatedRecipeBook(Int2ObjectMaps.unmodifiable(javaToBedrockRecipeIds), Int2ObjectMaps.unmodifiable(geyserRecipes),
+            List.copyOf(smithingRecipes), craftingDataPacket, recipesPacket, netId);
     }
 
     // Arrays are usually an issue in maps, but because it's referencing the tag array that is unchanged, it actually works out for us.
@@ -408,6 +452,22 @@ public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRec
         return Pair.of(finalRecipes, output);
     }
 
+    /**
+     * Everything that affects how recipe book entries are translated. Item mappings are compared by identity,
+     * as they are only created once per Bedrock version.
+     */
+    private record RecipeBookKey(List<ClientboundRecipeBookAddPacket.Entry> entries, boolean replace, int firstNetId,
+                                 ItemMappings itemMappings, TagCache.ItemTags itemTags, String locale) {
+    }
+
+    /**
+     * The translated recipes of a recipe book packet. None of it may be modified.
+     */
+    private record TranslatedRecipeBook(Int2ObjectMap<List<String>> javaToBedrockRecipeIds, Int2ObjectMap<GeyserRecipe> craftingRecipes,
+                                        List<GeyserSmithingRecipe> smithingRecipes, CraftingDataPacket craftingDataPacket,
+                                        UnlockedRecipesPacket recipesPacket, int nextNetId) {
+    }
+
     static class ItemDescriptorWithCountComparator implements Comparator<ItemDescriptorWithCount> {
 
         static ItemDescriptorWithCountComparator INSTANCE = new ItemDescriptorWithCountComparator();
@@ -48,6 +48,7 @@ public class JavaSetPassengersTranslator extends PacketTranslator<ClientboundSet
     public void translate(GeyserSession session, ClientboundSetPassengersPacket packet) {
         Entity entity = session.getEntityCache().getEntityByJavaId(packet.getEntityId());
         if (entity == null) return;
+        session.getEntityCache().getVisibilityManager().ensureVisible(entity);
 
         // Handle new/existing passengers
         List<Entity> newPassengers = new ArrayList<>();
@@ -69,6 +70,7 @@ public class JavaSetPassengersTranslator extends PacketTranslator<ClientboundSet
                 // In this case, another SetPassengers packet will be sent when the passenger is spawned.
                 continue;
             }
+            session.getEntityCache().getVisibilityManager().ensureVisible(passenger);
 
             boolean rider = packet.getPassengerIds()[0] == passengerId;
             EntityLinkData.Type type = rider ? EntityLinkData.Type.RIDER : EntityLinkData.Type.PASSENGER;
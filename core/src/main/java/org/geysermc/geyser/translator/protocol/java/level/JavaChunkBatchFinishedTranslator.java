@@ -26,7 +26,6 @@
 package org.geysermc.geyser.translator.protocol.java.level;
 
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundChunkBatchFinishedPacket;
-import org.geysermc.mcprotocollib.protocol.packet.ingame.serverbound.level.ServerboundChunkBatchReceivedPacket;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
 import org.geysermc.geyser.translator.protocol.Translator;
@@ -37,8 +36,7 @@ public class JavaChunkBatchFinishedTranslator extends PacketTranslator<Clientbou
     @Override
     public void translate(GeyserSession session, ClientboundChunkBatchFinishedPacket packet) {
         // server just sent a batch of LevelChunkWithLightPackets
-        // the vanilla client uses a ChunkBatchSizeCalculator to calculate the desiredChunksPerTick,
-        // but currently we just send an arbitrary value. server clamps the value between 0.01 and 64.
-        session.sendDownstreamGamePacket(new ServerboundChunkBatchReceivedPacket(20));
+        // the acknowledgement is sent once the Bedrock client has received them
+        session.getChunkBatchSizeCalculator().onBatchFinished(packet.getBatchSize());
     }
 }
@@ -41,6 +41,7 @@ public class JavaForgetLevelChunkTranslator extends PacketTranslator<Clientbound
     @Override
     public void translate(GeyserSession session, ClientboundForgetLevelChunkPacket packet) {
         session.getChunkCache().removeChunk(packet.getX(), packet.getZ());
+        session.getSubChunkCache().removeColumn(packet.getX(), packet.getZ());
 
         // Checks if a skull is in an unloaded chunk then removes it
         List<Vector3i> removedSkulls = new ArrayList<>();
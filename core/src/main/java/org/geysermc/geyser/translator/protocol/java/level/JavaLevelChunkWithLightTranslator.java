@@ -28,7 +28,9 @@ package org.geysermc.geyser.translator.protocol.java.level;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntImmutableList;
 import it.unimi.dsi.fastutil.ints.IntList;
@@ -36,6 +38,7 @@ import it.unimi.dsi.fastutil.ints.IntLists;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.nbt.NBTOutputStream;
 import org.cloudburstmc.nbt.NbtMap;
@@ -47,6 +50,9 @@ import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.level.block.type.Block;
 import org.geysermc.geyser.level.block.type.BlockState;
 import org.geysermc.geyser.level.chunk.BlockStorage;
+import org.geysermc.geyser.level.chunk.ChunkTranslationCache;
+import org.geysermc.geyser.level.chunk.EncodedChunkColumn;
+import org.geysermc.geyser.level.chunk.EncodedChunkColumn.BedrockOnlyBlockEntity;
 import org.geysermc.geyser.level.chunk.GeyserChunkSection;
 import org.geysermc.geyser.level.chunk.bitarray.BitArray;
 import org.geysermc.geyser.level.chunk.bitarray.BitArrayVersion;
@@ -74,6 +80,7 @@ import org.geysermc.mcprotocollib.protocol.data.game.level.block.BlockEntityType
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundLevelChunkWithLightPacket;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
@@ -83,292 +90,325 @@ import static org.geysermc.geyser.util.ChunkUtils.*;
 @Translator(packet = ClientboundLevelChunkWithLightPacket.class)
 public class JavaLevelChunkWithLightTranslator extends PacketTranslator<ClientboundLevelChunkWithLightPacket> {
     private static final ThreadLocal<ExtendedCollisionsStorage> EXTENDED_COLLISIONS_STORAGE = ThreadLocal.withInitial(ExtendedCollisionsStorage::new);
+    private static final ThreadLocal<GlobalPaletteScratch> GLOBAL_PALETTE_SCRATCH = ThreadLocal.withInitial(GlobalPaletteScratch::new);
 
     @Override
     public void translate(GeyserSession session, ClientboundLevelChunkWithLightPacket packet) {
-        final boolean useExtendedCollisions = !session.getBlockMappings().getExtendedCollisionBoxes().isEmpty();
-
-        if (session.isSpawned()) {
-            ChunkUtils.updateChunkPosition(session, session.getPlayerEntity().getPosition().toInt());
+        if (session.getChunkTranslationPipeline().isActive()) {
+            session.getChunkTranslationPipeline().submit(() -> prepare(session, packet), prepared -> apply(session, packet, prepared));
+        } else {
+            apply(session, packet, prepare(session, packet));
         }
+    }
 
+    /**
+     * Decodes and translates the chunk as far as possible without touching any state of the session that may change
+     * during translation. This may be called off the session's event loop.
+     */
+    private static PreparedChunk prepare(GeyserSession session, ClientboundLevelChunkWithLightPacket packet) {
         // Ensure that, if the player is using lower world heights, the position is not offset
         int yOffset = session.getChunkCache().getChunkMinY();
         int chunkSize = session.getChunkCache().getChunkHeightY();
 
-        DataPalette[] javaChunks = new DataPalette[chunkSize];
-        DataPalette[] javaBiomes = new DataPalette[chunkSize];
+        ChunkSection[] javaSections = new ChunkSection[chunkSize];
+
+        ByteBuf in = Unpooled.wrappedBuffer(packet.getChunkData());
+        int blockStateCount = BlockRegistries.BLOCK_STATES.get().size();
+        int biomeCount = session.getRegistryCache().registry(JavaRegistries.BIOME).size();
+        for (int sectionY = 0; sectionY < chunkSize; sectionY++) {
+            javaSections[sectionY] = MinecraftTypes.readChunkSection(in, blockStateCount, biomeCount);
+        }
+
+        int[] heightMap = session.getSubChunkCache().isActive() ? computeHeightMap(javaSections, yOffset) : null;
+
+        // Custom skulls are placed into the chunk sections depending on the session's skull cache, so these can't be shared
+        // and have to be encoded once the skull cache has been consulted
+        if (hasCustomSkulls(session, packet.getBlockEntities())) {
+            List<BedrockOnlyBlockEntity> bedrockOnlyBlockEntities = new ObjectArrayList<>();
+            GeyserChunkSection[] sections = translateSections(session, javaSections, bedrockOnlyBlockEntities);
+            return new PreparedChunk(javaSections, null, sections, bedrockOnlyBlockEntities, heightMap);
+        }
+
+        ChunkTranslationCache.Key cacheKey = null;
+        if (ChunkTranslationCache.ENABLED) {
+            cacheKey = ChunkTranslationCache.createKey(session, packet.getChunkData());
+        }
+
+        EncodedChunkColumn column = cacheKey == null ? null : ChunkTranslationCache.get(cacheKey);
+        if (column == null) {
+            List<BedrockOnlyBlockEntity> bedrockOnlyBlockEntities = new ObjectArrayList<>();
+            GeyserChunkSection[] sections = translateSections(session, javaSections, bedrockOnlyBlockEntities);
+            column = encodeColumn(session, sections, javaSections, bedrockOnlyBlockEntities);
+
+            if (cacheKey != null) {
+                ChunkTranslationCache.put(cacheKey, column);
+            }
+        }
+        return new PreparedChunk(javaSections, column, null, List.of(), heightMap);
+    }
+
+    /**
+     * Finishes translating the chunk and sends it to the Bedrock client. Always called on the session's event loop.
+     */
+    private static void apply(GeyserSession session, ClientboundLevelChunkWithLightPacket packet, PreparedChunk prepared) {
+        if (session.isSpawned()) {
+            ChunkUtils.updateChunkPosition(session, session.getPlayerEntity().getPosition().toInt());
+        }
+
+        ChunkSection[] javaSections = prepared.javaSections();
+        DataPalette[] javaChunks = new DataPalette[javaSections.length];
+        for (int sectionY = 0; sectionY < javaSections.length; sectionY++) {
+            javaChunks[sectionY] = javaSections[sectionY].getBlockData();
+        }
+
+        if (!session.getErosionHandler().isActive()) {
+            session.getChunkCache().addToCache(packet.getX(), packet.getZ(), javaChunks);
+        }
 
         final BlockEntityInfo[] blockEntities = packet.getBlockEntities();
         final List<NbtMap> bedrockBlockEntities = new ObjectArrayList<>(blockEntities.length);
 
-        BitSet waterloggedPaletteIds = new BitSet();
-        BitSet bedrockOnlyBlockEntityIds = new BitSet();
+        EncodedChunkColumn column = prepared.column();
+        if (column == null) {
+            GeyserChunkSection[] sections = prepared.sections();
+            translateBlockEntities(session, packet, javaChunks, sections, bedrockBlockEntities);
+            column = encodeColumn(session, sections, javaSections, prepared.bedrockOnlyBlockEntities());
+        } else {
+            translateBlockEntities(session, packet, javaChunks, null, bedrockBlockEntities);
+        }
 
-        BedrockDimension bedrockDimension = session.getBedrockDimension();
-        int maxBedrockSectionY = (bedrockDimension.height() >> 4) - 1;
+        final int chunkBlockX = packet.getX() << 4;
+        final int chunkBlockZ = packet.getZ() << 4;
+        for (BedrockOnlyBlockEntity blockEntity : column.bedrockOnlyBlockEntities()) {
+            // Pistons, flower pots and cauldrons are only block entities in Bedrock
+            BlockState state = blockEntity.state();
+            bedrockBlockEntities.add(((BedrockChunkWantsBlockEntityTag) state.block()).createTag(session,
+                    blockEntity.position().add(chunkBlockX, 0, chunkBlockZ), state));
+        }
+
+        if (session.getSubChunkCache().isActive()) {
+            // Only send the biomes for now; the client will request the sub-chunks it needs
+            session.getSubChunkCache().storeColumn(packet.getX(), packet.getZ(), column, bedrockBlockEntities, prepared.heightMap());
+
+            byte[] payload = new byte[column.biomes().length + 1];
+            System.arraycopy(column.biomes(), 0, payload, 0, column.biomes().length);
+            // The last byte is left as 0 for border blocks - Edu edition only
+
+            LevelChunkPacket levelChunkPacket = new LevelChunkPacket();
+            levelChunkPacket.setRequestSubChunks(true);
+            levelChunkPacket.setSubChunkLimit(column.sections().length);
+            levelChunkPacket.setCachingEnabled(false);
+            levelChunkPacket.setChunkX(packet.getX());
+            levelChunkPacket.setChunkZ(packet.getZ());
+            levelChunkPacket.setData(Unpooled.wrappedBuffer(payload));
+            levelChunkPacket.setDimension(session.getBedrockDimension().bedrockId());
+            session.sendUpstreamPacket(levelChunkPacket);
+            updateItemFrames(session, packet);
+            return;
+        }
 
-        int sectionCount;
         byte[] payload;
+        long[] blobIds = null;
         ByteBuf byteBuf = null;
+        try {
+            int size = 1; // Border blocks
+            size += bedrockBlockEntities.size() * 64; // Conservative estimate of 64 bytes per tile entity
 
-        // calculate the difference between the java dimension minY and the bedrock dimension minY as
-        // the java chunk sections may need to be placed higher up in the bedrock chunk section array
-        int sectionCountDiff = yOffset - (bedrockDimension.minY() >> 4);
-        GeyserChunkSection[] sections = new GeyserChunkSection[chunkSize + sectionCountDiff];
+            if (session.getChunkBlobCache().isActive()) {
+                // Each sub-chunk, followed by the biome data of the whole column, is sent as a blob that the client may already have
+                blobIds = session.getChunkBlobCache().store(column.sections(), column.biomes());
+            }
+            if (blobIds == null) {
+                size += column.size();
+            }
 
-        try {
-            ByteBuf in = Unpooled.wrappedBuffer(packet.getChunkData());
-            boolean extendedCollisionNextSection = false;
-            for (int sectionY = 0; sectionY < chunkSize; sectionY++) {
-                ChunkSection javaSection = MinecraftTypes.readChunkSection(in, BlockRegistries.BLOCK_STATES.get().size(),
-                    session.getRegistryCache().registry(JavaRegistries.BIOME).size());
-                javaChunks[sectionY] = javaSection.getBlockData();
-                javaBiomes[sectionY] = javaSection.getBiomeData();
-                boolean extendedCollision = extendedCollisionNextSection;
-                boolean thisExtendedCollisionNextSection = false;
-
-                int bedrockSectionY = sectionY + sectionCountDiff;
-                int subChunkIndex = sectionY + yOffset;
-                if (bedrockSectionY < 0 || maxBedrockSectionY < bedrockSectionY) {
-                    // Ignore this chunk section since it goes outside the bounds accepted by the Bedrock client
-                    if (useExtendedCollisions) {
-                        EXTENDED_COLLISIONS_STORAGE.get().clear();
-                    }
-                    extendedCollisionNextSection = false;
-                    continue;
+            // Allocate output buffer
+            byteBuf = ByteBufAllocator.DEFAULT.ioBuffer(size);
+            if (blobIds == null) {
+                for (byte[] section : column.sections()) {
+                    byteBuf.writeBytes(section);
                 }
+                byteBuf.writeBytes(column.biomes());
+            }
 
-                // No need to encode an empty section...
-                if (javaSection.isBlockCountEmpty()) {
-                    // Unless we need to send extended collisions
-                    if (useExtendedCollisions) {
-                        if (extendedCollision) {
-                            int blocks = EXTENDED_COLLISIONS_STORAGE.get().bottomLayerCollisions() + 1;
-                            BitArray bedrockData = BitArrayVersion.forBitsCeil(Integer.SIZE - Integer.numberOfLeadingZeros(blocks)).createArray(BlockStorage.SIZE);
-                            BlockStorage layer0 = new BlockStorage(bedrockData, new IntArrayList(blocks));
-    
-                            layer0.idFor(session.getBlockMappings().getBedrockAir().getRuntimeId());
-                            for (int yzx = 0; yzx < BlockStorage.SIZE / 16; yzx++) {
-                                if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
-                                    bedrockData.set(indexYZXtoXZY(yzx), layer0.idFor(EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY)));
-                                    EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
-                                }
-                            }
-    
-                            BlockStorage[] layers = new BlockStorage[]{ layer0 };
-                            sections[bedrockSectionY] = new GeyserChunkSection(layers, subChunkIndex);
-                        }
-                        EXTENDED_COLLISIONS_STORAGE.get().clear();
-                        extendedCollisionNextSection = false;
-                    }
-                    continue;
-                }
+            byteBuf.writeByte(0); // Border blocks - Edu edition only
 
-                Palette javaPalette = javaSection.getBlockData().getPalette();
-                BitStorage javaData = javaSection.getBlockData().getStorage();
-
-                if (javaPalette instanceof GlobalPalette) {
-                    // As this is the global palette, simply iterate through the whole chunk section once
-                    GeyserChunkSection section = new GeyserChunkSection(session.getBlockMappings().getBedrockAir().getRuntimeId(), subChunkIndex);
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int javaId = javaData.get(yzx);
-                        BlockState state = BlockState.of(javaId);
-                        int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
-                        int xzy = indexYZXtoXZY(yzx);
-                        section.getBlockStorageArray()[0].setFullBlock(xzy, bedrockId);
-
-                        if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
-                            section.getBlockStorageArray()[1].setFullBlock(xzy, session.getBlockMappings().getBedrockWater().getRuntimeId());
-                        }
+            // Encode tile entities into buffer
+            NBTOutputStream nbtStream = NbtUtils.createNetworkWriter(new ByteBufOutputStream(byteBuf));
+            for (NbtMap blockEntity : bedrockBlockEntities) {
+                nbtStream.writeTag(blockEntity);
+            }
+            payload = new byte[byteBuf.readableBytes()];
+            byteBuf.readBytes(payload);
+        } catch (IOException e) {
+            session.getGeyser().getLogger().error("IO error while encoding chunk", e);
+            return;
+        } finally {
+            if (byteBuf != null) {
+                byteBuf.release(); // Release buffer to allow buffer pooling to be useful
+            }
+        }
 
-                        // Extended collision blocks
-                        if (useExtendedCollisions) {
-                            if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
-                                if (javaId == Block.JAVA_AIR_ID) {
-                                    section.getBlockStorageArray()[0].setFullBlock(xzy, EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY));
-                                }
-                                EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
-                                continue;
-                            }
-                            BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings().getExtendedCollisionBoxes().get(javaId);
-                            if (aboveBedrockExtendedCollisionDefinition != null) {
-                                EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
-                                if ((xzy & 0xF) == 15) {
-                                    thisExtendedCollisionNextSection = true;
-                                }
-                            }
-                        }
+        LevelChunkPacket levelChunkPacket = new LevelChunkPacket();
+        levelChunkPacket.setSubChunksLength(column.sections().length);
+        levelChunkPacket.setCachingEnabled(blobIds != null);
+        if (blobIds != null) {
+            for (long blobId : blobIds) {
+                levelChunkPacket.getBlobIds().add(blobId);
+            }
+        }
+        levelChunkPacket.setChunkX(packet.getX());
+        levelChunkPacket.setChunkZ(packet.getZ());
+        levelChunkPacket.setData(Unpooled.wrappedBuffer(payload));
+        levelChunkPacket.setDimension(session.getBedrockDimension().bedrockId());
+        session.sendUpstreamPacket(levelChunkPacket);
+        updateItemFrames(session, packet);
+    }
 
-                        // Check if block is piston or flower to see if we'll need to create additional block entities, as they're only block entities in Bedrock
-                        if (state.block() instanceof BedrockChunkWantsBlockEntityTag blockEntity) {
-                            bedrockBlockEntities.add(blockEntity.createTag(session,
-                                    Vector3i.from((packet.getX() << 4) + (yzx & 0xF), ((sectionY + yOffset) << 4) + ((yzx >> 8) & 0xF), (packet.getZ() << 4) + ((yzx >> 4) & 0xF)),
-                                    state
-                            ));
-                        }
-                    }
-                    sections[bedrockSectionY] = section;
-                    extendedCollisionNextSection = thisExtendedCollisionNextSection;
+    private static void updateItemFrames(GeyserSession session, ClientboundLevelChunkWithLightPacket packet) {
+        for (Map.Entry<Vector3i, ItemFrameEntity> entry : session.getItemFrameCache().entrySet()) {
+            Vector3i position = entry.getKey();
+            if ((position.getX() >> 4) == packet.getX() && (position.getZ() >> 4) == packet.getZ()) {
+                // Update this item frame so it doesn't get lost in the abyss
+                //TODO optimize
+                entry.getValue().updateBlock(true);
+            }
+        }
+    }
+
+    /**
+     * Finds the highest non-air block for each X/Z position in the column, indexed as {@code (z << 4) | x}.
+     * Positions without any blocks are set to one below the bottom of the world.
+     */
+    private static int[] computeHeightMap(ChunkSection[] javaSections, int yOffset) {
+        int[] heightMap = new int[256];
+        Arrays.fill(heightMap, (yOffset << 4) - 1);
+
+        int remaining = heightMap.length;
+        for (int sectionY = javaSections.length - 1; sectionY >= 0 && remaining > 0; sectionY--) {
+            ChunkSection javaSection = javaSections[sectionY];
+            if (javaSection.isBlockCountEmpty()) {
+                continue;
+            }
+            DataPalette blockData = javaSection.getBlockData();
+            int bottom = (sectionY + yOffset) << 4;
+            for (int i = 0; i < heightMap.length; i++) {
+                if (heightMap[i] >= bottom) {
                     continue;
                 }
-
-                if (javaPalette instanceof SingletonPalette) {
-                    // There's only one block here. Very easy!
-                    int javaId = javaPalette.idToState(0);
-                    int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
-                    BlockStorage blockStorage = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(bedrockId));
-
-                    if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
-                        BlockStorage waterlogged = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(session.getBlockMappings().getBedrockWater().getRuntimeId()));
-                        sections[bedrockSectionY] = new GeyserChunkSection(new BlockStorage[] {blockStorage, waterlogged}, subChunkIndex);
-                    } else {
-                        sections[bedrockSectionY] = new GeyserChunkSection(new BlockStorage[] {blockStorage}, subChunkIndex);
-                    }
-                    if (useExtendedCollisions) {
-                        EXTENDED_COLLISIONS_STORAGE.get().clear();
-                        extendedCollisionNextSection = false;
+                for (int y = 15; y >= 0; y--) {
+                    if (blockData.get(i & 0xF, y, i >> 4) != Block.JAVA_AIR_ID) {
+                        heightMap[i] = bottom + y;
+                        remaining--;
+                        break;
                     }
-                    // If a chunk contains all of the same piston or flower pot then god help us
-                    continue;
                 }
+            }
+        }
+        return heightMap;
+    }
 
-                IntList bedrockPalette = new IntArrayList(javaPalette.size());
-                int airPaletteId = -1;
-                waterloggedPaletteIds.clear();
-                bedrockOnlyBlockEntityIds.clear();
-
-                // Iterate through palette and convert state IDs to Bedrock, doing some additional checks as we go
-                int extendedCollisionsInPalette = 0;
-                for (int i = 0; i < javaPalette.size(); i++) {
-                    int javaId = javaPalette.idToState(i);
-                    bedrockPalette.add(session.getBlockMappings().getBedrockBlockId(javaId));
+    /**
+     * Translates the Java chunk sections into Bedrock chunk sections, indexed from the bottom of the Bedrock dimension.
+     * Empty sections are left null.
+     */
+    private static GeyserChunkSection[] translateSections(GeyserSession session, ChunkSection[] javaSections, List<BedrockOnlyBlockEntity> bedrockOnlyBlockEntities) {
+        final boolean useExtendedCollisions = !session.getBlockMappings().getExtendedCollisionBoxes().isEmpty();
 
-                    if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
-                        waterloggedPaletteIds.set(i);
-                    }
+        int yOffset = session.getChunkCache().getChunkMinY();
+        int chunkSize = javaSections.length;
 
-                    if (javaId == Block.JAVA_AIR_ID) {
-                        airPaletteId = i;
-                    }
+        BitSet waterloggedPaletteIds = new BitSet();
+        BitSet bedrockOnlyBlockEntityIds = new BitSet();
 
-                    if (useExtendedCollisions) {
-                        if (session.getBlockMappings().getExtendedCollisionBoxes().get(javaId) != null) {
-                            extendedCollision = true;
-                            extendedCollisionsInPalette++;
-                        }
-                    }
+        BedrockDimension bedrockDimension = session.getBedrockDimension();
+        int maxBedrockSectionY = (bedrockDimension.height() >> 4) - 1;
 
-                    // Check if block is piston, flower or cauldron to see if we'll need to create additional block entities, as they're only block entities in Bedrock
-                    // TODO this needs a performance check when my head is clearer
-                    BlockState state = BlockState.of(javaId);
-                    if (state.block() instanceof BedrockChunkWantsBlockEntityTag) {
-                        bedrockOnlyBlockEntityIds.set(i);
-                    }
-                }
+        // calculate the difference between the java dimension minY and the bedrock dimension minY as
+        // the java chunk sections may need to be placed higher up in the bedrock chunk section array
+        int sectionCountDiff = yOffset - (bedrockDimension.minY() >> 4);
+        GeyserChunkSection[] sections = new GeyserChunkSection[chunkSize + sectionCountDiff];
 
-                // Add Bedrock-exclusive block entities
-                // We only if the palette contained any blocks that are Bedrock-exclusive block entities to avoid iterating through the whole block data
-                // for no reason, as most sections will not contain any pistons or flower pots
-                if (!bedrockOnlyBlockEntityIds.isEmpty()) {
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        if (bedrockOnlyBlockEntityIds.get(paletteId)) {
-                            BlockState state = BlockState.of(javaPalette.idToState(paletteId));
-                            bedrockBlockEntities.add(((BedrockChunkWantsBlockEntityTag) state.block()).createTag(session,
-                                    Vector3i.from((packet.getX() << 4) + (yzx & 0xF), ((sectionY + yOffset) << 4) + ((yzx >> 8) & 0xF), (packet.getZ() << 4) + ((yzx >> 4) & 0xF)),
-                                    state
-                            ));
-                        }
-                    }
-                }
+        boolean extendedCollisionNextSection = false;
+        for (int sectionY = 0; sectionY < chunkSize; sectionY++) {
+            ChunkSection javaSection = javaSections[sectionY];
+            boolean extendedCollision = extendedCollisionNextSection;
+            boolean thisExtendedCollisionNextSection = false;
 
-                // We need to ensure we use enough bits to represent extended collision blocks in the chunk section
-                int sectionCollisionBlocks = 0;
+            int bedrockSectionY = sectionY + sectionCountDiff;
+            int subChunkIndex = sectionY + yOffset;
+            if (bedrockSectionY < 0 || maxBedrockSectionY < bedrockSectionY) {
+                // Ignore this chunk section since it goes outside the bounds accepted by the Bedrock client
                 if (useExtendedCollisions) {
-                    int bottomLayerCollisions = extendedCollision ? EXTENDED_COLLISIONS_STORAGE.get().bottomLayerCollisions() : 0;
-                    sectionCollisionBlocks = bottomLayerCollisions + extendedCollisionsInPalette;
+                    EXTENDED_COLLISIONS_STORAGE.get().clear();
                 }
-                int bedrockDataBits = Integer.SIZE - Integer.numberOfLeadingZeros(javaPalette.size() + sectionCollisionBlocks);
-                BitArray bedrockData = BitArrayVersion.forBitsCeil(bedrockDataBits).createArray(BlockStorage.SIZE);
-                BlockStorage layer0 = new BlockStorage(bedrockData, bedrockPalette);
-                BlockStorage[] layers;
+                extendedCollisionNextSection = false;
+                continue;
+            }
 
-                // Convert data array from YZX to XZY coordinate order
-                if (waterloggedPaletteIds.isEmpty() && !extendedCollision) {
-                    // No blocks are waterlogged, simply convert coordinate order
-                    // This could probably be optimized further...
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        int xzy = indexYZXtoXZY(yzx);
-                        bedrockData.set(xzy, paletteId);
-                    }
+            // No need to encode an empty section...
+            if (javaSection.isBlockCountEmpty()) {
+                // Unless we need to send extended collisions
+                if (useExtendedCollisions) {
+                    if (extendedCollision) {
+                        int blocks = EXTENDED_COLLISIONS_STORAGE.get().bottomLayerCollisions() + 1;
+                        BitArray bedrockData = BitArrayVersion.forBitsCeil(Integer.SIZE - Integer.numberOfLeadingZeros(blocks)).createArray(BlockStorage.SIZE);
+                        BlockStorage layer0 = new BlockStorage(bedrockData, new IntArrayList(blocks));
 
-                    layers = new BlockStorage[]{ layer0 };
-                } else if (!waterloggedPaletteIds.isEmpty() && !extendedCollision) {
-                    // The section contains waterlogged blocks, we need to convert coordinate order AND generate a V1 block storage for
-                    // layer 1 with palette ID 1 indicating water
-                    int[] layer1Data = new int[BlockStorage.SIZE >> 5];
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        int xzy = indexYZXtoXZY(yzx);
-                        bedrockData.set(xzy, paletteId);
-
-                        if (waterloggedPaletteIds.get(paletteId)) {
-                            layer1Data[xzy >> 5] |= 1 << (xzy & 0x1F);
+                        layer0.idFor(session.getBlockMappings().getBedrockAir().getRuntimeId());
+                        for (int yzx = 0; yzx < BlockStorage.SIZE / 16; yzx++) {
+                            if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
+                                bedrockData.set(indexYZXtoXZY(yzx), layer0.idFor(EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY)));
+                                EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
+                            }
                         }
+
+                        BlockStorage[] layers = new BlockStorage[]{ layer0 };
+                        sections[bedrockSectionY] = new GeyserChunkSection(layers, subChunkIndex);
                     }
-                    
-                    // V1 palette
-                    IntList layer1Palette = IntList.of(
-                            session.getBlockMappings().getBedrockAir().getRuntimeId(), // Air - see BlockStorage's constructor for more information
-                            session.getBlockMappings().getBedrockWater().getRuntimeId());
+                    EXTENDED_COLLISIONS_STORAGE.get().clear();
+                    extendedCollisionNextSection = false;
+                }
+                continue;
+            }
 
-                    layers = new BlockStorage[]{ layer0, new BlockStorage(BitArrayVersion.V1.createArray(BlockStorage.SIZE, layer1Data), layer1Palette) };
-                } else if (waterloggedPaletteIds.isEmpty()) {
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        int xzy = indexYZXtoXZY(yzx);
-                        bedrockData.set(xzy, paletteId);
+            Palette javaPalette = javaSection.getBlockData().getPalette();
+            BitStorage javaData = javaSection.getBlockData().getStorage();
+
+            if (javaPalette instanceof GlobalPalette) {
+                // As this is the global palette, simply iterate through the whole chunk section once to find the Bedrock
+                // block of every position, building the Bedrock palette as we go. The bit array can then be sized once,
+                // instead of resizing it whenever the palette grows.
+                GlobalPaletteScratch scratch = GLOBAL_PALETTE_SCRATCH.get();
+                scratch.clear();
+                int[] paletteIds = scratch.paletteIds;
+                int[] layer1Data = null;
+
+                scratch.paletteIdFor(session.getBlockMappings().getBedrockAir().getRuntimeId()); // Air must be first in the palette
+                for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                    int javaId = javaData.get(yzx);
+                    BlockState state = BlockState.of(javaId);
+                    int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
+                    int xzy = indexYZXtoXZY(yzx);
 
-                        if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
-                            if (paletteId == airPaletteId) {
-                                bedrockData.set(xzy, layer0.idFor(EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY)));
-                            }
-                            EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
-                            continue;
-                        }
-                        BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings()
-                                .getExtendedCollisionBoxes().get(javaPalette.idToState(paletteId));
-                        if (aboveBedrockExtendedCollisionDefinition != null) {
-                            EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
-                            if ((xzy & 0xF) == 15) {
-                                thisExtendedCollisionNextSection = true;
-                            }
+                    if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
+                        if (layer1Data == null) {
+                            layer1Data = new int[BlockStorage.SIZE >> 5];
                         }
+                        layer1Data[xzy >> 5] |= 1 << (xzy & 0x1F);
                     }
 
-                    layers = new BlockStorage[]{ layer0 };
-                } else {
-                    int[] layer1Data = new int[BlockStorage.SIZE >> 5];
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        int xzy = indexYZXtoXZY(yzx);
-                        bedrockData.set(xzy, paletteId);
-
-                        if (waterloggedPaletteIds.get(paletteId)) {
-                            layer1Data[xzy >> 5] |= 1 << (xzy & 0x1F);
-                        }
-
+                    // Extended collision blocks
+                    if (useExtendedCollisions) {
                         if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
-                            if (paletteId == airPaletteId) {
-                                bedrockData.set(xzy, layer0.idFor(EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY)));
+                            if (javaId == Block.JAVA_AIR_ID) {
+                                bedrockId = EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY);
                             }
                             EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
+                            paletteIds[xzy] = scratch.paletteIdFor(bedrockId);
                             continue;
                         }
-                        BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings().getExtendedCollisionBoxes()
-                                .get(javaPalette.idToState(paletteId));
+                        BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings().getExtendedCollisionBoxes().get(javaId);
                         if (aboveBedrockExtendedCollisionDefinition != null) {
                             EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
                             if ((xzy & 0xF) == 15) {
@@ -376,7 +416,29 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                             }
                         }
                     }
+                    paletteIds[xzy] = scratch.paletteIdFor(bedrockId);
+
+                    // Check if block is piston or flower to see if we'll need to create additional block entities, as they're only block entities in Bedrock
+                    if (state.block() instanceof BedrockChunkWantsBlockEntityTag) {
+                        bedrockOnlyBlockEntities.add(new BedrockOnlyBlockEntity(
+                                Vector3i.from(yzx & 0xF, ((sectionY + yOffset) << 4) + ((yzx >> 8) & 0xF), (yzx >> 4) & 0xF),
+                                state
+                        ));
+                    }
+                }
 
+                IntList bedrockPalette = new IntArrayList(scratch.palette);
+                int bedrockDataBits = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(bedrockPalette.size() - 1));
+                BitArray bedrockData = BitArrayVersion.forBitsCeil(bedrockDataBits).createArray(BlockStorage.SIZE);
+                for (int xzy = 0; xzy < BlockStorage.SIZE; xzy++) {
+                    bedrockData.set(xzy, paletteIds[xzy]);
+                }
+                BlockStorage layer0 = new BlockStorage(bedrockData, bedrockPalette);
+
+                BlockStorage[] layers;
+                if (layer1Data == null) {
+                    layers = new BlockStorage[]{ layer0 };
+                } else {
                     // V1 palette
                     IntList layer1Palette = IntList.of(
                             session.getBlockMappings().getBedrockAir().getRuntimeId(), // Air - see BlockStorage's constructor for more information
@@ -384,90 +446,293 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
 
                     layers = new BlockStorage[]{ layer0, new BlockStorage(BitArrayVersion.V1.createArray(BlockStorage.SIZE, layer1Data), layer1Palette) };
                 }
-
                 sections[bedrockSectionY] = new GeyserChunkSection(layers, subChunkIndex);
                 extendedCollisionNextSection = thisExtendedCollisionNextSection;
+                continue;
+            }
+
+            if (javaPalette instanceof SingletonPalette) {
+                // There's only one block here. Very easy!
+                int javaId = javaPalette.idToState(0);
+                int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
+                BlockStorage blockStorage = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(bedrockId));
+
+                if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
+                    BlockStorage waterlogged = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(session.getBlockMappings().getBedrockWater().getRuntimeId()));
+                    sections[bedrockSectionY] = new GeyserChunkSection(new BlockStorage[] {blockStorage, waterlogged}, subChunkIndex);
+                } else {
+                    sections[bedrockSectionY] = new GeyserChunkSection(new BlockStorage[] {blockStorage}, subChunkIndex);
+                }
+                if (useExtendedCollisions) {
+                    EXTENDED_COLLISIONS_STORAGE.get().clear();
+                    extendedCollisionNextSection = false;
+                }
+                // If a chunk contains all of the same piston or flower pot then god help us
+                continue;
             }
 
-            if (!session.getErosionHandler().isActive()) {
-                session.getChunkCache().addToCache(packet.getX(), packet.getZ(), javaChunks);
+            IntList bedrockPalette = new IntArrayList(javaPalette.size());
+            int airPaletteId = -1;
+            waterloggedPaletteIds.clear();
+            bedrockOnlyBlockEntityIds.clear();
+
+            // Iterate through palette and convert state IDs to Bedrock, doing some additional checks as we go
+            int extendedCollisionsInPalette = 0;
+            for (int i = 0; i < javaPalette.size(); i++) {
+                int javaId = javaPalette.idToState(i);
+                bedrockPalette.add(session.getBlockMappings().getBedrockBlockId(javaId));
+
+                if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
+                    waterloggedPaletteIds.set(i);
+                }
+
+                if (javaId == Block.JAVA_AIR_ID) {
+                    airPaletteId = i;
+                }
+
+                if (useExtendedCollisions) {
+                    if (session.getBlockMappings().getExtendedCollisionBoxes().get(javaId) != null) {
+                        extendedCollision = true;
+                        extendedCollisionsInPalette++;
+                    }
+                }
+
+                // Check if block is piston, flower or cauldron to see if we'll need to create additional block entities, as they're only block entities in Bedrock
+                // TODO this needs a performance check when my head is clearer
+                BlockState state = BlockState.of(javaId);
+                if (state.block() instanceof BedrockChunkWantsBlockEntityTag) {
+                    bedrockOnlyBlockEntityIds.set(i);
+                }
             }
 
-            final int chunkBlockX = packet.getX() << 4;
-            final int chunkBlockZ = packet.getZ() << 4;
-            for (BlockEntityInfo blockEntity : blockEntities) {
-                BlockEntityType type = blockEntity.getType();
-                NbtMap tag = blockEntity.getNbt();
-                if (type == null) {
-                    // As an example: ViaVersion will send -1 if it cannot find the block entity type
-                    // Vanilla Minecraft gracefully handles this
-                    continue;
+            // Add Bedrock-exclusive block entities
+            // We only if the palette contained any blocks that are Bedrock-exclusive block entities to avoid iterating through the whole block data
+            // for no reason, as most sections will not contain any pistons or flower pots
+            if (!bedrockOnlyBlockEntityIds.isEmpty()) {
+                for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                    int paletteId = javaData.get(yzx);
+                    if (bedrockOnlyBlockEntityIds.get(paletteId)) {
+                        BlockState state = BlockState.of(javaPalette.idToState(paletteId));
+                        bedrockOnlyBlockEntities.add(new BedrockOnlyBlockEntity(
+                                Vector3i.from(yzx & 0xF, ((sectionY + yOffset) << 4) + ((yzx >> 8) & 0xF), (yzx >> 4) & 0xF),
+                                state
+                        ));
+                    }
+                }
+            }
+
+            // We need to ensure we use enough bits to represent extended collision blocks in the chunk section
+            int sectionCollisionBlocks = 0;
+            if (useExtendedCollisions) {
+                int bottomLayerCollisions = extendedCollision ? EXTENDED_COLLISIONS_STORAGE.get().bottomLayerCollisions() : 0;
+                sectionCollisionBlocks = bottomLayerCollisions + extendedCollisionsInPalette;
+            }
+            int bedrockDataBits = Integer.SIZE - Integer.numberOfLeadingZeros(javaPalette.size() + sectionCollisionBlocks);
+            BitArray bedrockData = BitArrayVersion.forBitsCeil(bedrockDataBits).createArray(BlockStorage.SIZE);
+            BlockStorage layer0 = new BlockStorage(bedrockData, bedrockPalette);
+            BlockStorage[] layers;
+
+            // Convert data array from YZX to XZY coordinate order
+            if (waterloggedPaletteIds.isEmpty() && !extendedCollision) {
+                // No blocks are waterlogged, simply convert coordinate order
+                // This could probably be optimized further...
+                for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                    int paletteId = javaData.get(yzx);
+                    int xzy = indexYZXtoXZY(yzx);
+                    bedrockData.set(xzy, paletteId);
+                }
+
+                layers = new BlockStorage[]{ layer0 };
+            } else if (!waterloggedPaletteIds.isEmpty() && !extendedCollision) {
+                // The section contains waterlogged blocks, we need to convert coordinate order AND generate a V1 block storage for
+                // layer 1 with palette ID 1 indicating water
+                int[] layer1Data = new int[BlockStorage.SIZE >> 5];
+                for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                    int paletteId = javaData.get(yzx);
+                    int xzy = indexYZXtoXZY(yzx);
+                    bedrockData.set(xzy, paletteId);
+
+                    if (waterloggedPaletteIds.get(paletteId)) {
+                        layer1Data[xzy >> 5] |= 1 << (xzy & 0x1F);
+                    }
+                }
+                
+                // V1 palette
+                IntList layer1Palette = IntList.of(
+                        session.getBlockMappings().getBedrockAir().getRuntimeId(), // Air - see BlockStorage's constructor for more information
+                        session.getBlockMappings().getBedrockWater().getRuntimeId());
+
+                layers = new BlockStorage[]{ layer0, new BlockStorage(BitArrayVersion.V1.createArray(BlockStorage.SIZE, layer1Data), layer1Palette) };
+            } else if (waterloggedPaletteIds.isEmpty()) {
+                for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                    int paletteId = javaData.get(yzx);
+                    int xzy = indexYZXtoXZY(yzx);
+                    bedrockData.set(xzy, paletteId);
+
+                    if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
+                        if (paletteId == airPaletteId) {
+                            bedrockData.set(xzy, layer0.idFor(EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY)));
+                        }
+                        EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
+                        continue;
+                    }
+                    BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings()
+                            .getExtendedCollisionBoxes().get(javaPalette.idToState(paletteId));
+                    if (aboveBedrockExtendedCollisionDefinition != null) {
+                        EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
+                        if ((xzy & 0xF) == 15) {
+                            thisExtendedCollisionNextSection = true;
+                        }
+                    }
+                }
+
+                layers = new BlockStorage[]{ layer0 };
+            } else {
+                int[] layer1Data = new int[BlockStorage.SIZE >> 5];
+                for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                    int paletteId = javaData.get(yzx);
+                    int xzy = indexYZXtoXZY(yzx);
+                    bedrockData.set(xzy, paletteId);
+
+                    if (waterloggedPaletteIds.get(paletteId)) {
+                        layer1Data[xzy >> 5] |= 1 << (xzy & 0x1F);
+                    }
+
+                    if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
+                        if (paletteId == airPaletteId) {
+                            bedrockData.set(xzy, layer0.idFor(EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY)));
+                        }
+                        EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
+                        continue;
+                    }
+                    BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings().getExtendedCollisionBoxes()
+                            .get(javaPalette.idToState(paletteId));
+                    if (aboveBedrockExtendedCollisionDefinition != null) {
+                        EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
+                        if ((xzy & 0xF) == 15) {
+                            thisExtendedCollisionNextSection = true;
+                        }
+                    }
                 }
-                int x = blockEntity.getX(); // Relative to chunk
-                int y = blockEntity.getY();
-                int z = blockEntity.getZ(); // Relative to chunk
-
-                // Get the Java block state ID from block entity position
-                DataPalette section = javaChunks[(y >> 4) - yOffset];
-                BlockState blockState = BlockState.of(section.get(x, y & 0xF, z));
-
-                // Note that, since 1.20.5, tags can be null, but Bedrock still needs a default tag to render the item
-                // Also, some properties - like banner base colors - are part of the tag and is processed here.
-                BlockEntityTranslator blockEntityTranslator = BlockEntityUtils.getBlockEntityTranslator(type);
-
-                // The Java server can send block entity data for blocks that aren't actually those blocks.
-                // A Java client ignores these
-                if (type == blockState.block().blockEntityType()) {
-                    bedrockBlockEntities.add(blockEntityTranslator.getBlockEntityTag(session, type, x + chunkBlockX, y, z + chunkBlockZ, tag, blockState));
-
-                    // Check for custom skulls
-                    if (session.getPreferencesCache().showCustomSkulls() && type == BlockEntityType.SKULL && tag != null && tag.containsKey("profile")) {
-                        BlockDefinition blockDefinition = SkullBlockEntityTranslator.translateSkull(session, tag, Vector3i.from(x + chunkBlockX, y, z + chunkBlockZ), blockState);
-                        if (blockDefinition != null) {
-                            int bedrockSectionY = (y >> 4) - (bedrockDimension.minY() >> 4);
-                            int subChunkIndex = (y >> 4) + (bedrockDimension.minY() >> 4);
-                            if (0 <= bedrockSectionY && bedrockSectionY < maxBedrockSectionY) {
-                                // Custom skull is in a section accepted by Bedrock
-                                GeyserChunkSection bedrockSection = sections[bedrockSectionY];
-                                IntList palette = bedrockSection.getBlockStorageArray()[0].getPalette();
-                                if (palette instanceof IntImmutableList || palette instanceof IntLists.Singleton) {
-                                    // TODO there has to be a better way to expand the palette .-.
-                                    bedrockSection = bedrockSection.copy(subChunkIndex);
-                                    sections[bedrockSectionY] = bedrockSection;
-                                }
-                                bedrockSection.setFullBlock(x, y & 0xF, z, 0, blockDefinition.getRuntimeId());
+
+                // V1 palette
+                IntList layer1Palette = IntList.of(
+                        session.getBlockMappings().getBedrockAir().getRuntimeId(), // Air - see BlockStorage's constructor for more information
+                        session.getBlockMappings().getBedrockWater().getRuntimeId());
+
+                layers = new BlockStorage[]{ layer0, new BlockStorage(BitArrayVersion.V1.createArray(BlockStorage.SIZE, layer1Data), layer1Palette) };
+            }
+
+            sections[bedrockSectionY] = new GeyserChunkSection(layers, subChunkIndex);
+            extendedCollisionNextSection = thisExtendedCollisionNextSection;
+        }
+        return sections;
+    }
+
+    /**
+     * Translates the block entities sent by the Java server. If sections are given, custom skulls are placed into them.
+     */
+    private static void translateBlockEntities(GeyserSession session, ClientboundLevelChunkWithLightPacket packet, DataPalette[] javaChunks,
+                                               GeyserChunkSection @Nullable [] sections, List<NbtMap> bedrockBlockEntities) {
+        int yOffset = session.getChunkCache().getChunkMinY();
+        BedrockDimension bedrockDimension = session.getBedrockDimension();
+        int maxBedrockSectionY = (bedrockDimension.height() >> 4) - 1;
+
+        final int chunkBlockX = packet.getX() << 4;
+        final int chunkBlockZ = packet.getZ() << 4;
+        for (BlockEntityInfo blockEntity : packet.getBlockEntities()) {
+            BlockEntityType type = blockEntity.getType();
+            NbtMap tag = blockEntity.getNbt();
+            if (type == null) {
+                // As an example: ViaVersion will send -1 if it cannot find the block entity type
+                // Vanilla Minecraft gracefully handles this
+                continue;
+            }
+            int x = blockEntity.getX(); // Relative to chunk
+            int y = blockEntity.getY();
+            int z = blockEntity.getZ(); // Relative to chunk
+
+            // Get the Java block state ID from block entity position
+            DataPalette section = javaChunks[(y >> 4) - yOffset];
+            BlockState blockState = BlockState.of(section.get(x, y & 0xF, z));
+
+            // Note that, since 1.20.5, tags can be null, but Bedrock still needs a default tag to render the item
+            // Also, some properties - like banner base colors - are part of the tag and is processed here.
+            BlockEntityTranslator blockEntityTranslator = BlockEntityUtils.getBlockEntityTranslator(type);
+
+            // The Java server can send block entity data for blocks that aren't actually those blocks.
+            // A Java client ignores these
+            if (type == blockState.block().blockEntityType()) {
+                bedrockBlockEntities.add(blockEntityTranslator.getBlockEntityTag(session, type, x + chunkBlockX, y, z + chunkBlockZ, tag, blockState));
+
+                // Check for custom skulls
+                if (sections != null && isCustomSkull(session, type, tag)) {
+                    BlockDefinition blockDefinition = SkullBlockEntityTranslator.translateSkull(session, tag, Vector3i.from(x + chunkBlockX, y, z + chunkBlockZ), blockState);
+                    if (blockDefinition != null) {
+                        int bedrockSectionY = (y >> 4) - (bedrockDimension.minY() >> 4);
+                        int subChunkIndex = (y >> 4) + (bedrockDimension.minY() >> 4);
+                        if (0 <= bedrockSectionY && bedrockSectionY < maxBedrockSectionY) {
+                            // Custom skull is in a section accepted by Bedrock
+                            GeyserChunkSection bedrockSection = sections[bedrockSectionY];
+                            IntList palette = bedrockSection.getBlockStorageArray()[0].getPalette();
+                            if (palette instanceof IntImmutableList || palette instanceof IntLists.Singleton) {
+                                // TODO there has to be a better way to expand the palette .-.
+                                bedrockSection = bedrockSection.copy(subChunkIndex);
+                                sections[bedrockSectionY] = bedrockSection;
                             }
+                            bedrockSection.setFullBlock(x, y & 0xF, z, 0, blockDefinition.getRuntimeId());
                         }
                     }
                 }
             }
+        }
+    }
 
-            // Find highest section
-            sectionCount = sections.length - 1;
-            while (sectionCount >= 0 && sections[sectionCount] == null) {
-                sectionCount--;
+    private static boolean hasCustomSkulls(GeyserSession session, BlockEntityInfo[] blockEntities) {
+        for (BlockEntityInfo blockEntity : blockEntities) {
+            if (isCustomSkull(session, blockEntity.getType(), blockEntity.getNbt())) {
+                return true;
             }
-            sectionCount++;
+        }
+        return false;
+    }
 
-            // As of 1.18.30, the amount of biomes read is dependent on how high Bedrock thinks the dimension is
-            int biomeCount = bedrockDimension.height() >> 4;
+    private static boolean isCustomSkull(GeyserSession session, BlockEntityType type, @Nullable NbtMap tag) {
+        return session.getPreferencesCache().showCustomSkulls() && type == BlockEntityType.SKULL && tag != null && tag.containsKey("profile");
+    }
 
-            // Estimate chunk size
-            int size = 0;
-            for (int i = 0; i < sectionCount; i++) {
-                GeyserChunkSection section = sections[i];
-                if (section != null) {
-                    size += section.estimateNetworkSize();
-                } else {
-                    size += EMPTY_CHUNK_SECTION_SIZE;
-                }
+    /**
+     * Encodes the translated sections and the biomes of the column into the Bedrock network format.
+     */
+    private static EncodedChunkColumn encodeColumn(GeyserSession session, GeyserChunkSection[] sections, ChunkSection[] javaSections,
+                                                   List<BedrockOnlyBlockEntity> bedrockOnlyBlockEntities) {
+        int yOffset = session.getChunkCache().getChunkMinY();
+        int chunkSize = javaSections.length;
+        BedrockDimension bedrockDimension = session.getBedrockDimension();
+
+        // Find highest section
+        int sectionCount = sections.length - 1;
+        while (sectionCount >= 0 && sections[sectionCount] == null) {
+            sectionCount--;
+        }
+        sectionCount++;
+
+        // As of 1.18.30, the amount of biomes read is dependent on how high Bedrock thinks the dimension is
+        int biomeCount = bedrockDimension.height() >> 4;
+
+        // Estimate the size of the largest section, so the buffer does not need to grow
+        int size = ChunkUtils.EMPTY_BIOME_DATA.length * biomeCount;
+        for (int i = 0; i < sectionCount; i++) {
+            GeyserChunkSection section = sections[i];
+            if (section != null) {
+                size = Math.max(size, section.estimateNetworkSize());
             }
-            size += ChunkUtils.EMPTY_BIOME_DATA.length * biomeCount;
-            size += 1; // Border blocks
-            size += bedrockBlockEntities.size() * 64; // Conservative estimate of 64 bytes per tile entity
+        }
 
-            // Allocate output buffer
-            byteBuf = ByteBufAllocator.DEFAULT.ioBuffer(size);
+        byte[][] encodedSections = new byte[sectionCount][];
+        byte[] encodedBiomes;
+        ByteBuf byteBuf = ByteBufAllocator.DEFAULT.ioBuffer(size);
+        try {
             for (int i = 0; i < sectionCount; i++) {
                 GeyserChunkSection section = sections[i];
                 if (section != null) {
@@ -476,6 +741,8 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                     int subChunkIndex = (i + (bedrockDimension.minY() >> 4));
                     new GeyserChunkSection(EMPTY_BLOCK_STORAGE, subChunkIndex).writeToNetwork(byteBuf);
                 }
+                encodedSections[i] = ByteBufUtil.getBytes(byteBuf);
+                byteBuf.clear();
             }
 
             int dimensionOffset = bedrockDimension.minY() >> 4;
@@ -493,43 +760,50 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                     continue;
                 }
 
-                BiomeTranslator.toNewBedrockBiome(session, javaBiomes[i + (dimensionOffset - yOffset)]).writeToNetwork(byteBuf);
+                BiomeTranslator.toNewBedrockBiome(session, javaSections[i + (dimensionOffset - yOffset)].getBiomeData()).writeToNetwork(byteBuf);
             }
-
-            byteBuf.writeByte(0); // Border blocks - Edu edition only
-
-            // Encode tile entities into buffer
-            NBTOutputStream nbtStream = NbtUtils.createNetworkWriter(new ByteBufOutputStream(byteBuf));
-            for (NbtMap blockEntity : bedrockBlockEntities) {
-                nbtStream.writeTag(blockEntity);
-            }
-            payload = new byte[byteBuf.readableBytes()];
-            byteBuf.readBytes(payload);
-        } catch (IOException e) {
-            session.getGeyser().getLogger().error("IO error while encoding chunk", e);
-            return;
+            encodedBiomes = ByteBufUtil.getBytes(byteBuf);
         } finally {
-            if (byteBuf != null) {
-                byteBuf.release(); // Release buffer to allow buffer pooling to be useful
-            }
+            byteBuf.release(); // Release buffer to allow buffer pooling to be useful
         }
 
-        LevelChunkPacket levelChunkPacket = new LevelChunkPacket();
-        levelChunkPacket.setSubChunksLength(sectionCount);
-        levelChunkPacket.setCachingEnabled(false);
-        levelChunkPacket.setChunkX(packet.getX());
-        levelChunkPacket.setChunkZ(packet.getZ());
-        levelChunkPacket.setData(Unpooled.wrappedBuffer(payload));
-        levelChunkPacket.setDimension(session.getBedrockDimension().bedrockId());
-        session.sendUpstreamPacket(levelChunkPacket);
+        return new EncodedChunkColumn(encodedSections, encodedBiomes, List.copyOf(bedrockOnlyBlockEntities));
+    }
 
-        for (Map.Entry<Vector3i, ItemFrameEntity> entry : session.getItemFrameCache().entrySet()) {
-            Vector3i position = entry.getKey();
-            if ((position.getX() >> 4) == packet.getX() && (position.getZ() >> 4) == packet.getZ()) {
-                // Update this item frame so it doesn't get lost in the abyss
-                //TODO optimize
-                entry.getValue().updateBlock(true);
+    /**
+     * A chunk that has been decoded and translated. If the column could not be encoded yet, the translated sections are
+     * held instead so custom skulls can still be placed into them.
+     */
+    private record PreparedChunk(ChunkSection[] javaSections, @Nullable EncodedChunkColumn column,
+                                 GeyserChunkSection @Nullable [] sections, List<BedrockOnlyBlockEntity> bedrockOnlyBlockEntities,
+                                 int @Nullable [] heightMap) {
+    }
+
+    /**
+     * Reused buffers for translating sections using the global palette, as these are translated block by block.
+     */
+    static final class GlobalPaletteScratch {
+        private final int[] paletteIds = new int[BlockStorage.SIZE];
+        private final IntList palette = new IntArrayList(BlockStorage.SIZE);
+        private final Int2IntOpenHashMap paletteIdsByRuntimeId = new Int2IntOpenHashMap(BlockStorage.SIZE);
+
+        GlobalPaletteScratch() {
+            paletteIdsByRuntimeId.defaultReturnValue(-1);
+        }
+
+        int paletteIdFor(int runtimeId) {
+            int paletteId = paletteIdsByRuntimeId.get(runtimeId);
+            if (paletteId == -1) {
+                paletteId = palette.size();
+                palette.add(runtimeId);
+                paletteIdsByRuntimeId.put(runtimeId, paletteId);
             }
+            return paletteId;
+        }
+
+        void clear() {
+            palette.clear();
+            paletteIdsByRuntimeId.clear();
         }
     }
 
@@ -36,6 +36,7 @@ import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.protocol.bedrock.packet.LevelChunkPacket;
 import org.cloudburstmc.protocol.bedrock.packet.NetworkChunkPublisherUpdatePacket;
 import org.cloudburstmc.protocol.bedrock.packet.UpdateBlockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateSubChunkBlocksPacket;
 import org.geysermc.geyser.entity.type.ItemFrameEntity;
 import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.level.JavaDimension;
@@ -44,9 +45,11 @@ import org.geysermc.geyser.level.block.type.BlockState;
 import org.geysermc.geyser.level.chunk.BlockStorage;
 import org.geysermc.geyser.level.chunk.GeyserChunkSection;
 import org.geysermc.geyser.level.chunk.bitarray.SingletonBitArray;
+import org.geysermc.geyser.network.GameProtocol;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.cache.registry.JavaRegistries;
 import org.geysermc.geyser.text.GeyserLocale;
+import org.geysermc.mcprotocollib.protocol.data.game.level.block.BlockChangeEntry;
 
 @UtilityClass
 public class ChunkUtils {
@@ -156,6 +159,49 @@ public class ChunkUtils {
         }
 
         blockState.block().updateBlock(session, blockState, position);
+        session.getSubChunkCache().onBlockUpdate(position);
+    }
+
+    /**
+     * Sends the block updates of a chunk section to the Bedrock client, combining them into as few packets as possible,
+     * and adds them to the cache.
+     */
+    public static void updateBlocks(GeyserSession session, BlockChangeEntry[] entries) {
+        if (!GameProtocol.is1_21_110orHigher(session)) {
+            // Legacy versions don't know of UpdateSubChunkBlocksPacket
+            for (BlockChangeEntry entry : entries) {
+                updateBlock(session, entry.getBlock(), entry.getPosition());
+            }
+            return;
+        }
+
+        UpdateSubChunkBlocksPacket packet = null;
+        for (BlockChangeEntry entry : entries) {
+            Vector3i position = entry.getPosition();
+            BlockState state = BlockState.of(entry.getBlock());
+            if (packet == null) {
+                packet = new UpdateSubChunkBlocksPacket();
+                packet.setChunkX(position.getX() >> 4);
+                packet.setChunkY(position.getY() >> 4);
+                packet.setChunkZ(position.getZ() >> 4);
+            }
+
+            if (ItemFrameEntity.getItemFrameEntity(session, position) == null && state.block().addBlockUpdate(session, state, position, packet)) {
+                session.getSubChunkCache().onBlockUpdate(position);
+            } else {
+                // This block needs special handling; send everything before it first so the order of updates is kept
+                if (!packet.getStandardBlocks().isEmpty()) {
+                    session.sendUpstreamPacket(packet);
+                    packet = null;
+                }
+                updateBlockClientSide(session, state, position);
+            }
+            session.getChunkCache().updateBlock(position.getX(), position.getY(), position.getZ(), state.javaId());
+        }
+
+        if (packet != null && !packet.getStandardBlocks().isEmpty()) {
+            session.sendUpstreamPacket(packet);
+        }
     }
 
     public static void sendEmptyChunk(GeyserSession session, int chunkX, int chunkZ, boolean forceUpdate) {
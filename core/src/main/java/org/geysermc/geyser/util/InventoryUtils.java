@@ -150,7 +150,8 @@ public class InventoryUtils {
     public static void displayInventory(InventoryHolder<?> holder) {
         if (holder.prepareInventory()) {
             holder.session().setPendingOrCurrentBedrockInventoryId(holder.bedrockId());
-            if (holder.requiresOpeningDelay()) {
+            // Held back world packets may include the fake block of this inventory, which has to arrive before it opens
+            if (holder.requiresOpeningDelay() || holder.session().getUpstream().hasHeldWorldPackets()) {
                 holder.pending(true);
                 scheduleInventoryOpen(holder.session());
                 GeyserImpl.getInstance().getLogger().debug(holder.session(), "Queuing virtual inventory (%s)", debugInventory(holder));
@@ -495,10 +496,11 @@ public class InventoryUtils {
     }
 
     public static void scheduleInventoryOpen(GeyserSession session) {
-        session.sendNetworkLatencyStackPacket(MAGIC_VIRTUAL_INVENTORY_HACK, true, () -> {
+        // The fake block of a virtual inventory must have reached the client by the time it answers
+        session.getUpstream().runAfterWorldPackets(() -> session.sendNetworkLatencyStackPacket(MAGIC_VIRTUAL_INVENTORY_HACK, true, () -> {
             if (session.getPendingOrCurrentBedrockInventoryId() != -1) {
                 InventoryUtils.openPendingInventory(session);
             }
-        });
+        }));
     }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.inventory.updater;
+
+import org.cloudburstmc.protocol.bedrock.data.definitions.SimpleItemDefinition;
+import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.InventoryContentPacket;
+import org.cloudburstmc.protocol.bedrock.packet.InventorySlotPacket;
+import org.geysermc.geyser.inventory.Generic9X3Container;
+import org.geysermc.geyser.inventory.Inventory;
+import org.geysermc.geyser.inventory.InventoryHolder;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.translator.inventory.InventoryTranslator;
+import org.geysermc.mcprotocollib.protocol.data.game.inventory.ContainerType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class InventoryUpdaterTest {
+    private static final int SIZE = 27;
+    private static final ItemData STONE = ItemData.builder()
+        .definition(new SimpleItemDefinition("minecraft:stone", 1, false))
+        .count(1)
+        .build();
+
+    private final List<BedrockPacket> sent = new ArrayList<>();
+    private GeyserSession session;
+    private Inventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(GeyserSession.class);
+        doAnswer(invocation -> sent.add(invocation.getArgument(0))).when(session).sendUpstreamPacket(any());
+        inventory = new Generic9X3Container(session, "Chest", 1, SIZE, ContainerType.GENERIC_9X3);
+    }
+
+    @Test
+    void testFirstContentsAreSentInFull() {
+        InventoryUpdater.sendContents(session, inventory, contents(0));
+
+        assertEquals(1, sent.size());
+        InventoryContentPacket packet = assertInstanceOf(InventoryContentPacket.class, sent.get(0));
+        assertEquals(inventory.getBedrockId(), packet.getContainerId());
+        assertEquals(SIZE, packet.getContents().size());
+    }
+
+    @Test
+    void testFewChangesAreSentAsSlots() {
+        InventoryUpdater.sendContents(session, inventory, contents(0));
+        sent.clear();
+
+        // Up to half of the slots changed
+        InventoryUpdater.sendContents(session, inventory, contents(SIZE / 2));
+        assertEquals(SIZE / 2, sent.size());
+        for (int i = 0; i < sent.size(); i++) {
+            InventorySlotPacket packet = assertInstanceOf(InventorySlotPacket.class, sent.get(i));
+            assertEquals(inventory.getBedrockId(), packet.getContainerId());
+            assertEquals(i, packet.getSlot());
+            assertEquals(STONE, packet.getItem());
+        }
+    }
+
+    @Test
+    void testManyChangesAreSentAsContents() {
+        InventoryUpdater.sendContents(session, inventory, contents(0));
+        sent.clear();
+
+        // More than half of the slots changed
+        InventoryUpdater.sendContents(session, inventory, contents(SIZE / 2 + 1));
+        assertEquals(1, sent.size());
+        assertInstanceOf(InventoryContentPacket.class, sent.get(0));
+    }
+
+    @Test
+    void testUnchangedContentsAreNotResent() {
+        InventoryUpdater.sendContents(session, inventory, contents(3));
+        sent.clear();
+
+        InventoryUpdater.sendContents(session, inventory, contents(3));
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    void testSingleSlotsUpdateTheSnapshot() {
+        InventoryUpdater.sendContents(session, inventory, contents(0));
+        InventoryUpdater.sendSlot(session, inventory, 0, STONE);
+        sent.clear();
+
+        // The client already shows the stone in the first slot
+        InventoryUpdater.sendContents(session, inventory, contents(1));
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    void testSnapshotIsNotAffectedBySentContents() {
+        ItemData[] contents = contents(0);
+        InventoryUpdater.sendContents(session, inventory, contents);
+        contents[0] = STONE;
+        sent.clear();
+
+        InventoryUpdater.sendContents(session, inventory, contents(1));
+        assertEquals(1, sent.size());
+        assertInstanceOf(InventorySlotPacket.class, sent.get(0));
+    }
+
+    @Test
+    void testOpeningResetsSnapshot() {
+        InventoryUpdater.sendContents(session, inventory, contents(0));
+        new InventoryHolder<>(session, inventory, mock(InventoryTranslator.class)).openInventory();
+        assertNull(inventory.getBedrockContents());
+        sent.clear();
+
+        InventoryUpdater.sendContents(session, inventory, contents(1));
+        assertEquals(1, sent.size());
+        assertInstanceOf(InventoryContentPacket.class, sent.get(0));
+    }
+
+    @Test
+    void testItemStackRequestsResetSnapshot() {
+        InventoryUpdater.sendContents(session, inventory, contents(0));
+        // The client predicts the outcome of its requests
+        new InventoryHolder<>(session, inventory, InventoryTranslator.inventoryTranslator(ContainerType.GENERIC_9X3)).translateRequests(List.of());
+        assertNull(inventory.getBedrockContents());
+        sent.clear();
+
+        InventoryUpdater.sendContents(session, inventory, contents(1));
+        assertEquals(1, sent.size());
+        assertInstanceOf(InventoryContentPacket.class, sent.get(0));
+    }
+
+    /**
+     * @return container contents with stone in the first {@code stone} slots, and air in all others
+     */
+    private static ItemData[] contents(int stone) {
+        ItemData[] contents = new ItemData[SIZE];
+        Arrays.fill(contents, ItemData.AIR);
+        Arrays.fill(contents, 0, stone, STONE);
+        return contents;
+    }
+}
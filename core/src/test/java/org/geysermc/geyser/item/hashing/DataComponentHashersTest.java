@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.item.hashing;
+
+import net.kyori.adventure.key.Key;
+import org.geysermc.geyser.item.enchantment.Enchantment;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.RegistryCache;
+import org.geysermc.geyser.session.cache.registry.JavaRegistries;
+import org.geysermc.geyser.session.cache.registry.JavaRegistry;
+import org.geysermc.geyser.session.cache.registry.RegistryEntryData;
+import org.geysermc.geyser.util.MinecraftKey;
+import org.geysermc.mcprotocollib.protocol.data.game.item.HashedStack;
+import org.geysermc.mcprotocollib.protocol.data.game.item.ItemStack;
+import org.geysermc.mcprotocollib.protocol.data.game.item.component.DataComponentTypes;
+import org.geysermc.mcprotocollib.protocol.data.game.item.component.DataComponents;
+import org.geysermc.mcprotocollib.protocol.data.game.item.component.ItemEnchantments;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DataComponentHashersTest {
+    private GeyserSession session;
+    private RegistryCache registryCache;
+    private JavaRegistry<Enchantment> enchantments;
+    private ItemStack stack;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        session = mock(GeyserSession.class);
+        registryCache = mock(RegistryCache.class);
+        enchantments = mock(JavaRegistry.class);
+        when(session.getRegistryCache()).thenReturn(registryCache);
+        when(registryCache.registry(JavaRegistries.ENCHANTMENT)).thenReturn(enchantments);
+        when(registryCache.getGeneration()).thenReturn(1L);
+        enchantment(MinecraftKey.key("sharpness"));
+
+        DataComponents components = new DataComponents(new HashMap<>());
+        components.put(DataComponentTypes.ENCHANTMENTS, new ItemEnchantments(Map.of(0, 1)));
+        stack = new ItemStack(1, 1, components);
+    }
+
+    @Test
+    void testHashesAreCached() {
+        HashedStack hashed = DataComponentHashers.hashStack(session, stack);
+
+        // Enchantments are hashed by key - without a registry reload, the cached hash is still used
+        enchantment(MinecraftKey.key("smite"));
+        assertEquals(hashed, DataComponentHashers.hashStack(session, stack));
+    }
+
+    @Test
+    void testRegistryReloadInvalidatesHashes() {
+        HashedStack sharpness = DataComponentHashers.hashStack(session, stack);
+
+        enchantment(MinecraftKey.key("smite"));
+        when(registryCache.getGeneration()).thenReturn(2L);
+        HashedStack smite = DataComponentHashers.hashStack(session, stack);
+        assertNotEquals(sharpness, smite);
+
+        // And the new hash is cached for the new generation
+        enchantment(MinecraftKey.key("sharpness"));
+        assertEquals(smite, DataComponentHashers.hashStack(session, stack));
+    }
+
+    private void enchantment(Key key) {
+        when(enchantments.entryById(0)).thenReturn(Optional.of(new RegistryEntryData<>(0, key, null)));
+    }
+}
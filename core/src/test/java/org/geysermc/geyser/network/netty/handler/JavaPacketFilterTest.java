@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network.netty.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.cloudburstmc.nbt.NbtMap;
+import org.cloudburstmc.protocol.common.util.VarInts;
+import org.geysermc.mcprotocollib.network.packet.Packet;
+import org.geysermc.mcprotocollib.protocol.MinecraftProtocol;
+import org.geysermc.mcprotocollib.protocol.codec.MinecraftPacket;
+import org.geysermc.mcprotocollib.protocol.data.ProtocolState;
+import org.geysermc.mcprotocollib.protocol.data.game.level.LightUpdateData;
+import org.geysermc.mcprotocollib.protocol.data.game.level.block.BlockEntityInfo;
+import org.geysermc.mcprotocollib.protocol.data.game.level.block.BlockEntityType;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundLevelChunkWithLightPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundLightUpdatePacket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JavaPacketFilterTest {
+    private static final byte[] CHUNK_DATA = {0, 12, 1, 0, 0, 3, 1, 2, 3, 4, 5};
+
+    private MinecraftProtocol protocol;
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        protocol = new MinecraftProtocol("Test");
+        protocol.setInboundState(ProtocolState.GAME);
+        channel = new EmbeddedChannel(new JavaPacketFilter(protocol));
+    }
+
+    @Test
+    void testChunkLightDataIsStripped() {
+        NbtMap nbt = NbtMap.builder()
+            .putString("CustomName", "{\"text\":\"Chest\"}")
+            .putIntArray("Numbers", new int[] {1, 2, 3})
+            .putCompound("Nested", NbtMap.builder().putByte("Flag", (byte) 1).putLong("Time", 42L).build())
+            .build();
+        BlockEntityInfo[] blockEntities = {new BlockEntityInfo(3, 70, 12, BlockEntityType.CHEST, nbt)};
+        BitSet mask = BitSet.valueOf(new long[] {0b1111});
+        LightUpdateData lightData = new LightUpdateData(mask, mask, new BitSet(), new BitSet(),
+            List.of(new byte[2048], new byte[2048], new byte[2048], new byte[2048]),
+            List.of(new byte[2048], new byte[2048], new byte[2048], new byte[2048]));
+
+        ClientboundLevelChunkWithLightPacket decoded = filter(new ClientboundLevelChunkWithLightPacket(-4, 7, CHUNK_DATA,
+            Map.of(), blockEntities, lightData));
+
+        assertEquals(-4, decoded.getX());
+        assertEquals(7, decoded.getZ());
+        assertArrayEquals(CHUNK_DATA, decoded.getChunkData());
+        assertEquals(1, decoded.getBlockEntities().length);
+        assertEquals(BlockEntityType.CHEST, decoded.getBlockEntities()[0].getType());
+        assertEquals(70, decoded.getBlockEntities()[0].getY());
+        assertEquals(nbt, decoded.getBlockEntities()[0].getNbt());
+
+        LightUpdateData strippedLight = decoded.getLightData();
+        assertTrue(strippedLight.getSkyYMask().isEmpty());
+        assertTrue(strippedLight.getBlockYMask().isEmpty());
+        assertTrue(strippedLight.getSkyUpdates().isEmpty());
+        assertTrue(strippedLight.getBlockUpdates().isEmpty());
+    }
+
+    @Test
+    void testChunkWithoutLightDataIsUnchanged() {
+        LightUpdateData lightData = new LightUpdateData(new BitSet(), new BitSet(), new BitSet(), new BitSet(), List.of(), List.of());
+
+        ClientboundLevelChunkWithLightPacket decoded = filter(new ClientboundLevelChunkWithLightPacket(0, 0, CHUNK_DATA,
+            Map.of(), new BlockEntityInfo[0], lightData));
+
+        assertArrayEquals(CHUNK_DATA, decoded.getChunkData());
+        assertEquals(0, decoded.getBlockEntities().length);
+    }
+
+    @Test
+    void testLightUpdateIsDropped() {
+        BitSet mask = BitSet.valueOf(new long[] {0b1});
+        LightUpdateData lightData = new LightUpdateData(mask, new BitSet(), new BitSet(), new BitSet(), List.of(new byte[2048]), List.of());
+
+        ByteBuf encoded = encode(new ClientboundLightUpdatePacket(1, 2, lightData));
+        channel.writeInbound(encoded);
+        assertNull(channel.readInbound());
+        assertEquals(0, encoded.refCnt());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends MinecraftPacket> T filter(T packet) {
+        channel.writeInbound(encode(packet));
+        ByteBuf filtered = channel.readInbound();
+        try {
+            Packet decoded = protocol.getInboundPacketRegistry().createClientboundPacket(VarInts.readUnsignedInt(filtered), filtered);
+            assertFalse(filtered.isReadable(), "Filtered packet has trailing bytes");
+            return (T) assertInstanceOf(packet.getClass(), decoded);
+        } finally {
+            filtered.release();
+        }
+    }
+
+    private ByteBuf encode(MinecraftPacket packet) {
+        ByteBuf buf = Unpooled.buffer();
+        VarInts.writeUnsignedInt(buf, protocol.getInboundPacketRegistry().getClientboundId(packet.getClass()));
+        packet.serialize(buf);
+        return buf;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.cloudburstmc.math.vector.Vector3i;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.BlockEntityDataPacket;
+import org.cloudburstmc.protocol.bedrock.packet.ChangeDimensionPacket;
+import org.cloudburstmc.protocol.bedrock.packet.ContainerOpenPacket;
+import org.cloudburstmc.protocol.bedrock.packet.LevelChunkPacket;
+import org.cloudburstmc.protocol.bedrock.packet.NetworkStackLatencyPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateBlockPacket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UpstreamPacketSchedulerTest {
+    private final List<BedrockPacket> dispatched = new ArrayList<>();
+    private EmbeddedChannel channel;
+    private UpstreamPacketScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        channel = new EmbeddedChannel();
+        UpstreamSession upstream = mock(UpstreamSession.class);
+        when(upstream.getTickEventLoop()).thenReturn(channel.eventLoop());
+        doAnswer(invocation -> dispatched.add(invocation.getArgument(0))).when(upstream).dispatch(any(), anyBoolean());
+        scheduler = new UpstreamPacketScheduler(upstream);
+    }
+
+    @Test
+    void testVirtualInventoryOpensAfterItsFakeBlock() {
+        scheduler.send(chunk(), false);
+        // What BlockInventoryHolder#prepareInventory sends for a virtual chest
+        UpdateBlockPacket fakeBlock = new UpdateBlockPacket();
+        fakeBlock.setBlockPosition(Vector3i.from(1, 64, 1));
+        fakeBlock.getFlags().addAll(UpdateBlockPacket.FLAG_ALL_PRIORITY);
+        scheduler.send(fakeBlock, false);
+        BlockEntityDataPacket blockEntity = new BlockEntityDataPacket();
+        blockEntity.setBlockPosition(fakeBlock.getBlockPosition());
+        scheduler.send(blockEntity, false);
+        assertTrue(scheduler.hasWorldPackets());
+
+        // What InventoryUtils#scheduleInventoryOpen does; the container is opened once the client answers
+        scheduler.runAfterWorldPackets(() -> scheduler.send(new NetworkStackLatencyPacket(), false));
+        assertTrue(dispatched.isEmpty());
+
+        tick();
+        assertFalse(scheduler.hasWorldPackets());
+        scheduler.send(new ContainerOpenPacket(), false);
+        assertEquals(5, dispatched.size());
+        assertInstanceOf(LevelChunkPacket.class, dispatched.get(0));
+        assertEquals(fakeBlock, dispatched.get(1));
+        assertEquals(blockEntity, dispatched.get(2));
+        assertInstanceOf(NetworkStackLatencyPacket.class, dispatched.get(3));
+        assertInstanceOf(ContainerOpenPacket.class, dispatched.get(4));
+    }
+
+    @Test
+    void testLatencyPacketsAreNotHeld() {
+        scheduler.send(chunk(), false);
+        scheduler.send(new NetworkStackLatencyPacket(), false);
+        assertEquals(1, dispatched.size());
+        assertInstanceOf(NetworkStackLatencyPacket.class, dispatched.get(0));
+    }
+
+    @Test
+    void testBarrierReleasesHeldPacketsAndTasks() {
+        scheduler.send(chunk(), false);
+        List<String> tasks = new ArrayList<>();
+        scheduler.runAfterWorldPackets(() -> tasks.add("after chunk"));
+        assertTrue(tasks.isEmpty());
+
+        scheduler.send(new ChangeDimensionPacket(), false);
+        assertEquals(List.of("after chunk"), tasks);
+        assertEquals(2, dispatched.size());
+        assertInstanceOf(LevelChunkPacket.class, dispatched.get(0));
+        assertInstanceOf(ChangeDimensionPacket.class, dispatched.get(1));
+    }
+
+    private void tick() {
+        channel.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        channel.runScheduledPendingTasks();
+    }
+
+    private static LevelChunkPacket chunk() {
+        LevelChunkPacket packet = new LevelChunkPacket();
+        packet.setData(Unpooled.wrappedBuffer(new byte[4096]));
+        return packet;
+    }
+}
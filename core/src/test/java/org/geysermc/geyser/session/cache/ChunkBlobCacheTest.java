@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import io.netty.buffer.ByteBufUtil;
+import it.unimi.dsi.fastutil.longs.LongList;
+import org.cloudburstmc.protocol.bedrock.packet.ClientCacheMissResponsePacket;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.scoreboard.network.util.EmptyGeyserLogger;
+import org.geysermc.geyser.session.GeyserSession;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ChunkBlobCacheTest {
+
+    @Test
+    void testBlobHashMatchesXxHash64() {
+        // Reference values of the xxHash64 algorithm with a seed of 0
+        assertEquals(0xEF46DB3751D8E999L, ChunkBlobCache.xxHash64(new byte[0]));
+        assertEquals(0xD24EC4F1A98C6E5BL, ChunkBlobCache.xxHash64("a".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(0x44BC2CF5AD770999L, ChunkBlobCache.xxHash64("abc".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(0xFBCEA83C8A378BF1L, ChunkBlobCache.xxHash64("Nobody inspects the spammish repetition".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    void testSharedBlobIsKeptUntilEveryChunkIsAcknowledged() {
+        ChunkBlobCache cache = new ChunkBlobCache(mock(GeyserSession.class));
+        byte[] emptySection = new byte[] {9, 0};
+        byte[] biomes = new byte[] {4, 5, 6};
+        long[] first = cache.store(new byte[][] {emptySection, emptySection}, biomes);
+        long[] second = cache.store(new byte[][] {emptySection.clone()}, biomes.clone());
+        assertArrayEquals(new long[] {first[0], first[0], first[2]}, first);
+        assertArrayEquals(new long[] {first[0], first[2]}, second);
+        assertEquals(2, cache.pendingBlobCount());
+
+        // The client answers once per blob for each chunk
+        cache.onBlobStatus(LongList.of(), LongList.of(first[0], first[2]));
+        assertEquals(2, cache.pendingBlobCount());
+        cache.onBlobStatus(LongList.of(), LongList.of(first[0], first[2]));
+        assertEquals(0, cache.pendingBlobCount());
+    }
+
+    @Test
+    void testMissingBlobsAreSentForEachChunk() {
+        GeyserSession session = mock(GeyserSession.class);
+        GeyserImpl geyser = mock(GeyserImpl.class);
+        when(session.getGeyser()).thenReturn(geyser);
+        when(geyser.getLogger()).thenReturn(new EmptyGeyserLogger());
+        ChunkBlobCache cache = new ChunkBlobCache(session);
+
+        byte[] section = new byte[] {9, 1, 2, 3};
+        byte[] biomes = new byte[] {4, 5, 6};
+        long[] first = cache.store(new byte[][] {section}, biomes);
+        cache.store(new byte[][] {section}, biomes);
+        long sectionId = first[0];
+        long biomesId = first[1];
+
+        // The second chunk is still in flight, so the section must be available for it too
+        cache.onBlobStatus(LongList.of(sectionId), LongList.of(biomesId));
+        cache.onBlobStatus(LongList.of(sectionId), LongList.of(biomesId));
+        ArgumentCaptor<ClientCacheMissResponsePacket> captor = ArgumentCaptor.forClass(ClientCacheMissResponsePacket.class);
+        verify(session, times(2)).sendUpstreamPacket(captor.capture());
+        for (ClientCacheMissResponsePacket response : captor.getAllValues()) {
+            assertEquals(1, response.getBlobs().size());
+            assertArrayEquals(section, ByteBufUtil.getBytes(response.getBlobs().get(sectionId)));
+        }
+        assertEquals(0, cache.pendingBlobCount());
+
+        // Already answered for every chunk, so there is nothing left to send
+        cache.onBlobStatus(LongList.of(sectionId), LongList.of());
+        verify(session, times(2)).sendUpstreamPacket(any());
+    }
+
+    @Test
+    void testChunksAreSentInFullWhenTooManyBlobsArePending() {
+        ChunkBlobCache cache = new ChunkBlobCache(mock(GeyserSession.class));
+        byte[] biomes = new byte[] {4, 5, 6};
+        // Together with the biomes, exactly the pending limit of 8 MB
+        byte[][] sections = new byte[4][];
+        for (int i = 0; i < sections.length; i++) {
+            sections[i] = new byte[2 * 1024 * 1024];
+            sections[i][0] = (byte) i;
+        }
+        sections[3] = new byte[2 * 1024 * 1024 - biomes.length];
+        long[] first = cache.store(sections, biomes);
+        assertNotNull(first);
+        int pending = cache.pendingBlobCount();
+
+        assertNull(cache.store(new byte[][] {new byte[] {9, 1}}, new byte[] {7}));
+        assertEquals(pending, cache.pendingBlobCount());
+
+        // Blobs that are acknowledged make room again
+        cache.onBlobStatus(LongList.of(), LongList.of(first[0]));
+        assertNotNull(cache.store(new byte[][] {new byte[] {9, 1}}, new byte[] {7}));
+    }
+}
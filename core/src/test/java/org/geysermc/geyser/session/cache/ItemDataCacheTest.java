@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.entity.attribute.GeyserAttributeType;
+import org.geysermc.geyser.entity.type.player.SessionPlayerEntity;
+import org.geysermc.geyser.registry.type.ItemMapping;
+import org.geysermc.geyser.scoreboard.network.util.EmptyGeyserLogger;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.mcprotocollib.protocol.packet.common.clientbound.ClientboundUpdateTagsPacket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ItemDataCacheTest {
+    private final AtomicInteger translations = new AtomicInteger();
+    private GeyserSession session;
+    private SessionPlayerEntity playerEntity;
+    private ItemDataCache cache;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(GeyserSession.class);
+        playerEntity = mock(SessionPlayerEntity.class);
+        when(session.getPlayerEntity()).thenReturn(playerEntity);
+        when(session.getAttackSpeed()).thenReturn(4.0d);
+        when(playerEntity.attributeOrDefault(GeyserAttributeType.ATTACK_DAMAGE)).thenReturn(1.0f);
+        cache = new ItemDataCache(session);
+        when(session.getItemDataCache()).thenReturn(cache);
+    }
+
+    @Test
+    void testItemsAreCached() {
+        get();
+        get();
+        assertEquals(1, translations.get());
+    }
+
+    @Test
+    void testAdvancedTooltipsInvalidate() {
+        get();
+        when(session.isAdvancedTooltips()).thenReturn(true);
+        get();
+        get();
+        assertEquals(2, translations.get());
+    }
+
+    @Test
+    void testAttackSpeedInvalidates() {
+        get();
+        when(session.getAttackSpeed()).thenReturn(1.6d);
+        get();
+        get();
+        assertEquals(2, translations.get());
+    }
+
+    @Test
+    void testAttackDamageInvalidates() {
+        get();
+        when(playerEntity.attributeOrDefault(GeyserAttributeType.ATTACK_DAMAGE)).thenReturn(7.0f);
+        get();
+        get();
+        assertEquals(2, translations.get());
+    }
+
+    @Test
+    void testTagReloadInvalidates() {
+        GeyserImpl geyser = mock(GeyserImpl.class);
+        when(geyser.getLogger()).thenReturn(new EmptyGeyserLogger());
+        when(session.getGeyser()).thenReturn(geyser);
+        ClientboundUpdateTagsPacket packet = mock(ClientboundUpdateTagsPacket.class);
+        when(packet.getTags()).thenReturn(Map.of());
+
+        get();
+        new TagCache(session).loadPacket(packet);
+        get();
+        get();
+        assertEquals(2, translations.get());
+    }
+
+    private void get() {
+        cache.get(1, ItemMapping.AIR, null, () -> {
+            translations.incrementAndGet();
+            return ItemData.AIR;
+        });
+    }
+}
@@ -30,6 +30,7 @@ import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.configuration.GeyserConfig;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import java.util.ArrayList;
@@ -39,13 +40,29 @@ import java.util.function.Consumer;
 
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
-public class GeyserMockContext {
+public class GeyserMockContext implements AutoCloseable {
     private final List<Object> mocksAndSpies = new ArrayList<>();
     private final List<Object> storedObjects = new ArrayList<>();
     private final List<BedrockPacket> packets = Collections.synchronizedList(new ArrayList<>());
+    private MockedStatic<GeyserImpl> geyserImplMock;
 
     public static void mockContext(Consumer<GeyserMockContext> geyserContext) {
+        try (var context = open()) {
+            geyserContext.accept(context);
+        }
+    }
+
+    public static void mockContext(Runnable runnable) {
+        mockContext(context -> runnable.run());
+    }
+
+    /**
+     * Creates a context that stays active until it is closed. Note that {@link GeyserImpl#getInstance()} is only mocked
+     * on the thread that opened the context.
+     */
+    public static GeyserMockContext open() {
         var context = new GeyserMockContext();
 
         var geyserImpl = context.mock(GeyserImpl.class);
@@ -58,21 +75,31 @@ public class GeyserMockContext {
         var logger = context.storeObject(new EmptyGeyserLogger());
         when(geyserImpl.getLogger()).thenReturn(logger);
 
-        try (var geyserImplMock = mockStatic(GeyserImpl.class)) {
-            geyserImplMock.when(GeyserImpl::getInstance).thenReturn(geyserImpl);
-
-            geyserContext.accept(context);
-        }
+        context.geyserImplMock = mockStatic(GeyserImpl.class);
+        context.geyserImplMock.when(GeyserImpl::getInstance).thenReturn(geyserImpl);
+        return context;
     }
 
-    public static void mockContext(Runnable runnable) {
-        mockContext(context -> runnable.run());
+    @Override
+    public void close() {
+        if (geyserImplMock != null) {
+            geyserImplMock.close();
+            geyserImplMock = null;
+        }
     }
 
     public <T> T mock(Class<T> type) {
         return addMockOrSpy(Mockito.mock(type));
     }
 
+    /**
+     * Creates a mock that doesn't record its invocations, so it can't be verified. Intended for mocks on hot paths,
+     * such as in the benchmarks, where recording every invocation would add up.
+     */
+    public <T> T stubOnlyMock(Class<T> type) {
+        return addMockOrSpy(Mockito.mock(type, withSettings().stubOnly()));
+    }
+
     public <T> T spy(T object) {
         return addMockOrSpy(Mockito.spy(object));
     }
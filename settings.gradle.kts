@@ -28,6 +28,7 @@ include(":velocity")
 include(":viaproxy")
 include(":common")
 include(":core")
+include(":benchmarks")
 
 // Specify project dirs
 project(":bungeecord").projectDir = file("bootstrap/bungeecord")